@@ -1,6 +1,9 @@
 package br.com.clube_quinze.api.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,13 +28,59 @@ public class AsyncConfig {
     @Value("${app.async.thread-name-prefix:async-}")
     private String threadNamePrefix;
 
+    @Value("${app.async.overflow-policy:caller-runs}")
+    private String overflowPolicy;
+
+    @Value("${app.async.spill-capacity:1000}")
+    private int spillCapacity;
+
+    @Value("${app.push.dispatch-pool-size:2}")
+    private int pushDispatchPoolSize;
+
+    @Bean
+    public AsyncOverflowHandler asyncOverflowHandler(MeterRegistry meterRegistry) {
+        return new AsyncOverflowHandler(AsyncOverflowHandler.Policy.fromProperty(overflowPolicy), spillCapacity, meterRegistry);
+    }
+
+    /**
+     * Pool dos {@code @Async} de email. Cheio, não lança mais {@code TaskRejectedException} (o default
+     * AbortPolicy derrubava emails em rajadas de lembretes): segue a política de {@link AsyncOverflowHandler}.
+     * O {@code AsyncBackpressureMonitor} acompanha a ocupação e pausa o consumo da fila quando satura.
+     */
     @Bean(name = "asyncExecutor")
-    public Executor asyncExecutor() {
+    public ThreadPoolTaskExecutor asyncExecutor(AsyncOverflowHandler asyncOverflowHandler, MeterRegistry meterRegistry) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
         executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(asyncOverflowHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(20);
+        executor.initialize();
+
+        Gauge.builder("async.executor.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Tarefas na fila do asyncExecutor")
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Threads ativas do asyncExecutor")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Pool dedicado ao envio paralelo das partições FCM/Expo de um lote de push.
+     * Separado do asyncExecutor para que uma rajada de emails não atrase os pushes (e vice-versa).
+     * CallerRunsPolicy: se saturar, a própria thread chamadora envia — nunca descarta.
+     */
+    @Bean(name = "pushDispatchExecutor")
+    public Executor pushDispatchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pushDispatchPoolSize);
+        executor.setMaxPoolSize(pushDispatchPoolSize);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(20);
         executor.initialize();
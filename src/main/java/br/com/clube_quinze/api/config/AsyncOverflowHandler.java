@@ -0,0 +1,93 @@
+package br.com.clube_quinze.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * O que fazer quando o {@code asyncExecutor} está cheio ({@code app.async.overflow-policy}):
+ * <ul>
+ *   <li>{@code caller-runs} (padrão): a thread que submeteu executa a tarefa — nada se perde e quem
+ *       produz desacelera;</li>
+ *   <li>{@code spill}: a tarefa aguarda numa fila de transbordo ({@code app.async.spill-capacity}) e volta
+ *       ao pool quando houver vaga; com o transbordo cheio, cai em caller-runs;</li>
+ *   <li>{@code shed}: tarefas de prioridade {@link AsyncPriority#LOW} são descartadas; as demais, caller-runs.</li>
+ * </ul>
+ * Toda rejeição é contada em {@code async.executor.rejected{action}}.
+ */
+public class AsyncOverflowHandler implements RejectedExecutionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOverflowHandler.class);
+
+    public enum Policy {
+        CALLER_RUNS, SPILL, SHED;
+
+        public static Policy fromProperty(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final Policy policy;
+    private final BlockingQueue<Runnable> spill;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncOverflowHandler(Policy policy, int spillCapacity, MeterRegistry meterRegistry) {
+        this.policy = policy;
+        this.spill = new ArrayBlockingQueue<>(Math.max(1, spillCapacity));
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("async.executor.spilled", spill, BlockingQueue::size)
+                .description("Tarefas aguardando no transbordo do asyncExecutor")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            // Desligando: executa aqui mesmo para não perder email já aceito.
+            count("caller_runs");
+            task.run();
+            return;
+        }
+        if (policy == Policy.SPILL && spill.offer(task)) {
+            count("spill");
+            return;
+        }
+        if (policy == Policy.SHED && AsyncPriority.current() == AsyncPriority.LOW) {
+            count("shed");
+            log.warn("asyncExecutor saturado: tarefa de baixa prioridade descartada");
+            return;
+        }
+        count("caller_runs");
+        task.run();
+    }
+
+    /** Devolve ao pool o que estiver no transbordo, enquanto houver vaga na fila do executor. */
+    public void drainInto(ThreadPoolExecutor executor) {
+        Runnable next;
+        while (executor.getQueue().remainingCapacity() > 0 && (next = spill.poll()) != null) {
+            executor.execute(next);
+        }
+    }
+
+    /** No shutdown, o que sobrou no transbordo roda na thread que está desligando. */
+    public void runRemaining() {
+        Runnable next;
+        while ((next = spill.poll()) != null) {
+            next.run();
+        }
+    }
+
+    public int spilledCount() {
+        return spill.size();
+    }
+
+    private void count(String action) {
+        meterRegistry.counter("async.executor.rejected", "action", action).increment();
+    }
+}
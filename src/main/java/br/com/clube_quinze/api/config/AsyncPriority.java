@@ -0,0 +1,34 @@
+package br.com.clube_quinze.api.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Prioridade das tarefas {@code @Async} submetidas pela thread atual. O handler de overflow roda na
+ * thread que submete, então enxerga este valor e, na política {@code shed}, descarta apenas {@link #LOW}.
+ */
+public enum AsyncPriority {
+    LOW, NORMAL, HIGH;
+
+    private static final ThreadLocal<AsyncPriority> CURRENT = ThreadLocal.withInitial(() -> NORMAL);
+
+    public static AsyncPriority current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T with(AsyncPriority priority, Supplier<T> work) {
+        AsyncPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static void with(AsyncPriority priority, Runnable work) {
+        with(priority, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
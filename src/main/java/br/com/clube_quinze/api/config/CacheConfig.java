@@ -17,9 +17,7 @@ public class CacheConfig {
                 "userList",
                 "planList",
                 "planById",
-            "paymentRenewals",
-            "feed",
-            "post"
+            "paymentRenewals"
         );
     }
 }
\ No newline at end of file
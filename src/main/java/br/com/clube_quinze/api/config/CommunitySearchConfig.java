@@ -0,0 +1,49 @@
+package br.com.clube_quinze.api.config;
+
+import br.com.clube_quinze.api.service.community.search.CommunitySearchIndex;
+import br.com.clube_quinze.api.service.community.search.FullTextSearchIndex;
+import br.com.clube_quinze.api.service.community.search.InMemorySearchIndex;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Escolhe o motor da busca da comunidade ({@code app.community.search.engine}): {@code fulltext} usa os
+ * índices FULLTEXT do MariaDB/MySQL, {@code memory} mantém um índice invertido na aplicação e
+ * {@code auto} (padrão) decide pelo banco conectado. Nenhum dos dois cai para LIKE.
+ */
+@Configuration
+public class CommunitySearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CommunitySearchConfig.class);
+
+    @Bean
+    public CommunitySearchIndex communitySearchIndex(DataSource dataSource,
+                                                     JdbcTemplate jdbcTemplate,
+                                                     @Value("${app.community.search.engine:auto}") String engine) {
+        boolean fullText = switch (engine.toLowerCase(Locale.ROOT)) {
+            case "fulltext" -> true;
+            case "memory" -> false;
+            default -> supportsFullText(dataSource);
+        };
+        log.info("Busca da comunidade: {}", fullText ? "FULLTEXT no banco" : "índice em memória");
+        return fullText ? new FullTextSearchIndex(jdbcTemplate) : new InMemorySearchIndex(jdbcTemplate);
+    }
+
+    private static boolean supportsFullText(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            return product.contains("mariadb") || product.contains("mysql");
+        } catch (SQLException ex) {
+            log.warn("Não foi possível identificar o banco para a busca: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
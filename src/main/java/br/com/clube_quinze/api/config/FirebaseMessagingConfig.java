@@ -37,6 +37,13 @@ public class FirebaseMessagingConfig {
     @Value("${firebase.service-account:classpath:firebase-service-account.json}")
     private Resource serviceAccountResource;
 
+    /** Sem timeout o SDK espera indefinidamente; um FCM lento prendia as threads de envio. */
+    @Value("${firebase.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${firebase.read-timeout-ms:10000}")
+    private int readTimeoutMs;
+
     @Bean
     public FirebaseMessaging firebaseMessaging() throws IOException {
         if (FirebaseApp.getApps().isEmpty()) {
@@ -45,6 +52,8 @@ public class FirebaseMessagingConfig {
                 GoogleCredentials credentials = GoogleCredentials.fromStream(is);
                 FirebaseOptions options = FirebaseOptions.builder()
                         .setCredentials(credentials)
+                        .setConnectTimeout(connectTimeoutMs)
+                        .setReadTimeout(readTimeoutMs)
                         .build();
                 FirebaseApp.initializeApp(options);
                 if (credentials instanceof ServiceAccountCredentials sac) {
@@ -0,0 +1,29 @@
+package br.com.clube_quinze.api.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cliente HTTP compartilhado pelas integrações externas (Expo, Brevo...).
+ * O {@link HttpClient} do JDK mantém um pool de conexões keep-alive (e multiplexa em HTTP/2),
+ * evitando o handshake TLS a cada chamada que o {@code new RestTemplate()} fazia. Circuit breaker,
+ * bulkhead e métricas por provedor ficam no {@code OutboundCallGuard}.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${app.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Bean(name = "outboundHttpClient")
+    public HttpClient outboundHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+}
@@ -7,11 +7,13 @@ import br.com.clube_quinze.api.dto.community.LikeResponse;
 import br.com.clube_quinze.api.dto.community.PostMediaRequest;
 import br.com.clube_quinze.api.dto.community.PostRequest;
 import br.com.clube_quinze.api.dto.community.PostResponse;
+import br.com.clube_quinze.api.exception.BusinessException;
 import br.com.clube_quinze.api.exception.UnauthorizedException;
 import br.com.clube_quinze.api.model.enumeration.RoleType;
 import br.com.clube_quinze.api.security.ClubeQuinzeUserDetails;
 import br.com.clube_quinze.api.service.community.CommunityService;
 import br.com.clube_quinze.api.service.media.MediaStorageService;
+import br.com.clube_quinze.api.util.CursorUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -22,6 +24,7 @@ import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -49,18 +52,46 @@ public class CommunityController {
         this.mediaStorageService = mediaStorageService;
     }
 
+    /** {@code sort=recent} (padrão) em ordem cronológica; {@code sort=trending} pelo ranking "em alta", sem filtro de autor. */
     @GetMapping
     public ResponseEntity<PageResponse<PostResponse>> listPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) Long authorId) {
-        PageResponse<PostResponse> response = communityService.getFeed(page, size, authorId);
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(defaultValue = "recent") String sort,
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+        Long viewerId = viewerId(currentUser);
+        PageResponse<PostResponse> response = switch (sort.toLowerCase(Locale.ROOT)) {
+            case "recent" -> communityService.getFeed(page, size, authorId, viewerId);
+            case "trending" -> {
+                if (authorId != null) {
+                    throw new BusinessException("Ordenação trending não aceita filtro por autor");
+                }
+                yield communityService.getTrendingFeed(page, size, viewerId);
+            }
+            default -> throw new BusinessException("Ordenação inválida: use recent ou trending");
+        };
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Feed para rolagem infinita, do mais novo ao mais antigo, sem contagem total. A primeira chamada vai
+     * sem cursor; as seguintes repassam o {@code X-Next-Cursor} recebido.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<List<PostResponse>> scrollPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long authorId,
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+        return CursorUtils.withNextCursor(communityService.scrollFeed(cursor, size, authorId, viewerId(currentUser)));
+    }
+
     @GetMapping("/{postId}")
-    public ResponseEntity<PostResponse> getPost(@PathVariable Long postId) {
-        return ResponseEntity.ok(communityService.getPost(postId));
+    public ResponseEntity<PostResponse> getPost(
+            @PathVariable Long postId,
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+        return ResponseEntity.ok(communityService.getPost(postId, viewerId(currentUser)));
     }
 
         @Operation(
@@ -120,6 +151,18 @@ public class CommunityController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Thread completo de um post, do mais antigo ao mais novo, paginado por keyset. O feed traz só os
+     * últimos comentários; o cursor da próxima página vem no header {@code X-Next-Cursor}.
+     */
+    @GetMapping("/{postId}/comments")
+    public ResponseEntity<List<CommentResponse>> listComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return CursorUtils.withNextCursor(communityService.listComments(postId, cursor, size));
+    }
+
     @PostMapping("/{postId}/comments")
     public ResponseEntity<CommentResponse> addComment(
             @PathVariable Long postId,
@@ -150,12 +193,17 @@ public class CommunityController {
     }
 
     @DeleteMapping("/{postId}/likes")
-    public ResponseEntity<Void> unlikePost(
+    public ResponseEntity<LikeResponse> unlikePost(
             @PathVariable Long postId,
             @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
         ClubeQuinzeUserDetails user = requireAuthenticated(currentUser);
-        communityService.unlikePost(postId, user.getId());
-        return ResponseEntity.noContent().build();
+        LikeResponse response = communityService.unlikePost(postId, user.getId());
+        return ResponseEntity.ok(response);
+    }
+
+    /** Leitura é pública: sem login, {@code likedByMe} sai sempre false. */
+    private static Long viewerId(ClubeQuinzeUserDetails currentUser) {
+        return currentUser != null ? currentUser.getId() : null;
     }
 
     private ClubeQuinzeUserDetails requireAuthenticated(ClubeQuinzeUserDetails currentUser) {
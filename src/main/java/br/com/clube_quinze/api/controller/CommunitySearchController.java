@@ -0,0 +1,42 @@
+package br.com.clube_quinze.api.controller;
+
+import br.com.clube_quinze.api.dto.community.PostResponse;
+import br.com.clube_quinze.api.security.ClubeQuinzeUserDetails;
+import br.com.clube_quinze.api.service.community.CommunityService;
+import br.com.clube_quinze.api.util.CursorUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/community/search")
+@Tag(name = "Comunidade")
+public class CommunitySearchController {
+
+    private final CommunityService communityService;
+
+    public CommunitySearchController(CommunityService communityService) {
+        this.communityService = communityService;
+    }
+
+    /**
+     * Posts cujo título, conteúdo ou comentários casam com {@code q}, do mais relevante ao menos. A próxima
+     * página vem repassando o {@code X-Next-Cursor} recebido.
+     */
+    @GetMapping
+    @Operation(summary = "Buscar posts da comunidade")
+    public ResponseEntity<List<PostResponse>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+        Long viewerId = currentUser != null ? currentUser.getId() : null;
+        return CursorUtils.withNextCursor(communityService.search(q, cursor, size, viewerId));
+    }
+}
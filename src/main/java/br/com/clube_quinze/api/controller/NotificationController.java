@@ -12,7 +12,10 @@ import br.com.clube_quinze.api.repository.NotificationRepository;
 import br.com.clube_quinze.api.repository.PushTokenRepository;
 import br.com.clube_quinze.api.security.ClubeQuinzeUserDetails;
 import br.com.clube_quinze.api.service.notification.ExpoPushService;
+import br.com.clube_quinze.api.service.notification.NotificationStreamService;
 import br.com.clube_quinze.api.service.notification.PushNotificationService;
+import br.com.clube_quinze.api.service.notification.UnreadNotificationCounter;
+import br.com.clube_quinze.api.util.CursorUtils;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
@@ -21,6 +24,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -31,48 +40,98 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PushTokenRepository pushTokenRepository;
     private final PushNotificationService pushNotificationService;
     private final ExpoPushService expoPushService;
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamService notificationStream;
 
     public NotificationController(PushTokenRepository pushTokenRepository,
                                   PushNotificationService pushNotificationService,
                                   ExpoPushService expoPushService,
-                                  NotificationRepository notificationRepository) {
+                                  NotificationRepository notificationRepository,
+                                  UnreadNotificationCounter unreadCounter,
+                                  NotificationStreamService notificationStream) {
         this.pushTokenRepository = pushTokenRepository;
         this.pushNotificationService = pushNotificationService;
         this.expoPushService = expoPushService;
         this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.notificationStream = notificationStream;
     }
 
-    /** Lista as notificações in-app do usuário autenticado (mais recentes primeiro). */
+    /**
+     * Lista as notificações in-app do usuário autenticado (mais recentes primeiro), paginada por keyset em
+     * {@code (sentAt, id)}. Havendo mais itens, o header {@code X-Next-Cursor} traz o cursor da próxima página.
+     * Responde 304 quando o {@code If-None-Match} bate: o ETag muda com a notificação mais recente, o total
+     * de não-lidas e a versão do usuário no contador (criações, leituras e expurgos avançam a versão).
+     */
     @GetMapping
     public ResponseEntity<List<NotificationResponse>> listMyNotifications(
-            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         Long userId = requireUser(currentUser);
-        List<NotificationResponse> items = notificationRepository
-                .findTop100ByUserIdOrderBySentAtDesc(userId)
-                .stream()
-                .map(this::toResponse)
-                .toList();
-        return ResponseEntity.ok(items);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        String etag = "\"" + notificationRepository.findLatestIdByUserId(userId)
+                + "-" + unreadCounter.get(userId)
+                + "-" + unreadCounter.version(userId)
+                + "-" + Integer.toHexString(Objects.hash(cursor, pageSize)) + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        // Busca um a mais só para saber se existe próxima página (sem COUNT).
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findByUserIdOrderBySentAtDescIdDesc(userId, limit);
+        } else {
+            CursorUtils.Cursor after = CursorUtils.decode(cursor);
+            rows = notificationRepository.findPageBefore(userId, after.timestamp(), after.id(), limit);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Notification last = rows.get(pageSize - 1);
+            response.header(CursorUtils.NEXT_CURSOR_HEADER, CursorUtils.encode(last.getSentAt(), last.getId()));
+        }
+        return response.body(rows.stream().map(this::toResponse).toList());
     }
 
-    /** Contagem de não-lidas — para o badge do ícone de notificações. */
+    /** Contagem de não-lidas — para o badge do ícone de notificações. Servida do contador em cache. */
     @GetMapping("/unread-count")
     public ResponseEntity<Map<String, Object>> unreadCount(
             @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
         Long userId = requireUser(currentUser);
-        return ResponseEntity.ok(Map.of("count", notificationRepository.countByUserIdAndReadFalse(userId)));
+        return ResponseEntity.ok(Map.of("count", unreadCounter.get(userId)));
+    }
+
+    /**
+     * Stream SSE com novas notificações ({@code notification}) e o total de não-lidas ({@code unread-count}).
+     * O primeiro evento já traz o total atual.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+        return notificationStream.subscribe(requireUser(currentUser));
     }
 
     /** Marca uma notificação como lida (apenas se pertencer ao usuário). */
@@ -87,9 +146,9 @@ public class NotificationController {
         if (n.getUser() == null || !userId.equals(n.getUser().getId())) {
             throw new UnauthorizedException("Notificação não pertence ao usuário");
         }
-        if (!n.isRead()) {
-            n.setRead(true);
-            notificationRepository.save(n);
+        // Só quem de fato trocou lida=false para true desconta do contador.
+        if (notificationRepository.markAsRead(id, userId) == 1) {
+            unreadCounter.decrement(userId);
         }
         return ResponseEntity.noContent().build();
     }
@@ -101,6 +160,7 @@ public class NotificationController {
             @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
         Long userId = requireUser(currentUser);
         notificationRepository.markAllAsReadForUser(userId);
+        unreadCounter.reset(userId);
         return ResponseEntity.noContent().build();
     }
 
@@ -218,7 +278,7 @@ public class NotificationController {
 
         List<ExpoPushService.ExpoMessage> messages = new ArrayList<>();
         for (PushToken t : tokens) {
-            messages.add(new ExpoPushService.ExpoMessage(t.getToken(), type.title, body, data));
+            messages.add(new ExpoPushService.ExpoMessage(t.getToken(), type.title, body, data, t.getPlatform()));
         }
 
         // Caminho direto pelo provedor: expõe o resultado cru por token (ok + errorCode FCM).
@@ -280,7 +340,7 @@ public class NotificationController {
         List<ExpoPushService.ExpoMessage> messages = new ArrayList<>();
         for (PushToken t : tokens) {
             messages.add(new ExpoPushService.ExpoMessage(
-                    t.getToken(), request.title(), request.body(), data));
+                    t.getToken(), request.title(), request.body(), data, t.getPlatform()));
         }
 
         List<ExpoPushService.ExpoResult> results = expoPushService.sendBatch(messages);
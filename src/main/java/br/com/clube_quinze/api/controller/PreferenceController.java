@@ -1,10 +1,13 @@
 package br.com.clube_quinze.api.controller;
 
+import br.com.clube_quinze.api.dto.preference.NotificationPreferencesRequest;
+import br.com.clube_quinze.api.dto.preference.NotificationPreferencesResponse;
 import br.com.clube_quinze.api.dto.preference.PreferenceRequest;
 import br.com.clube_quinze.api.dto.preference.PreferenceResponse;
 import br.com.clube_quinze.api.exception.UnauthorizedException;
 import br.com.clube_quinze.api.model.enumeration.RoleType;
 import br.com.clube_quinze.api.security.ClubeQuinzeUserDetails;
+import br.com.clube_quinze.api.service.preference.NotificationPreferenceService;
 import br.com.clube_quinze.api.service.preference.PreferenceService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -28,9 +31,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class PreferenceController {
 
     private final PreferenceService preferenceService;
+    private final NotificationPreferenceService notificationPreferenceService;
 
-    public PreferenceController(PreferenceService preferenceService) {
+    public PreferenceController(PreferenceService preferenceService,
+                                NotificationPreferenceService notificationPreferenceService) {
         this.preferenceService = preferenceService;
+        this.notificationPreferenceService = notificationPreferenceService;
     }
 
     @GetMapping
@@ -54,6 +60,21 @@ public class PreferenceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @GetMapping("/notifications")
+    public ResponseEntity<NotificationPreferencesResponse> getNotificationPreferences(
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser) {
+        ClubeQuinzeUserDetails user = requireAuthenticated(currentUser);
+        return ResponseEntity.ok(notificationPreferenceService.getResponse(user.getId()));
+    }
+
+    @PutMapping("/notifications")
+    public ResponseEntity<NotificationPreferencesResponse> updateNotificationPreferences(
+            @AuthenticationPrincipal ClubeQuinzeUserDetails currentUser,
+            @Valid @RequestBody NotificationPreferencesRequest request) {
+        ClubeQuinzeUserDetails user = requireAuthenticated(currentUser);
+        return ResponseEntity.ok(notificationPreferenceService.update(user.getId(), request));
+    }
+
     @PutMapping("/{preferenceId}")
     public ResponseEntity<PreferenceResponse> updatePreference(
             @PathVariable Long preferenceId,
@@ -0,0 +1,7 @@
+package br.com.clube_quinze.api.dto.common;
+
+import java.util.List;
+
+/** Página por keyset; {@code nextCursor} nulo indica que não há mais itens. */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
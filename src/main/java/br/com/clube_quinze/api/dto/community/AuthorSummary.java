@@ -0,0 +1,9 @@
+package br.com.clube_quinze.api.dto.community;
+
+import java.io.Serializable;
+
+public record AuthorSummary(
+        Long id,
+        String name,
+        String profilePictureUrl) implements Serializable {
+}
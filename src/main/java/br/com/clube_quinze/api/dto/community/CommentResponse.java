@@ -8,6 +8,7 @@ public record CommentResponse(
         Long id,
         Long postId,
         Long authorId,
+        AuthorSummary author,
         String content,
         LocalDateTime createdAt,
         LocalDateTime updatedAt) implements Serializable {
@@ -2,7 +2,6 @@ package br.com.clube_quinze.api.dto.community;
 
 import java.io.Serializable;
 
-import java.time.LocalDateTime;
-
-public record LikeResponse(Long id, Long postId, Long userId, LocalDateTime createdAt) implements Serializable {
+/** Estado da curtida do usuário após a operação e o total de curtidas do post. */
+public record LikeResponse(Long postId, Long userId, boolean liked, long likeCount) implements Serializable {
 }
@@ -7,11 +7,14 @@ import java.util.List;
 public record PostResponse(
         Long id,
         Long authorId,
+        AuthorSummary author,
         String title,
         String content,
         List<PostMediaResponse> media,
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
         long likeCount,
+        long commentCount,
+        boolean likedByMe,
         List<CommentResponse> comments) implements Serializable {
 }
@@ -0,0 +1,7 @@
+package br.com.clube_quinze.api.dto.notification;
+
+import java.io.Serializable;
+
+/** Uma linha do resumo de lembretes: horário já formatado e a descrição do atendimento. */
+public record AppointmentDigestItem(String scheduledAt, String description) implements Serializable {
+}
@@ -0,0 +1,19 @@
+package br.com.clube_quinze.api.dto.preference;
+
+import jakarta.validation.constraints.Pattern;
+import java.util.List;
+
+/**
+ * Preferências de notificação. Campos nulos voltam ao padrão: push e email ligados, sem horário de
+ * silêncio, todos os lembretes, sem resumo diário.
+ */
+public record NotificationPreferencesRequest(
+        Boolean pushEnabled,
+        Boolean emailEnabled,
+        @Pattern(regexp = "^([01]\\d|2[0-3]):[0-5]\\d$", message = "Início do silêncio deve estar no formato HH:mm")
+        String quietHoursStart,
+        @Pattern(regexp = "^([01]\\d|2[0-3]):[0-5]\\d$", message = "Fim do silêncio deve estar no formato HH:mm")
+        String quietHoursEnd,
+        List<Integer> reminderOffsets,
+        Boolean digestEnabled) {
+}
@@ -0,0 +1,13 @@
+package br.com.clube_quinze.api.dto.preference;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record NotificationPreferencesResponse(
+        boolean pushEnabled,
+        boolean emailEnabled,
+        String quietHoursStart,
+        String quietHoursEnd,
+        List<Integer> reminderOffsets,
+        boolean digestEnabled) implements Serializable {
+}
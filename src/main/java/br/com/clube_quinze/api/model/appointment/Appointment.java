@@ -11,15 +11,22 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "agendamentos")
+@Table(name = "agendamentos", indexes = {
+        @Index(name = "idx_agendamentos_data_horario", columnList = "data_horario"),
+        @Index(name = "idx_agendamentos_status_data_horario", columnList = "status, data_horario"),
+        @Index(name = "idx_agendamentos_usuario_data_horario", columnList = "usuario_id, data_horario")
+})
 public class Appointment {
 
     @Id
@@ -28,6 +35,7 @@ public class Appointment {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User client;
 
     @Column(name = "data_horario", nullable = false)
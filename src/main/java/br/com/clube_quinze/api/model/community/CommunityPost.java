@@ -8,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,9 +21,14 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "community_posts")
+@Table(name = "community_posts", indexes = {
+        @Index(name = "idx_community_posts_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_community_posts_author_created_id", columnList = "author_id, created_at, id")
+})
 public class CommunityPost {
 
     @Id
@@ -31,6 +37,7 @@ public class CommunityPost {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User author;
 
     @Column(nullable = false)
@@ -49,6 +56,13 @@ public class CommunityPost {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<CommunityLike> likes = new HashSet<>();
 
+    /** Só o UPDATE atômico do repositório altera os contadores; o flush da entidade nunca os sobrescreve. */
+    @Column(name = "like_count", nullable = false, updatable = false)
+    private long likeCount;
+
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -123,6 +137,14 @@ public class CommunityPost {
         this.likes = likes;
     }
 
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
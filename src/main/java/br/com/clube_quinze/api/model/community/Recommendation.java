@@ -17,6 +17,8 @@ import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
 @Table(name = "recomendacoes")
@@ -41,6 +43,7 @@ public class Recommendation {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "enviada_por")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
     private User submittedBy;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -10,14 +10,20 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "notificacoes")
+@Table(name = "notificacoes", indexes = {
+        @Index(name = "idx_notificacoes_usuario_lida", columnList = "usuario_id, lida"),
+        @Index(name = "idx_notificacoes_usuario_enviada_em", columnList = "usuario_id, enviada_em")
+})
 public class Notification {
 
     @Id
@@ -26,6 +32,7 @@ public class Notification {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
     private User user;
 
     @Column(name = "titulo", nullable = false)
@@ -38,6 +38,10 @@ public class PushDelivery {
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
 
+    /** Id do ticket da Expo Push API (null para envios FCM). Usado para consultar o recibo de entrega. */
+    @Column(name = "ticket_id", length = 64)
+    private String ticketId;
+
     @Column(name = "retry_count")
     private Integer retryCount = 0;
 
@@ -73,6 +77,8 @@ public class PushDelivery {
     public void setStatus(String status) { this.status = status; }
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
     public Integer getRetryCount() { return retryCount; }
     public void setRetryCount(Integer retryCount) { this.retryCount = retryCount; }
     public Instant getCreatedAt() { return createdAt; }
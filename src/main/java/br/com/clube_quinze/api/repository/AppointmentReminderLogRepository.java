@@ -1,7 +1,11 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.notification.AppointmentReminderLog;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AppointmentReminderLogRepository extends JpaRepository<AppointmentReminderLog, Long> {
 
@@ -9,4 +13,14 @@ public interface AppointmentReminderLogRepository extends JpaRepository<Appointm
 
     boolean existsByAppointmentIdAndOffsetMinutesAndRecipientType(
             Long appointmentId, int offsetMinutes, String recipientType);
+
+    @Query("""
+            select l.appointmentId from AppointmentReminderLog l
+            where l.appointmentId in :appointmentIds
+              and l.offsetMinutes = :offsetMinutes
+              and l.recipientType = :recipientType
+            """)
+    Set<Long> findLoggedAppointmentIds(@Param("appointmentIds") Collection<Long> appointmentIds,
+                                       @Param("offsetMinutes") int offsetMinutes,
+                                       @Param("recipientType") String recipientType);
 }
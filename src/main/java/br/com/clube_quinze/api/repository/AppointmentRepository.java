@@ -18,7 +18,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>,
     @Query("select a from Appointment a where a.client.id = :clientId and a.scheduledAt >= :now order by a.scheduledAt asc")
     List<Appointment> findUpcomingByClient(@Param("clientId") Long clientId, @Param("now") LocalDateTime now);
 
-    @Query("select a from Appointment a where a.status = :status and a.scheduledAt between :start and :end")
+    @Query("select a from Appointment a join fetch a.client where a.status = :status and a.scheduledAt between :start and :end")
     List<Appointment> findByStatusAndBetween(
             @Param("status") AppointmentStatus status,
             @Param("start") LocalDateTime start,
@@ -1,22 +1,45 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.community.CommunityComment;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface CommunityCommentRepository extends JpaRepository<CommunityComment, Long> {
 
-    List<CommunityComment> findByPostId(Long postId);
+    /** Os {@code limit} comentários mais recentes de cada post, em ordem cronológica dentro do post. */
+    @Query(value = """
+            select id, post_id, author_id, content, created_at, updated_at
+            from (
+                select c.*, row_number() over (partition by c.post_id order by c.created_at desc, c.id desc) as rn
+                from community_comments c
+                where c.post_id in (:postIds)
+            ) ranked
+            where rn <= :limit
+            order by post_id, created_at, id
+            """, nativeQuery = true)
+    List<CommunityComment> findLatestByPostIds(@Param("postIds") Collection<Long> postIds,
+                                               @Param("limit") int limit);
 
     @Query("""
-            select c
-            from CommunityComment c
-            where c.post.id in :postIds
-            order by c.post.id asc, c.createdAt asc
+            select c from CommunityComment c
+            where c.post.id = :postId
+            order by c.createdAt asc, c.id asc
             """)
-    List<CommunityComment> findByPostIdInOrderByPostIdAndCreatedAt(
-            @Param("postIds") Collection<Long> postIds);
+    List<CommunityComment> findThread(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("""
+            select c from CommunityComment c
+            where c.post.id = :postId
+              and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id))
+            order by c.createdAt asc, c.id asc
+            """)
+    List<CommunityComment> findThreadAfter(@Param("postId") Long postId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
 }
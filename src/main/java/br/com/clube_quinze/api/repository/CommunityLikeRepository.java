@@ -1,31 +1,38 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.community.CommunityLike;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface CommunityLikeRepository extends JpaRepository<CommunityLike, Long> {
 
-    interface PostLikeCount {
-
-        Long getPostId();
-
-        long getLikeCount();
-    }
-
-    Optional<CommunityLike> findByPostIdAndUserId(Long postId, Long userId);
-
-    long countByPostId(Long postId);
-
-    @Query("""
-            select l.post.id as postId, count(l.id) as likeCount
-            from CommunityLike l
-            where l.post.id in :postIds
-            group by l.post.id
-            """)
-    List<PostLikeCount> countGroupedByPostIds(@Param("postIds") Collection<Long> postIds);
+    /**
+     * Curtida idempotente numa instrução: a chave única (post_id, user_id) absorve toques repetidos e
+     * concorrentes, e o SELECT em community_posts faz post inexistente inserir zero linhas.
+     * Devolve 1 se a curtida é nova, 0 caso contrário.
+     */
+    @Modifying
+    @Query(value = """
+            insert ignore into community_likes (post_id, user_id, created_at)
+            select p.id, :userId, :now from community_posts p where p.id = :postId
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /** Quais dos posts da página o usuário curtiu, numa consulta pela chave única. */
+    @Query(value = "select post_id from community_likes where user_id = :userId and post_id in (:postIds)", nativeQuery = true)
+    List<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    /** Quando a curtida foi feita: o ranking "em alta" desconta o peso daquele instante ao descurtir. */
+    @Query("select l.createdAt from CommunityLike l where l.post.id = :postId and l.user.id = :userId")
+    Optional<LocalDateTime> findCreatedAt(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "delete from community_likes where post_id = :postId and user_id = :userId", nativeQuery = true)
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") Long userId);
 }
@@ -1,14 +1,31 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.community.CommunityPost;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommunityPostRepository extends JpaRepository<CommunityPost, Long> {
 
+    interface TrendingSeed {
+
+        Long getId();
+
+        LocalDateTime getCreatedAt();
+
+        long getLikeCount();
+
+        long getCommentCount();
+    }
+
     @Override
     @EntityGraph(attributePaths = {"author", "media"})
     Page<CommunityPost> findAll(Pageable pageable);
@@ -19,4 +36,95 @@ public interface CommunityPostRepository extends JpaRepository<CommunityPost, Lo
     @EntityGraph(attributePaths = {"author", "media"})
     Optional<CommunityPost> findDetailedById(Long postId);
 
+    @EntityGraph(attributePaths = {"author", "media"})
+    List<CommunityPost> findDetailedByIdIn(Collection<Long> postIds);
+
+    /** Só os IDs da página: o conteúdo de cada post vem do cache de fragmentos. */
+    @Query("select p.id from CommunityPost p")
+    Page<Long> findIdPage(Pageable pageable);
+
+    @Query("select p.id from CommunityPost p where p.author.id = :authorId")
+    Page<Long> findIdPageByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    // Feed por cursor: consultas separadas com e sem autor para cada uma usar o seu índice.
+    @Query("""
+            select p.id from CommunityPost p
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Long> findFeedIds(Pageable pageable);
+
+    @Query("""
+            select p.id from CommunityPost p
+            where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Long> findFeedIdsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+
+    @Query("""
+            select p.id from CommunityPost p
+            where p.author.id = :authorId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Long> findFeedIdsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query("""
+            select p.id from CommunityPost p
+            where p.author.id = :authorId
+              and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id))
+            order by p.createdAt desc, p.id desc
+            """)
+    List<Long> findFeedIdsByAuthorIdBefore(@Param("authorId") Long authorId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /** Carga inicial do ranking "em alta": só os contadores, sem entidades. */
+    @Query("""
+            select p.id as id, p.createdAt as createdAt, p.likeCount as likeCount, p.commentCount as commentCount
+            from CommunityPost p
+            where p.createdAt >= :since
+            """)
+    List<TrendingSeed> findTrendingSeeds(@Param("since") LocalDateTime since);
+
+    @Query("select p.likeCount from CommunityPost p where p.id = :postId")
+    Optional<Long> findLikeCount(@Param("postId") Long postId);
+
+    @Query("select p.author.id from CommunityPost p where p.id = :postId")
+    Optional<Long> findAuthorIdById(@Param("postId") Long postId);
+
+    /** Comentários, curtidas e mídia saem pelo ON DELETE CASCADE, sem carregar nada. */
+    @Modifying
+    @Query(value = "delete from community_posts where id = :postId", nativeQuery = true)
+    int deleteByIdCascading(@Param("postId") Long postId);
+
+    /** Antes de remover um usuário: desconta dos outros posts as curtidas e comentários que vão sumir com ele. */
+    @Modifying
+    @Query(value = """
+            update community_posts p
+            set like_count = greatest(p.like_count - (select count(*) from community_likes l
+                                                      where l.post_id = p.id and l.user_id = :userId), 0)
+            where p.id in (select l2.post_id from community_likes l2 where l2.user_id = :userId)
+            """, nativeQuery = true)
+    int discountLikesOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = """
+            update community_posts p
+            set comment_count = greatest(p.comment_count - (select count(*) from community_comments c
+                                                            where c.post_id = p.id and c.author_id = :userId), 0)
+            where p.id in (select c2.post_id from community_comments c2 where c2.author_id = :userId)
+            """, nativeQuery = true)
+    int discountCommentsOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "update community_posts set like_count = greatest(like_count + :delta, 0) where id = :postId",
+            nativeQuery = true)
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "update community_posts set comment_count = greatest(comment_count + :delta, 0) where id = :postId",
+            nativeQuery = true)
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
 }
@@ -1,6 +1,8 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.notification.Notification;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,14 +13,51 @@ import org.springframework.data.repository.query.Param;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    interface UserUnreadCount {
+
+        Long getUserId();
+
+        long getUnreadCount();
+    }
+
     Page<Notification> findByUserId(Long userId, Pageable pageable);
 
     List<Notification> findByReadFalse();
 
-    List<Notification> findTop100ByUserIdOrderBySentAtDesc(Long userId);
+    List<Notification> findByUserIdOrderBySentAtDescIdDesc(Long userId, Pageable pageable);
+
+    @Query("""
+            select n from Notification n
+            where n.user.id = :userId
+              and (n.sentAt < :sentAt or (n.sentAt = :sentAt and n.id < :id))
+            order by n.sentAt desc, n.id desc
+            """)
+    List<Notification> findPageBefore(@Param("userId") Long userId,
+                                      @Param("sentAt") LocalDateTime sentAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query("select max(n.id) from Notification n where n.user.id = :userId")
+    Long findLatestIdByUserId(@Param("userId") Long userId);
 
     long countByUserIdAndReadFalse(Long userId);
 
+    @Query("""
+            select n.user.id as userId, count(n.id) as unreadCount
+            from Notification n
+            where n.user.id in :userIds and n.read = false
+            group by n.user.id
+            """)
+    List<UserUnreadCount> countUnreadGroupedByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Marca como lida numa instrução: com PATCHs concorrentes só um vê a linha ainda não lida.
+     * Devolve 1 se esta chamada fez a troca, 0 se já estava lida.
+     */
+    @Modifying
+    @Query("update Notification n set n.read = true where n.id = :id and n.user.id = :userId and n.read = false")
+    int markAsRead(@Param("id") Long id, @Param("userId") Long userId);
+
     @Modifying
     @Query("update Notification n set n.read = true where n.user.id = :userId and n.read = false")
     int markAllAsReadForUser(@Param("userId") Long userId);
@@ -1,7 +1,47 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.notification.PushDelivery;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface PushDeliveryRepository extends JpaRepository<PushDelivery, Long> {
+
+    /** Entregas Expo aceitas ("sent") cujo recibo ainda não foi conferido, por id crescente (cursor). */
+    @Query("""
+            select d
+            from PushDelivery d
+            where d.status = 'sent'
+            and d.ticketId is not null
+            and d.id > :afterId
+            and d.sentAt <= :sentBefore
+            order by d.id asc
+            """)
+    List<PushDelivery> findPendingReceipts(
+            @Param("afterId") Long afterId,
+            @Param("sentBefore") Instant sentBefore,
+            Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update PushDelivery d set d.status = :status, d.errorMessage = :error where d.ticketId in :ticketIds")
+    int updateStatusByTicketIds(
+            @Param("ticketIds") Collection<String> ticketIds,
+            @Param("status") String status,
+            @Param("error") String error);
+
+    /** Recibos da Expo expiram em 24h: o que não foi confirmado até lá deixa de ser consultado. */
+    @Transactional
+    @Modifying
+    @Query("""
+            update PushDelivery d set d.status = 'unconfirmed'
+            where d.status = 'sent' and d.ticketId is not null and d.sentAt < :sentBefore
+            """)
+    int expirePendingReceipts(@Param("sentBefore") Instant sentBefore);
 }
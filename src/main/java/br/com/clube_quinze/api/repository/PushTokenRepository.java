@@ -1,13 +1,37 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.notification.PushToken;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface PushTokenRepository extends JpaRepository<PushToken, Long> {
     List<PushToken> findByUserIdAndInvalidatedAtIsNull(Long userId);
     Optional<PushToken> findByToken(String token);
     /** Todos os tokens ativos (para broadcasts). */
     List<PushToken> findByInvalidatedAtIsNull();
+
+    /** Invalida vários tokens num único UPDATE (ex.: DeviceNotRegistered vindo dos recibos da Expo). */
+    @Transactional
+    @Modifying
+    @Query("update PushToken t set t.invalidatedAt = :now, t.updatedAt = :now where t.id in :ids and t.invalidatedAt is null")
+    int invalidateByIds(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /** push_tokens/push_deliveries não têm ON DELETE CASCADE: a remoção do usuário limpa os dois antes. */
+    @Modifying
+    @Query(value = """
+            delete from push_deliveries
+            where user_id = :userId or token_id in (select t.id from push_tokens t where t.user_id = :userId)
+            """, nativeQuery = true)
+    int deleteDeliveriesOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("delete from PushToken t where t.userId = :userId")
+    int deleteAllOfUser(@Param("userId") Long userId);
 }
@@ -1,15 +1,34 @@
 package br.com.clube_quinze.api.repository;
 
 import br.com.clube_quinze.api.model.user.UserPreference;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserPreferenceRepository extends JpaRepository<UserPreference, Long> {
 
+    interface PreferenceEntry {
+
+        Long getUserId();
+
+        String getPreferenceKey();
+
+        String getPreferenceValue();
+    }
+
     List<UserPreference> findByUserId(Long userId);
 
     Optional<UserPreference> findByUserIdAndPreferenceKey(Long userId, String preferenceKey);
 
     Optional<UserPreference> findByIdAndUserId(Long id, Long userId);
+
+    @Query("""
+            select p.user.id as userId, p.preferenceKey as preferenceKey, p.preferenceValue as preferenceValue
+            from UserPreference p
+            where p.user.id in :userIds and p.preferenceKey in :keys
+            """)
+    List<PreferenceEntry> findEntries(@Param("userIds") Collection<Long> userIds, @Param("keys") Collection<String> keys);
 }
@@ -1,5 +1,6 @@
 package br.com.clube_quinze.api.repository;
 
+import br.com.clube_quinze.api.dto.community.AuthorSummary;
 import br.com.clube_quinze.api.model.enumeration.MembershipTier;
 import br.com.clube_quinze.api.model.enumeration.RoleType;
 import br.com.clube_quinze.api.model.user.User;
@@ -8,6 +9,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -39,4 +41,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 			and u.role in :roles
 			""")
 	long countActivePlans(@Param("today") LocalDate today, @Param("roles") Collection<RoleType> roles);
+
+	/** Autores do feed: só id, nome e foto, para a página inteira numa consulta. */
+	@Query("select new br.com.clube_quinze.api.dto.community.AuthorSummary(u.id, u.name, u.profilePictureUrl) from User u where u.id in :ids")
+	List<AuthorSummary> findAuthorSummaries(@Param("ids") Collection<Long> ids);
+
+	/** Um DELETE só: preferências, galeria, agendamentos, posts etc. saem pelo ON DELETE CASCADE das FKs. */
+	@Modifying
+	@Query(value = "delete from usuarios where id = :userId", nativeQuery = true)
+	int deleteByIdCascading(@Param("userId") Long userId);
 }
@@ -17,7 +17,7 @@ public class CorsProperties {
             "Accept",
             "Origin",
             "X-Request-Id"));
-    private List<String> exposedHeaders = new ArrayList<>(List.of("X-Request-Id"));
+    private List<String> exposedHeaders = new ArrayList<>(List.of("X-Request-Id", "ETag", "X-Next-Cursor"));
     private boolean allowCredentials = true;
     private long maxAge = 3600;
 
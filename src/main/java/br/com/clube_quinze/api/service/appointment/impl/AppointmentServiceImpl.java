@@ -17,9 +17,8 @@ import br.com.clube_quinze.api.repository.AppointmentRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
 import br.com.clube_quinze.api.service.appointment.AppointmentScheduleSettings;
 import br.com.clube_quinze.api.service.appointment.AppointmentService;
-import br.com.clube_quinze.api.config.RabbitMQConfig;
 import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import br.com.clube_quinze.api.service.notification.NotificationTransport;
 import br.com.clube_quinze.api.util.PageUtils;
 import java.time.Clock;
 import java.time.Duration;
@@ -51,15 +50,15 @@ public class AppointmentServiceImpl implements AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final NotificationTransport notificationTransport;
     private final Clock clock;
 
     public AppointmentServiceImpl(AppointmentRepository appointmentRepository, UserRepository userRepository, Clock clock,
-            RabbitTemplate rabbitTemplate) {
+            NotificationTransport notificationTransport) {
         this.appointmentRepository = appointmentRepository;
         this.userRepository = userRepository;
         this.clock = clock;
-        this.rabbitTemplate = rabbitTemplate;
+        this.notificationTransport = notificationTransport;
     }
 
     @Override
@@ -207,7 +206,7 @@ public class AppointmentServiceImpl implements AppointmentService {
             pushMap.put("body", "Seu agendamento foi criado para " + saved.getScheduledAt().toString());
             pushMap.put("data", data);
             
-            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
+            notificationTransport.publish(new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
         } catch (Exception ignored) {
         }
     }
@@ -254,7 +253,7 @@ public class AppointmentServiceImpl implements AppointmentService {
             pushMap.put("body", "Seu agendamento foi remarcado para " + newFormatted);
             pushMap.put("data", data);
             
-            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
+            notificationTransport.publish(new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
         } catch (Exception ignored) {
         }
 
@@ -270,7 +269,7 @@ public class AppointmentServiceImpl implements AppointmentService {
             emailMap.put("newScheduledAt", newFormatted);
             emailMap.put("description", description);
             
-            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("APPOINTMENT_RESCHEDULED_EMAIL", emailMap));
+            notificationTransport.publish(new NotificationMessageDTO("APPOINTMENT_RESCHEDULED_EMAIL", emailMap));
         } catch (Exception ignored) {
         }
 
@@ -298,7 +297,7 @@ public class AppointmentServiceImpl implements AppointmentService {
                 pushMap.put("body", "Seu agendamento foi cancelado pelo clube.");
                 pushMap.put("data", data);
                 
-                rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
+                notificationTransport.publish(new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
             }
         } catch (Exception ignored) {
         }
@@ -323,7 +322,7 @@ public class AppointmentServiceImpl implements AppointmentService {
             pushMap.put("body", "Seu agendamento foi cancelado pelo clube.");
             pushMap.put("data", data);
             
-            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
+            notificationTransport.publish(new NotificationMessageDTO("PUSH_MESSAGE", pushMap));
         } catch (Exception ex) {
             // do not break cancel flow on notification errors
         }
@@ -26,9 +26,8 @@ import br.com.clube_quinze.api.security.JwtTokenProvider;
 import br.com.clube_quinze.api.service.appointment.AppointmentScheduleSettings;
 import br.com.clube_quinze.api.service.appointment.RecurringAppointmentScheduler;
 import br.com.clube_quinze.api.service.auth.AuthService;
-import br.com.clube_quinze.api.config.RabbitMQConfig;
 import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import br.com.clube_quinze.api.service.notification.NotificationTransport;
 import java.time.Duration;
 import java.time.Clock;
 import java.time.Instant;
@@ -61,7 +60,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
     private final Clock clock;
-    private final RabbitTemplate rabbitTemplate;
+    private final NotificationTransport notificationTransport;
     private final UserPreferenceRepository userPreferenceRepository;
     private final RecurringAppointmentScheduler recurringAppointmentScheduler;
     private final long resetExpirationMinutes;
@@ -77,7 +76,7 @@ public class AuthServiceImpl implements AuthService {
             JwtTokenProvider jwtTokenProvider,
             JwtProperties jwtProperties,
             Clock clock,
-            RabbitTemplate rabbitTemplate,
+            NotificationTransport notificationTransport,
             UserPreferenceRepository userPreferenceRepository,
             RecurringAppointmentScheduler recurringAppointmentScheduler,
             @Value("${app.security.reset.expiration-minutes:30}") long resetExpirationMinutes,
@@ -91,7 +90,7 @@ public class AuthServiceImpl implements AuthService {
         this.jwtTokenProvider = jwtTokenProvider;
         this.jwtProperties = jwtProperties;
         this.clock = clock;
-        this.rabbitTemplate = rabbitTemplate;
+        this.notificationTransport = notificationTransport;
         this.userPreferenceRepository = userPreferenceRepository;
         this.recurringAppointmentScheduler = recurringAppointmentScheduler;
         this.resetExpirationMinutes = resetExpirationMinutes;
@@ -125,14 +124,14 @@ public class AuthServiceImpl implements AuthService {
 
         User savedUser = userRepository.save(user);
 
-        // Envio de boas-vindas com credenciais (assíncrono) via RabbitMQ
+        // Envio de boas-vindas com credenciais (assíncrono) via fila de notificações
         // Não bloqueia o registro se o broker estiver indisponível
         try {
             java.util.Map<String, Object> welcomeData = new java.util.HashMap<>();
             welcomeData.put("email", savedUser.getEmail());
             welcomeData.put("name", savedUser.getName());
             welcomeData.put("rawPassword", request.password());
-            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("WELCOME_EMAIL", welcomeData));
+            notificationTransport.publish(new NotificationMessageDTO("WELCOME_EMAIL", welcomeData));
         } catch (Exception ex) {
             log.warn("Falha ao enfileirar email de boas-vindas para o usuário {}: {}", savedUser.getId(), ex.getMessage());
         }
@@ -233,7 +232,7 @@ public class AuthServiceImpl implements AuthService {
         resetData.put("email", user.getEmail());
         resetData.put("name", user.getName());
         resetData.put("resetLink", resetLink);
-        rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("PASSWORD_RESET_EMAIL", resetData));
+        notificationTransport.publish(new NotificationMessageDTO("PASSWORD_RESET_EMAIL", resetData));
     }
 
     @Override
@@ -0,0 +1,65 @@
+package br.com.clube_quinze.api.service.community;
+
+import br.com.clube_quinze.api.dto.community.AuthorSummary;
+import br.com.clube_quinze.api.repository.UserRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nome e foto dos autores exibidos no feed, para o app não buscar {@code GET /users/{id}} por autor. Fica
+ * fora dos fragmentos do {@link FeedCache}: uma troca de nome/foto vale para todos os posts da pessoa sem
+ * invalidar nenhum. Os ausentes vêm numa única consulta; o TTL curto cobre outras instâncias.
+ */
+@Component
+public class AuthorSummaryCache {
+
+    private record CachedAuthor(AuthorSummary author, long loadedAt) {}
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final ConcurrentMap<Long, CachedAuthor> cache = new ConcurrentHashMap<>();
+
+    public AuthorSummaryCache(UserRepository userRepository,
+                              @Value("${app.community.author-cache.ttl-ms:30000}") long ttlMs,
+                              @Value("${app.community.author-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public Map<Long, AuthorSummary> get(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, AuthorSummary> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            CachedAuthor cached = cache.get(userId);
+            if (cached != null && now - cached.loadedAt() < ttlMs) {
+                result.put(userId, cached.author());
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        if (cache.size() + missing.size() > maxEntries) {
+            cache.clear();
+        }
+        for (AuthorSummary author : userRepository.findAuthorSummaries(missing)) {
+            cache.put(author.id(), new CachedAuthor(author, now));
+            result.put(author.id(), author);
+        }
+        return result;
+    }
+
+    public void evict(Long userId) {
+        cache.remove(userId);
+    }
+}
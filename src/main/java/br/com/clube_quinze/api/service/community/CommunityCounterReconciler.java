@@ -0,0 +1,70 @@
+package br.com.clube_quinze.api.service.community;
+
+import java.util.Collections;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recalcula {@code like_count}/{@code comment_count} de community_posts a partir das tabelas de curtidas e
+ * comentários. Os contadores são mantidos por UPDATE atômico; isto só corrige desvios (escritas fora da
+ * API, falhas parciais). Percorre os posts por faixas de id, cada faixa numa instrução curta.
+ */
+@Component
+public class CommunityCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(CommunityCounterReconciler.class);
+
+    private static final String LIKES = "(select count(*) from community_likes l where l.post_id = p.id)";
+    private static final String COMMENTS = "(select count(*) from community_comments c where c.post_id = p.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedCache feedCache;
+    private final int batchSize;
+
+    public CommunityCounterReconciler(JdbcTemplate jdbcTemplate,
+                                      FeedCache feedCache,
+                                      @Value("${app.community.counters.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.feedCache = feedCache;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.community.counters.reconcile-cron:0 15 4 * * *}")
+    public void reconcile() {
+        try {
+            int corrected = reconcileAll();
+            if (corrected > 0) {
+                log.info("Contadores da comunidade: {} post(s) corrigido(s)", corrected);
+            }
+        } catch (Exception ex) {
+            log.error("Contadores da comunidade: falha na reconciliação: {}", ex.getMessage());
+        }
+    }
+
+    int reconcileAll() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from community_posts", Long.class);
+        if (maxId == null) return 0;
+
+        int corrected = 0;
+        for (long from = 0; from <= maxId; from += batchSize) {
+            List<Long> drifted = jdbcTemplate.queryForList(
+                    "select p.id from community_posts p where p.id > ? and p.id <= ?"
+                            + " and (p.like_count <> " + LIKES + " or p.comment_count <> " + COMMENTS + ")",
+                    Long.class, from, from + batchSize);
+            if (drifted.isEmpty()) continue;
+
+            String inClause = String.join(",", Collections.nCopies(drifted.size(), "?"));
+            corrected += jdbcTemplate.update(
+                    "update community_posts p set like_count = " + LIKES + ", comment_count = " + COMMENTS
+                            + " where p.id in (" + inClause + ")",
+                    drifted.toArray());
+            drifted.forEach(feedCache::evictPost);
+        }
+        return corrected;
+    }
+}
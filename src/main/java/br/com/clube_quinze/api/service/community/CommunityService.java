@@ -5,23 +5,32 @@ import br.com.clube_quinze.api.dto.community.CommentResponse;
 import br.com.clube_quinze.api.dto.community.LikeResponse;
 import br.com.clube_quinze.api.dto.community.PostRequest;
 import br.com.clube_quinze.api.dto.community.PostResponse;
+import br.com.clube_quinze.api.dto.common.CursorPage;
 import br.com.clube_quinze.api.dto.common.PageResponse;
 
 public interface CommunityService {
 
-    PageResponse<PostResponse> getFeed(int page, int size, Long authorId);
+    PageResponse<PostResponse> getFeed(int page, int size, Long authorId, Long viewerId);
 
-    PostResponse getPost(Long postId);
+    PageResponse<PostResponse> getTrendingFeed(int page, int size, Long viewerId);
+
+    CursorPage<PostResponse> scrollFeed(String cursor, int size, Long authorId, Long viewerId);
+
+    CursorPage<PostResponse> search(String query, String cursor, int size, Long viewerId);
+
+    PostResponse getPost(Long postId, Long viewerId);
 
     PostResponse createPost(Long authorId, PostRequest request);
 
     void deletePost(Long postId, Long actorId, boolean privileged);
 
+    CursorPage<CommentResponse> listComments(Long postId, String cursor, int size);
+
     CommentResponse addComment(Long postId, Long authorId, CommentRequest request);
 
     void deleteComment(Long postId, Long commentId, Long actorId, boolean privileged);
 
     LikeResponse likePost(Long postId, Long userId);
 
-    void unlikePost(Long postId, Long userId);
+    LikeResponse unlikePost(Long postId, Long userId);
 }
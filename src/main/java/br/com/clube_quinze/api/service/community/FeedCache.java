@@ -0,0 +1,167 @@
+package br.com.clube_quinze.api.service.community;
+
+import br.com.clube_quinze.api.dto.community.PostResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cache do feed da comunidade em dois níveis:
+ * <ul>
+ *   <li>páginas: só os IDs dos posts (e o total) de cada página/autor, válidas enquanto a versão do feed
+ *       não mudar — a versão só sobe quando um post é criado ou removido;</li>
+ *   <li>fragmentos: o {@link PostResponse} de cada post, invalidado individualmente por curtidas e
+ *       comentários.</li>
+ * </ul>
+ * Uma curtida invalida um post, não o feed inteiro. As invalidações valem após o commit; o TTL
+ * ({@code app.community.feed-cache.ttl-ms}) limita quanto tempo outras instâncias veem dado antigo.
+ * Fragmentos ausentes são lidos numa transação própria, aberta depois de anotada a geração: na transação
+ * do chamador (REPEATABLE READ) o snapshot pode ser anterior a uma invalidação e o fragmento velho voltaria
+ * ao cache.
+ */
+@Component
+public class FeedCache {
+
+    public record PageIds(List<Long> ids, long totalElements) {}
+
+    private record PageEntry(long version, PageIds page, long loadedAt) {}
+
+    private record FragmentEntry(PostResponse post, long loadedAt) {}
+
+    private final ConcurrentMap<String, PageEntry> pages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, FragmentEntry> fragments = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    /** Sobe a cada invalidação de fragmento: carga que começou antes dela não é gravada. */
+    private final AtomicLong fragmentGeneration = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate fragmentRead;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    public FeedCache(MeterRegistry meterRegistry,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${app.community.feed-cache.ttl-ms:60000}") long ttlMs,
+                     @Value("${app.community.feed-cache.max-entries:5000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.fragmentRead = new TransactionTemplate(transactionManager);
+        this.fragmentRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fragmentRead.setReadOnly(true);
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public PageIds page(String key, Supplier<PageIds> loader) {
+        long now = System.currentTimeMillis();
+        long current = version.get();
+        PageEntry cached = pages.get(key);
+        if (cached != null && cached.version() == current && now - cached.loadedAt() < ttlMs) {
+            count("page", "hit");
+            return cached.page();
+        }
+        count("page", "miss");
+        PageIds loaded = loader.get();
+        if (pages.size() >= maxEntries) {
+            pages.clear();
+        }
+        // Se a versão subiu durante a carga, a entrada já nasce vencida e é recarregada no próximo acesso.
+        pages.put(key, new PageEntry(current, loaded, now));
+        return loaded;
+    }
+
+    /** Fragmentos na ordem de {@code postIds}; os ausentes vêm numa única chamada ao loader. */
+    public List<PostResponse> posts(List<Long> postIds, Function<Collection<Long>, List<PostResponse>> loader) {
+        long now = System.currentTimeMillis();
+        Map<Long, PostResponse> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long postId : postIds) {
+            FragmentEntry cached = fragments.get(postId);
+            if (cached != null && now - cached.loadedAt() < ttlMs) {
+                found.put(postId, cached.post());
+            } else {
+                missing.add(postId);
+            }
+        }
+        if (!found.isEmpty()) count("post", "hit", found.size());
+        if (!missing.isEmpty()) {
+            count("post", "miss", missing.size());
+            // A geração é lida antes de o snapshot da leitura existir; o do chamador pode ser mais antigo.
+            long generation = fragmentGeneration.get();
+            List<PostResponse> loaded = fragmentRead.execute(status -> loader.apply(missing));
+            boolean store = generation == fragmentGeneration.get();
+            if (store && fragments.size() + loaded.size() > maxEntries) {
+                fragments.clear();
+            }
+            for (PostResponse post : loaded) {
+                found.put(post.id(), post);
+                if (store) {
+                    fragments.put(post.id(), new FragmentEntry(post, now));
+                }
+            }
+        }
+
+        List<PostResponse> ordered = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            PostResponse post = found.get(postId);
+            if (post != null) ordered.add(post);
+        }
+        return ordered;
+    }
+
+    /** Curtida, comentário ou edição: só o fragmento do post muda. */
+    public void evictPost(Long postId) {
+        afterCommit(() -> {
+            fragmentGeneration.incrementAndGet();
+            fragments.remove(postId);
+        });
+    }
+
+    /** Post criado ou removido: as listas de IDs de todas as páginas ficam vencidas. */
+    public void invalidatePages() {
+        afterCommit(version::incrementAndGet);
+    }
+
+    /** Remoção de usuário: curtidas e comentários dele somem de posts quaisquer, então tudo é descartado. */
+    public void clear() {
+        afterCommit(() -> {
+            version.incrementAndGet();
+            fragmentGeneration.incrementAndGet();
+            fragments.clear();
+        });
+    }
+
+    private void count(String level, String result) {
+        count(level, result, 1);
+    }
+
+    private void count(String level, String result, long amount) {
+        meterRegistry.counter("community.feed.cache", "level", level, "result", result).increment(amount);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package br.com.clube_quinze.api.service.community;
+
+import br.com.clube_quinze.api.repository.CommunityPostRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ranking "em alta" da comunidade, mantido a cada interação para {@code GET /posts?sort=trending} ser
+ * só uma leitura do topo, sem agregar curtidas e comentários.
+ *
+ * <p>Cada evento (publicação, curtida, comentário) soma um peso que cai pela metade a cada
+ * {@code half-life-hours}. Como o decaimento é o mesmo para todos, o ranking é guardado como
+ * {@code ln(Σ peso · 2^((t - época) / meia-vida))}: nada precisa ser reescrito com o passar do tempo e o
+ * valor não estoura. Descurtir ou apagar comentário desconta o peso datado do instante da curtida ou do
+ * comentário, ou seja, exatamente o que ele ainda vale hoje. Se o desconto passar do score (só acontece
+ * com posts da carga inicial, cujas interações foram datadas da publicação), o score fica como está.
+ *
+ * <p>Fica em memória ou, com {@code app.community.trending.redis-enabled}, num sorted set do Redis
+ * compartilhado entre instâncias. No start, posts dos últimos {@code seed-days} entram com os contadores
+ * atuais datados da publicação. Acima de {@code max-entries}, os de menor score saem.
+ */
+@Component
+public class TrendingFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingFeed.class);
+
+    private static final String REDIS_KEY = "community:trending";
+    /** Época fixa: instâncias diferentes precisam chegar ao mesmo score. */
+    private static final long EPOCH_MS = LocalDateTime.of(2025, 1, 1, 0, 0)
+            .atZone(ZoneId.of("UTC")).toInstant().toEpochMilli();
+
+    /** Mesma conta de {@link #combine}, atômica no Redis; depois corta o excesso pelo menor score. */
+    private static final RedisScript<Long> ADD = new DefaultRedisScript<>("""
+            local add = tonumber(ARGV[2])
+            local cur = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if cur then
+                cur = tonumber(cur)
+                if tonumber(ARGV[3]) > 0 then
+                    add = math.max(cur, add) + math.log(1 + math.exp(-math.abs(cur - add)))
+                elseif add < cur then
+                    add = cur + math.log(1 - math.exp(add - cur))
+                else
+                    return 0
+                end
+            elseif tonumber(ARGV[3]) < 0 then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], add, ARGV[1])
+            local excess = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[4])
+            if excess > 0 then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, excess - 1) end
+            return 1
+            """, Long.class);
+
+    private record Entry(Long postId, double score) {}
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+            .thenComparing(Entry::postId, Comparator.reverseOrder());
+
+    private final CommunityPostRepository postRepository;
+    private final StringRedisTemplate redis;
+    private final double postWeight;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double halfLifeMs;
+    private final int maxEntries;
+    private final int seedDays;
+    /** Modo memória: ranking ordenado + score atual de cada post, alterados juntos sob o lock do objeto. */
+    private final NavigableSet<Entry> ranking = new TreeSet<>(ORDER);
+    private final Map<Long, Double> scores = new HashMap<>();
+
+    public TrendingFeed(CommunityPostRepository postRepository,
+                        ObjectProvider<StringRedisTemplate> redisProvider,
+                        @Value("${app.community.trending.redis-enabled:false}") boolean redisEnabled,
+                        @Value("${app.community.trending.post-weight:3}") double postWeight,
+                        @Value("${app.community.trending.like-weight:1}") double likeWeight,
+                        @Value("${app.community.trending.comment-weight:2}") double commentWeight,
+                        @Value("${app.community.trending.half-life-hours:12}") double halfLifeHours,
+                        @Value("${app.community.trending.max-entries:5000}") int maxEntries,
+                        @Value("${app.community.trending.seed-days:7}") int seedDays) {
+        this.postRepository = postRepository;
+        this.postWeight = postWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.halfLifeMs = halfLifeHours * 3_600_000d;
+        this.maxEntries = maxEntries;
+        this.seedDays = seedDays;
+        this.redis = redisEnabled ? redisProvider.getIfAvailable() : null;
+        if (redisEnabled && this.redis == null) {
+            log.warn("Ranking em alta: Redis habilitado mas indisponível; usando ranking em memória");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (redis != null) {
+            try {
+                Long size = redis.opsForZSet().zCard(REDIS_KEY);
+                if (size != null && size > 0) return; // outra instância já montou
+            } catch (Exception ex) {
+                log.warn("Ranking em alta: falha ao consultar o Redis ({}); carga inicial ignorada", ex.getMessage());
+                return;
+            }
+        }
+        List<CommunityPostRepository.TrendingSeed> seeds =
+                postRepository.findTrendingSeeds(LocalDateTime.now().minusDays(seedDays));
+        for (CommunityPostRepository.TrendingSeed seed : seeds) {
+            double weight = postWeight + likeWeight * seed.getLikeCount() + commentWeight * seed.getCommentCount();
+            add(seed.getId(), weight, epochMs(seed.getCreatedAt()));
+        }
+        if (!seeds.isEmpty()) {
+            log.info("Ranking em alta: {} post(s) carregado(s)", seeds.size());
+        }
+    }
+
+    public void postCreated(Long postId) {
+        afterCommit(() -> add(postId, postWeight, System.currentTimeMillis()));
+    }
+
+    public void liked(Long postId) {
+        afterCommit(() -> add(postId, likeWeight, System.currentTimeMillis()));
+    }
+
+    public void unliked(Long postId, LocalDateTime likedAt) {
+        afterCommit(() -> add(postId, -likeWeight, epochMs(likedAt)));
+    }
+
+    public void commented(Long postId) {
+        afterCommit(() -> add(postId, commentWeight, System.currentTimeMillis()));
+    }
+
+    public void commentRemoved(Long postId, LocalDateTime commentedAt) {
+        afterCommit(() -> add(postId, -commentWeight, epochMs(commentedAt)));
+    }
+
+    public void postDeleted(Long postId) {
+        afterCommit(() -> remove(List.of(postId)));
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /** IDs dos {@code limit} posts em alta, do maior score ao menor. */
+    public List<Long> top(int limit) {
+        if (limit <= 0) return List.of();
+        if (redis != null) {
+            try {
+                Set<String> members = redis.opsForZSet().reverseRange(REDIS_KEY, 0, limit - 1L);
+                return members == null ? List.of() : members.stream().map(Long::valueOf).toList();
+            } catch (Exception ex) {
+                log.warn("Ranking em alta: falha ao ler o Redis: {}", ex.getMessage());
+                return List.of();
+            }
+        }
+        synchronized (this) {
+            return ranking.stream().limit(limit).map(Entry::postId).toList();
+        }
+    }
+
+    public int size() {
+        if (redis != null) {
+            try {
+                Long size = redis.opsForZSet().zCard(REDIS_KEY);
+                return size != null ? size.intValue() : 0;
+            } catch (Exception ex) {
+                log.warn("Ranking em alta: falha ao ler o Redis: {}", ex.getMessage());
+                return 0;
+            }
+        }
+        synchronized (this) {
+            return ranking.size();
+        }
+    }
+
+    /** Remove posts que sumiram do banco sem passar por {@link #postDeleted} (ex.: exclusão de usuário). */
+    public void remove(Collection<Long> postIds) {
+        if (postIds.isEmpty()) return;
+        if (redis != null) {
+            try {
+                redis.opsForZSet().remove(REDIS_KEY, postIds.stream().map(String::valueOf).toArray());
+            } catch (Exception ex) {
+                log.warn("Ranking em alta: falha ao remover do Redis: {}", ex.getMessage());
+            }
+            return;
+        }
+        synchronized (this) {
+            for (Long postId : postIds) {
+                Double score = scores.remove(postId);
+                if (score != null) {
+                    ranking.remove(new Entry(postId, score));
+                }
+            }
+        }
+    }
+
+    private void add(Long postId, double weight, long atMs) {
+        double logWeight = Math.log(Math.abs(weight)) + (atMs - EPOCH_MS) / halfLifeMs * Math.log(2);
+        if (redis != null) {
+            try {
+                redis.execute(ADD, List.of(REDIS_KEY), postId.toString(), Double.toString(logWeight),
+                        weight > 0 ? "1" : "-1", Integer.toString(maxEntries));
+            } catch (Exception ex) {
+                // Ranking é aproximado por natureza; não vale derrubar a interação por isso.
+                log.warn("Ranking em alta: falha ao ajustar post {} no Redis: {}", postId, ex.getMessage());
+            }
+            return;
+        }
+        synchronized (this) {
+            Double current = scores.get(postId);
+            Double updated = current == null ? (weight > 0 ? logWeight : null) : combine(current, logWeight, weight > 0);
+            if (updated == null) return;
+            if (current != null) {
+                ranking.remove(new Entry(postId, current));
+            }
+            scores.put(postId, updated);
+            ranking.add(new Entry(postId, updated));
+            while (ranking.size() > maxEntries) {
+                scores.remove(ranking.pollLast().postId());
+            }
+        }
+    }
+
+    /** Soma ou subtrai em escala log; subtrair tudo (ou mais) não altera o score. */
+    private static Double combine(double current, double logWeight, boolean positive) {
+        if (positive) {
+            return Math.max(current, logWeight) + Math.log1p(Math.exp(-Math.abs(current - logWeight)));
+        }
+        return logWeight < current ? current + Math.log1p(-Math.exp(logWeight - current)) : current;
+    }
+
+    private static long epochMs(LocalDateTime at) {
+        return at != null ? at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : System.currentTimeMillis();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
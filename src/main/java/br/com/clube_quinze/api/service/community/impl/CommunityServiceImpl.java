@@ -1,6 +1,8 @@
 package br.com.clube_quinze.api.service.community.impl;
 
+import br.com.clube_quinze.api.dto.common.CursorPage;
 import br.com.clube_quinze.api.dto.common.PageResponse;
+import br.com.clube_quinze.api.dto.community.AuthorSummary;
 import br.com.clube_quinze.api.dto.community.CommentRequest;
 import br.com.clube_quinze.api.dto.community.CommentResponse;
 import br.com.clube_quinze.api.dto.community.LikeResponse;
@@ -12,7 +14,6 @@ import br.com.clube_quinze.api.exception.BusinessException;
 import br.com.clube_quinze.api.exception.ResourceNotFoundException;
 import br.com.clube_quinze.api.exception.UnauthorizedException;
 import br.com.clube_quinze.api.model.community.CommunityComment;
-import br.com.clube_quinze.api.model.community.CommunityLike;
 import br.com.clube_quinze.api.model.community.CommunityPost;
 import br.com.clube_quinze.api.model.community.CommunityPostMedia;
 import br.com.clube_quinze.api.model.user.User;
@@ -20,23 +21,30 @@ import br.com.clube_quinze.api.repository.CommunityCommentRepository;
 import br.com.clube_quinze.api.repository.CommunityLikeRepository;
 import br.com.clube_quinze.api.repository.CommunityPostRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
+import br.com.clube_quinze.api.service.community.AuthorSummaryCache;
 import br.com.clube_quinze.api.service.community.CommunityService;
+import br.com.clube_quinze.api.service.community.FeedCache;
+import br.com.clube_quinze.api.service.community.TrendingFeed;
+import br.com.clube_quinze.api.service.community.search.CommunitySearchIndex;
+import br.com.clube_quinze.api.service.media.MediaStorageService;
+import br.com.clube_quinze.api.util.CursorUtils;
 import br.com.clube_quinze.api.util.PageUtils;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,45 +52,181 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class CommunityServiceImpl implements CommunityService {
 
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+
     private final CommunityPostRepository postRepository;
     private final CommunityCommentRepository commentRepository;
     private final CommunityLikeRepository likeRepository;
     private final UserRepository userRepository;
+    private final FeedCache feedCache;
+    private final MediaStorageService mediaStorageService;
+    private final CommunitySearchIndex searchIndex;
+    private final TrendingFeed trendingFeed;
+    private final AuthorSummaryCache authorSummaryCache;
+    private final int commentPreviewSize;
 
     public CommunityServiceImpl(
             CommunityPostRepository postRepository,
             CommunityCommentRepository commentRepository,
             CommunityLikeRepository likeRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            FeedCache feedCache,
+            MediaStorageService mediaStorageService,
+            CommunitySearchIndex searchIndex,
+            TrendingFeed trendingFeed,
+            AuthorSummaryCache authorSummaryCache,
+            @Value("${app.community.comment-preview-size:3}") int commentPreviewSize) {
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
         this.likeRepository = likeRepository;
         this.userRepository = userRepository;
+        this.feedCache = feedCache;
+        this.mediaStorageService = mediaStorageService;
+        this.searchIndex = searchIndex;
+        this.trendingFeed = trendingFeed;
+        this.authorSummaryCache = authorSummaryCache;
+        this.commentPreviewSize = commentPreviewSize;
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "feed", key = "#page + '-' + #size + '-' + (#authorId != null ? #authorId : 'ALL')")
-    public PageResponse<PostResponse> getFeed(int page, int size, Long authorId) {
-        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<CommunityPost> postPage = authorId == null
-                ? postRepository.findAll(pageable)
-                : postRepository.findByAuthorId(authorId, pageable);
-        List<PostResponse> items = toPostResponses(postPage.getContent());
-        Page<PostResponse> mapped = new PageImpl<>(items, pageable, postPage.getTotalElements());
+    public PageResponse<PostResponse> getFeed(int page, int size, Long authorId, Long viewerId) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        String pageKey = (authorId != null ? authorId : "ALL") + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize();
+        FeedCache.PageIds ids = feedCache.page(pageKey, () -> {
+            Page<Long> idPage = authorId == null
+                    ? postRepository.findIdPage(pageable)
+                    : postRepository.findIdPageByAuthorId(authorId, pageable);
+            return new FeedCache.PageIds(idPage.getContent(), idPage.getTotalElements());
+        });
+        List<PostResponse> items = personalize(feedCache.posts(ids.ids(), this::loadPostResponses), viewerId);
+        Page<PostResponse> mapped = new PageImpl<>(items, pageable, ids.totalElements());
         return PageUtils.toResponse(mapped);
     }
 
+    /**
+     * Feed "em alta": a ordem vem pronta do {@link TrendingFeed} (topo do ranking), o conteúdo dos
+     * fragmentos. Posts que já não existem são tirados do ranking ao serem notados.
+     */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "post", key = "#postId")
-    public PostResponse getPost(Long postId) {
-        CommunityPost post = findPost(postId);
-        return toPostResponse(post);
+    public PageResponse<PostResponse> getTrendingFeed(int page, int size, Long viewerId) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE);
+        // O ranking não passa de max-entries: página além disso só volta vazia (e sem estourar int).
+        int pageNumber = Math.min(Math.max(page, 0), trendingFeed.maxEntries() / pageSize);
+        List<Long> top = trendingFeed.top((pageNumber + 1) * pageSize);
+        List<Long> pageIds = top.subList(Math.min(pageNumber * pageSize, top.size()), top.size());
+
+        List<PostResponse> items = feedCache.posts(pageIds, this::loadPostResponses);
+        if (items.size() < pageIds.size()) {
+            Set<Long> missing = new HashSet<>(pageIds);
+            items.forEach(item -> missing.remove(item.id()));
+            trendingFeed.remove(missing);
+        }
+        Page<PostResponse> mapped = new PageImpl<>(personalize(items, viewerId), PageRequest.of(pageNumber, pageSize),
+                trendingFeed.size());
+        return PageUtils.toResponse(mapped);
+    }
+
+    /**
+     * Feed para rolagem infinita: keyset em (createdAt, id), sem COUNT nem OFFSET. As listas de IDs passam
+     * pelo mesmo cache de páginas (invalidado por criação/remoção de post) e o conteúdo pelos fragmentos.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponse> scrollFeed(String cursor, int size, Long authorId, Long viewerId) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE);
+        CursorUtils.Cursor before = cursor == null || cursor.isBlank() ? null : CursorUtils.decode(cursor);
+        String pageKey = "scroll:" + (authorId != null ? authorId : "ALL") + ":" + pageSize + ":"
+                + (before != null ? cursor : "");
+        FeedCache.PageIds ids = feedCache.page(pageKey, () -> {
+            // Um a mais só para saber se existe próxima página.
+            PageRequest limit = PageRequest.of(0, pageSize + 1);
+            List<Long> found;
+            if (before == null) {
+                found = authorId == null
+                        ? postRepository.findFeedIds(limit)
+                        : postRepository.findFeedIdsByAuthorId(authorId, limit);
+            } else {
+                found = authorId == null
+                        ? postRepository.findFeedIdsBefore(before.timestamp(), before.id(), limit)
+                        : postRepository.findFeedIdsByAuthorIdBefore(authorId, before.timestamp(), before.id(), limit);
+            }
+            return new FeedCache.PageIds(found, found.size());
+        });
+
+        boolean hasMore = ids.ids().size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.ids().subList(0, pageSize) : ids.ids();
+        List<PostResponse> items = personalize(feedCache.posts(pageIds, this::loadPostResponses), viewerId);
+
+        String nextCursor = null;
+        if (hasMore && !items.isEmpty()) {
+            PostResponse last = items.get(items.size() - 1);
+            nextCursor = CursorUtils.encode(last.createdAt(), last.id());
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Busca em título, conteúdo e comentários, ordenada por relevância. O índice devolve só IDs e score;
+     * o conteúdo sai dos mesmos fragmentos do feed. Paginação por keyset em (score, id).
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PostResponse> search(String query, String cursor, int size, Long viewerId) {
+        String normalized = normalizeAndValidateText(query, "Informe o termo de busca");
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE);
+        CursorUtils.ScoreCursor after = cursor == null || cursor.isBlank() ? null : CursorUtils.decodeScore(cursor);
+
+        List<CommunitySearchIndex.Hit> hits = searchIndex.search(normalized, after, pageSize + 1);
+        String nextCursor = null;
+        if (hits.size() > pageSize) {
+            hits = hits.subList(0, pageSize);
+            CommunitySearchIndex.Hit last = hits.get(pageSize - 1);
+            nextCursor = CursorUtils.encodeScore(last.score(), last.postId());
+        }
+        List<Long> postIds = hits.stream().map(CommunitySearchIndex.Hit::postId).toList();
+        return new CursorPage<>(personalize(feedCache.posts(postIds, this::loadPostResponses), viewerId), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PostResponse getPost(Long postId, Long viewerId) {
+        List<PostResponse> found = personalize(feedCache.posts(List.of(postId), this::loadPostResponses), viewerId);
+        if (found.isEmpty()) {
+            throw new ResourceNotFoundException("Post não encontrado");
+        }
+        return found.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> listComments(Long postId, String cursor, int size) {
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post não encontrado");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_COMMENT_PAGE_SIZE);
+        // Um a mais só para saber se existe próxima página (sem COUNT).
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<CommunityComment> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = commentRepository.findThread(postId, limit);
+        } else {
+            CursorUtils.Cursor after = CursorUtils.decode(cursor);
+            rows = commentRepository.findThreadAfter(postId, after.timestamp(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            CommunityComment last = rows.get(pageSize - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(withAuthors(rows.stream().map(this::toCommentResponse).toList()), nextCursor);
     }
 
     @Override
-    @CacheEvict(value = "feed", allEntries = true)
     public PostResponse createPost(Long authorId, PostRequest request) {
         User author = findUser(authorId);
 
@@ -96,27 +240,28 @@ public class CommunityServiceImpl implements CommunityService {
         replaceMedia(post, request.media());
 
         CommunityPost saved = postRepository.save(post);
-        return toPostResponse(saved);
+        feedCache.invalidatePages();
+        searchIndex.postSaved(saved.getId(), authorId, title, content);
+        trendingFeed.postCreated(saved.getId());
+        return personalize(List.of(toPostResponse(saved, List.of())), authorId).get(0);
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "feed", allEntries = true),
-        @CacheEvict(value = "post", key = "#postId")
-    })
     public void deletePost(Long postId, Long actorId, boolean privileged) {
-        CommunityPost post = findPost(postId);
-        if (!privileged && !post.getAuthor().getId().equals(actorId)) {
+        Long authorId = postRepository.findAuthorIdById(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado"));
+        if (!privileged && !authorId.equals(actorId)) {
             throw new UnauthorizedException("Não é permitido remover este post");
         }
-        postRepository.delete(post);
+        // Sem postRepository.delete(post): o orphanRemoval carregaria e apagaria comentário por comentário.
+        postRepository.deleteByIdCascading(postId);
+        feedCache.invalidatePages();
+        feedCache.evictPost(postId);
+        searchIndex.postDeleted(postId);
+        trendingFeed.postDeleted(postId);
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "feed", allEntries = true),
-        @CacheEvict(value = "post", key = "#postId")
-    })
     public CommentResponse addComment(Long postId, Long authorId, CommentRequest request) {
         CommunityPost post = findPost(postId);
         User author = findUser(authorId);
@@ -129,14 +274,14 @@ public class CommunityServiceImpl implements CommunityService {
         comment.setContent(content);
 
         CommunityComment saved = commentRepository.save(comment);
-        return toCommentResponse(saved);
+        postRepository.adjustCommentCount(postId, 1);
+        feedCache.evictPost(postId);
+        searchIndex.commentSaved(saved.getId(), postId, authorId, content);
+        trendingFeed.commented(postId);
+        return withAuthors(List.of(toCommentResponse(saved))).get(0);
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "feed", allEntries = true),
-        @CacheEvict(value = "post", key = "#postId")
-    })
     public void deleteComment(Long postId, Long commentId, Long actorId, boolean privileged) {
         CommunityComment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comentário não encontrado"));
@@ -147,35 +292,37 @@ public class CommunityServiceImpl implements CommunityService {
             throw new UnauthorizedException("Não é permitido remover este comentário");
         }
         commentRepository.delete(comment);
+        postRepository.adjustCommentCount(postId, -1);
+        feedCache.evictPost(postId);
+        searchIndex.commentDeleted(commentId);
+        trendingFeed.commentRemoved(postId, comment.getCreatedAt());
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "feed", allEntries = true),
-        @CacheEvict(value = "post", key = "#postId")
-    })
     public LikeResponse likePost(Long postId, Long userId) {
-        CommunityPost post = findPost(postId);
-        User user = findUser(userId);
-
-        return likeRepository.findByPostIdAndUserId(postId, userId)
-                .map(this::toLikeResponse)
-                .orElseGet(() -> {
-                    CommunityLike like = new CommunityLike();
-                    like.setPost(post);
-                    like.setUser(user);
-                    CommunityLike saved = likeRepository.save(like);
-                    return toLikeResponse(saved);
-                });
+        // Sem carregar entidades: o INSERT IGNORE resolve duplicidade e corrida entre toques.
+        if (likeRepository.insertIfAbsent(postId, userId, LocalDateTime.now()) == 1) {
+            postRepository.adjustLikeCount(postId, 1);
+            feedCache.evictPost(postId);
+            trendingFeed.liked(postId);
+        }
+        return new LikeResponse(postId, userId, true, currentLikeCount(postId));
     }
 
     @Override
-    @Caching(evict = {
-        @CacheEvict(value = "feed", allEntries = true),
-        @CacheEvict(value = "post", key = "#postId")
-    })
-    public void unlikePost(Long postId, Long userId) {
-        likeRepository.findByPostIdAndUserId(postId, userId).ifPresent(likeRepository::delete);
+    public LikeResponse unlikePost(Long postId, Long userId) {
+        Optional<LocalDateTime> likedAt = likeRepository.findCreatedAt(postId, userId);
+        if (likedAt.isPresent() && likeRepository.deleteByPostIdAndUserId(postId, userId) == 1) {
+            postRepository.adjustLikeCount(postId, -1);
+            feedCache.evictPost(postId);
+            trendingFeed.unliked(postId, likedAt.get());
+        }
+        return new LikeResponse(postId, userId, false, currentLikeCount(postId));
+    }
+
+    private long currentLikeCount(Long postId) {
+        return postRepository.findLikeCount(postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post não encontrado"));
     }
 
     private CommunityPost findPost(Long postId) {
@@ -188,12 +335,8 @@ public class CommunityServiceImpl implements CommunityService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
     }
 
-    private PostResponse toPostResponse(CommunityPost post) {
-        List<CommentResponse> comments = commentRepository.findByPostId(post.getId()).stream()
-                .map(this::toCommentResponse)
-                .toList();
-        long likeCount = likeRepository.countByPostId(post.getId());
-        return toPostResponse(post, comments, likeCount);
+    private List<PostResponse> loadPostResponses(Collection<Long> postIds) {
+        return toPostResponses(postRepository.findDetailedByIdIn(postIds));
     }
 
     private List<PostResponse> toPostResponses(List<CommunityPost> posts) {
@@ -206,39 +349,39 @@ public class CommunityServiceImpl implements CommunityService {
                 .toList();
 
         Map<Long, List<CommentResponse>> commentsByPostId = new HashMap<>();
-        for (CommunityComment comment : commentRepository.findByPostIdInOrderByPostIdAndCreatedAt(postIds)) {
+        // Só a prévia: o thread completo vem de listComments; o total está em comment_count.
+        for (CommunityComment comment : commentRepository.findLatestByPostIds(postIds, commentPreviewSize)) {
             commentsByPostId
                     .computeIfAbsent(comment.getPost().getId(), ignored -> new ArrayList<>())
                     .add(toCommentResponse(comment));
         }
 
-        Map<Long, Long> likeCountByPostId = new HashMap<>();
-        for (CommunityLikeRepository.PostLikeCount likeCount : likeRepository.countGroupedByPostIds(postIds)) {
-            likeCountByPostId.put(likeCount.getPostId(), likeCount.getLikeCount());
-        }
-
         List<PostResponse> responses = new ArrayList<>(posts.size());
         for (CommunityPost post : posts) {
             List<CommentResponse> comments = commentsByPostId.getOrDefault(post.getId(), Collections.emptyList());
-            long likeCount = likeCountByPostId.getOrDefault(post.getId(), 0L);
-            responses.add(toPostResponse(post, comments, likeCount));
+            responses.add(toPostResponse(post, comments));
         }
         return responses;
     }
 
-    private PostResponse toPostResponse(CommunityPost post, List<CommentResponse> comments, long likeCount) {
+    private PostResponse toPostResponse(CommunityPost post, List<CommentResponse> comments) {
         List<PostMediaResponse> media = post.getMedia().stream()
-                .map(m -> new PostMediaResponse(m.getId(), m.getPosition(), m.getImageUrl(), m.getImageBase64()))
+                // base64 só para linhas ainda não migradas para arquivo (InlineImageMigrationJob)
+                .map(m -> new PostMediaResponse(m.getId(), m.getPosition(), m.getImageUrl(),
+                        m.getImageUrl() == null ? m.getImageBase64() : null))
                 .toList();
         return new PostResponse(
                 post.getId(),
                 post.getAuthor().getId(),
+                null,
                 post.getTitle(),
                 post.getContent(),
                 media,
                 post.getCreatedAt(),
                 post.getUpdatedAt(),
-                likeCount,
+                post.getLikeCount(),
+                post.getCommentCount(),
+                false,
                 comments);
     }
 
@@ -247,17 +390,68 @@ public class CommunityServiceImpl implements CommunityService {
                 comment.getId(),
                 comment.getPost().getId(),
                 comment.getAuthor().getId(),
+                null,
                 comment.getContent(),
                 comment.getCreatedAt(),
                 comment.getUpdatedAt());
     }
 
-    private LikeResponse toLikeResponse(CommunityLike like) {
-        return new LikeResponse(
-                like.getId(),
-                like.getPost().getId(),
-                like.getUser().getId(),
-                like.getCreatedAt());
+    /**
+     * Os fragmentos do cache são os mesmos para todos: aqui entram o que depende de quem pede
+     * ({@code likedByMe}) e o que muda fora deles (nome e foto dos autores). No máximo uma consulta IN
+     * para cada, pela página inteira.
+     */
+    private List<PostResponse> personalize(List<PostResponse> posts, Long viewerId) {
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        Set<Long> authorIds = new HashSet<>();
+        for (PostResponse post : posts) {
+            authorIds.add(post.authorId());
+            post.comments().forEach(comment -> authorIds.add(comment.authorId()));
+        }
+        Map<Long, AuthorSummary> authors = authorSummaryCache.get(authorIds);
+        Set<Long> liked = viewerId == null
+                ? Set.of()
+                : new HashSet<>(likeRepository.findLikedPostIds(viewerId, posts.stream().map(PostResponse::id).toList()));
+
+        return posts.stream()
+                .map(post -> new PostResponse(
+                        post.id(),
+                        post.authorId(),
+                        authors.get(post.authorId()),
+                        post.title(),
+                        post.content(),
+                        post.media(),
+                        post.createdAt(),
+                        post.updatedAt(),
+                        post.likeCount(),
+                        post.commentCount(),
+                        liked.contains(post.id()),
+                        withAuthors(post.comments(), authors)))
+                .toList();
+    }
+
+    private List<CommentResponse> withAuthors(List<CommentResponse> comments) {
+        if (comments.isEmpty()) {
+            return comments;
+        }
+        Set<Long> authorIds = new HashSet<>();
+        comments.forEach(comment -> authorIds.add(comment.authorId()));
+        return withAuthors(comments, authorSummaryCache.get(authorIds));
+    }
+
+    private static List<CommentResponse> withAuthors(List<CommentResponse> comments, Map<Long, AuthorSummary> authors) {
+        return comments.stream()
+                .map(comment -> new CommentResponse(
+                        comment.id(),
+                        comment.postId(),
+                        comment.authorId(),
+                        authors.get(comment.authorId()),
+                        comment.content(),
+                        comment.createdAt(),
+                        comment.updatedAt()))
+                .toList();
     }
 
     private String normalizeAndValidateText(String value, String errorMessage) {
@@ -317,7 +511,7 @@ public class CommunityServiceImpl implements CommunityService {
             media.setPost(post);
             media.setPosition(position);
             media.setImageUrl(url);
-            media.setImageBase64(base64);
+            media.setImageBase64(url == null ? base64 : null);
             items.add(media);
         }
 
@@ -325,6 +519,14 @@ public class CommunityServiceImpl implements CommunityService {
             throw new BusinessException("Limite máximo de 6 fotos por post");
         }
 
+        // Só depois de validar tudo, para não deixar arquivo órfão de um pedido recusado.
+        for (CommunityPostMedia media : items) {
+            if (media.getImageBase64() != null) {
+                media.setImageUrl(mediaStorageService.storeBase64(media.getImageBase64(), "posts").url());
+                media.setImageBase64(null);
+            }
+        }
+
         items.sort((a, b) -> Integer.compare(a.getPosition(), b.getPosition()));
         post.getMedia().addAll(items);
     }
@@ -0,0 +1,35 @@
+package br.com.clube_quinze.api.service.community.search;
+
+import br.com.clube_quinze.api.util.CursorUtils;
+import java.util.List;
+
+/**
+ * Busca textual em posts e comentários da comunidade. O resultado é por post: um comentário que casa
+ * traz o post dele, e o score do post é o maior entre o próprio texto e seus comentários. Ordem por
+ * {@code (score desc, postId desc)}, paginada por keyset a partir de {@code after}.
+ *
+ * <p>Os avisos de escrita só importam para implementações que mantêm índice próprio; no FULLTEXT o
+ * banco já indexa sozinho.
+ */
+public interface CommunitySearchIndex {
+
+    record Hit(Long postId, double score) {
+    }
+
+    List<Hit> search(String query, CursorUtils.ScoreCursor after, int limit);
+
+    default void postSaved(Long postId, Long authorId, String title, String content) {
+    }
+
+    default void postDeleted(Long postId) {
+    }
+
+    default void commentSaved(Long commentId, Long postId, Long authorId, String content) {
+    }
+
+    default void commentDeleted(Long commentId) {
+    }
+
+    default void userDeleted(Long userId) {
+    }
+}
@@ -0,0 +1,47 @@
+package br.com.clube_quinze.api.service.community.search;
+
+import br.com.clube_quinze.api.util.CursorUtils;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Índices FULLTEXT do MariaDB (V22), em modo de linguagem natural: o próprio MATCH dá a relevância. */
+public class FullTextSearchIndex implements CommunitySearchIndex {
+
+    private static final String HITS = """
+            select post_id, max(score) as score
+            from (
+                select p.id as post_id, match(p.title, p.content) against (?) as score
+                from community_posts p
+                where match(p.title, p.content) against (?)
+                union all
+                select c.post_id, match(c.content) against (?) as score
+                from community_comments c
+                where match(c.content) against (?)
+            ) hits
+            group by post_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FullTextSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Hit> search(String query, CursorUtils.ScoreCursor after, int limit) {
+        List<Object> args = new ArrayList<>(List.of(query, query, query, query));
+        StringBuilder sql = new StringBuilder(HITS);
+        if (after != null) {
+            sql.append("having max(score) < ? or (max(score) = ? and post_id < ?)\n");
+            args.add(after.score());
+            args.add(after.score());
+            args.add(after.id());
+        }
+        sql.append("order by score desc, post_id desc limit ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new Hit(rs.getLong("post_id"), rs.getDouble("score")),
+                args.toArray());
+    }
+}
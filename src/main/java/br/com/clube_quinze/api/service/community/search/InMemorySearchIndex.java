@@ -0,0 +1,234 @@
+package br.com.clube_quinze.api.service.community.search;
+
+import br.com.clube_quinze.api.util.CursorUtils;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Índice invertido em memória, para bancos sem FULLTEXT (H2 nos testes, instalações de um nó só).
+ * Montado a partir do banco no start e mantido pelos avisos de escrita, aplicados após o commit.
+ *
+ * <p>Tokens: minúsculas, sem acento, só letras/dígitos, a partir de 3 caracteres (o mesmo mínimo do
+ * InnoDB). Relevância de um documento: soma de {@code tf · ln(1 + N/df)} dos termos da busca.
+ */
+public class InMemorySearchIndex implements CommunitySearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemorySearchIndex.class);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 3;
+    private static final int REBUILD_BATCH = 500;
+
+    private record Doc(Long postId, Long authorId, Map<String, Integer> terms) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Chave "P:id" para posts e "C:id" para comentários. */
+    private final Map<String, Doc> docs = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> docsByPost = new HashMap<>();
+
+    public InMemorySearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long lastId = 0;
+        int posts = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, author_id, title, content from community_posts where id > ? order by id limit ?",
+                    lastId, REBUILD_BATCH);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                put("P:" + lastId, lastId, ((Number) row.get("author_id")).longValue(),
+                        row.get("title") + " " + row.get("content"));
+            }
+            posts += rows.size();
+            if (rows.size() < REBUILD_BATCH) break;
+        }
+        lastId = 0;
+        int comments = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "select id, post_id, author_id, content from community_comments where id > ? order by id limit ?",
+                    lastId, REBUILD_BATCH);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                put("C:" + lastId, ((Number) row.get("post_id")).longValue(),
+                        ((Number) row.get("author_id")).longValue(), (String) row.get("content"));
+            }
+            comments += rows.size();
+            if (rows.size() < REBUILD_BATCH) break;
+        }
+        log.info("Índice de busca em memória montado: {} post(s), {} comentário(s)", posts, comments);
+    }
+
+    @Override
+    public List<Hit> search(String query, CursorUtils.ScoreCursor after, int limit) {
+        Set<String> queryTerms = new HashSet<>(tokenize(query).keySet());
+        if (queryTerms.isEmpty()) return List.of();
+
+        Map<Long, Double> scoreByPost = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int total = docs.size();
+            Map<String, Double> scoreByDoc = new HashMap<>();
+            for (String term : queryTerms) {
+                Set<String> matching = postings.get(term);
+                if (matching == null) continue;
+                double idf = Math.log(1 + (double) total / matching.size());
+                for (String key : matching) {
+                    scoreByDoc.merge(key, docs.get(key).terms().get(term) * idf, Double::sum);
+                }
+            }
+            scoreByDoc.forEach((key, score) -> scoreByPost.merge(docs.get(key).postId(), score, Math::max));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scoreByPost.entrySet().stream()
+                .map(e -> new Hit(e.getKey(), e.getValue()))
+                .filter(hit -> after == null || hit.score() < after.score()
+                        || (hit.score() == after.score() && hit.postId() < after.id()))
+                .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                        .thenComparing(Hit::postId, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void postSaved(Long postId, Long authorId, String title, String content) {
+        afterCommit(() -> put("P:" + postId, postId, authorId, title + " " + content));
+    }
+
+    @Override
+    public void postDeleted(Long postId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<String> keys = docsByPost.get(postId);
+                if (keys != null) {
+                    new ArrayList<>(keys).forEach(this::removeLocked);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void commentSaved(Long commentId, Long postId, Long authorId, String content) {
+        afterCommit(() -> put("C:" + commentId, postId, authorId, content));
+    }
+
+    @Override
+    public void commentDeleted(Long commentId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked("C:" + commentId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /** Remove o que o usuário escreveu e tudo dos posts dele, como o ON DELETE CASCADE no banco. */
+    @Override
+    public void userDeleted(Long userId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<Long> ownPosts = new HashSet<>();
+                List<String> keys = new ArrayList<>();
+                docs.forEach((key, doc) -> {
+                    if (userId.equals(doc.authorId())) {
+                        keys.add(key);
+                        if (key.startsWith("P:")) ownPosts.add(doc.postId());
+                    }
+                });
+                for (Long postId : ownPosts) {
+                    keys.addAll(docsByPost.getOrDefault(postId, Set.of()));
+                }
+                keys.forEach(this::removeLocked);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(String key, Long postId, Long authorId, String text) {
+        Doc doc = new Doc(postId, authorId, tokenize(text));
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            docs.put(key, doc);
+            docsByPost.computeIfAbsent(postId, ignored -> new HashSet<>()).add(key);
+            for (String term : doc.terms().keySet()) {
+                postings.computeIfAbsent(term, ignored -> new HashSet<>()).add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) return;
+        for (String term : doc.terms().keySet()) {
+            Set<String> keys = postings.get(term);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        Set<String> postKeys = docsByPost.get(doc.postId());
+        if (postKeys != null && postKeys.remove(key) && postKeys.isEmpty()) {
+            docsByPost.remove(doc.postId());
+        }
+    }
+
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        if (text == null) return terms;
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(normalized)) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                terms.merge(token, 1, Integer::sum);
+            }
+        }
+        return terms;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
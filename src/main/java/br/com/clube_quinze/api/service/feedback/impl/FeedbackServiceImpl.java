@@ -15,9 +15,8 @@ import br.com.clube_quinze.api.repository.AppointmentRepository;
 import br.com.clube_quinze.api.repository.FeedbackRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
 import br.com.clube_quinze.api.service.feedback.FeedbackService;
-import br.com.clube_quinze.api.config.RabbitMQConfig;
 import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import br.com.clube_quinze.api.service.notification.NotificationTransport;
 import br.com.clube_quinze.api.util.PageUtils;
 import java.util.List;
 import org.springframework.data.domain.Page;
@@ -33,17 +32,17 @@ public class FeedbackServiceImpl implements FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final AppointmentRepository appointmentRepository;
     private final UserRepository userRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final NotificationTransport notificationTransport;
 
     public FeedbackServiceImpl(
             FeedbackRepository feedbackRepository,
             AppointmentRepository appointmentRepository,
             UserRepository userRepository,
-            RabbitTemplate rabbitTemplate) {
+            NotificationTransport notificationTransport) {
         this.feedbackRepository = feedbackRepository;
         this.appointmentRepository = appointmentRepository;
         this.userRepository = userRepository;
-        this.rabbitTemplate = rabbitTemplate;
+        this.notificationTransport = notificationTransport;
     }
 
     @Override
@@ -78,7 +77,7 @@ public class FeedbackServiceImpl implements FeedbackService {
             data.put("userId", client.getId());
             data.put("appointmentId", appointment.getId());
             data.put("rating", request.rating());
-            rabbitTemplate.convertAndSend(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.NOTIFICATION_ROUTING_KEY, new NotificationMessageDTO("FEEDBACK_RECEIVED", data));
+            notificationTransport.publish(new NotificationMessageDTO("FEEDBACK_RECEIVED", data));
         } catch (Exception ex) {
             // log silencioso — falha de notificação não impede o feedback
         }
@@ -0,0 +1,159 @@
+package br.com.clube_quinze.api.service.media;
+
+import br.com.clube_quinze.api.dto.media.MediaUploadResponse;
+import br.com.clube_quinze.api.exception.BusinessException;
+import br.com.clube_quinze.api.service.community.FeedCache;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migra as imagens ainda gravadas em base64 (mídia de posts, galeria e foto de perfil) para arquivos do
+ * {@link MediaStorageService}, trocando a coluna base64 pela URL. Roda uma vez após o start, numa thread
+ * própria: percorre cada tabela por id e carrega uma imagem por vez, então a memória não depende do
+ * tamanho da tabela. Linhas com base64 inválido são registradas e mantidas como estão.
+ */
+@Component
+public class InlineImageMigrationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(InlineImageMigrationJob.class);
+
+    private enum Owner { POST, USER }
+
+    private record Target(String table, String urlColumn, String base64Column, String ownerColumn, Owner owner,
+                          String folder) {}
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("community_post_media", "image_url", "image_base64", "post_id", Owner.POST, "posts"),
+            new Target("user_gallery_photos", "image_url", "image_base64", "user_id", Owner.USER, "gallery"),
+            new Target("usuarios", "profile_picture_url", "profile_picture_base64", "id", Owner.USER, "profile"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MediaStorageService mediaStorageService;
+    private final FeedCache feedCache;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMs;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "inline-image-migration");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public InlineImageMigrationJob(JdbcTemplate jdbcTemplate,
+                                   MediaStorageService mediaStorageService,
+                                   FeedCache feedCache,
+                                   CacheManager cacheManager,
+                                   @Value("${app.media.inline-migration.enabled:true}") boolean enabled,
+                                   @Value("${app.media.inline-migration.batch-size:50}") int batchSize,
+                                   @Value("${app.media.inline-migration.pause-ms:100}") long pauseMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mediaStorageService = mediaStorageService;
+        this.feedCache = feedCache;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            worker.submit(this::migrateAll);
+        }
+    }
+
+    void migrateAll() {
+        for (Target target : TARGETS) {
+            try {
+                int migrated = migrate(target);
+                if (migrated > 0) {
+                    log.info("Migração de imagens: {} imagem(ns) de {} movida(s) para arquivo", migrated, target.table());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.error("Migração de imagens: falha em {}: {}", target.table(), ex.getMessage());
+            }
+        }
+    }
+
+    private int migrate(Target target) throws InterruptedException {
+        // Tabela/colunas vêm da lista fixa acima, nunca de entrada externa.
+        String selectIds = "select id from " + target.table() + " where id > ? and " + target.base64Column()
+                + " is not null order by id limit ?";
+        String selectRow = "select " + target.urlColumn() + " as url, " + target.base64Column() + " as b64, "
+                + target.ownerColumn() + " as owner_id from " + target.table() + " where id = ?";
+        String update = "update " + target.table() + " set " + target.urlColumn() + " = ?, " + target.base64Column()
+                + " = null where id = ? and " + target.base64Column() + " is not null";
+
+        int migrated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList(selectIds, Long.class, lastId, batchSize);
+            if (ids.isEmpty()) break;
+
+            for (Long id : ids) {
+                lastId = id;
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(selectRow, id);
+                if (rows.isEmpty()) continue;
+                Map<String, Object> row = rows.get(0);
+                String base64 = (String) row.get("b64");
+                if (base64 == null) continue;
+
+                // Com URL já preenchida, o base64 é só redundância: descarta sem gravar arquivo.
+                String url = (String) row.get("url");
+                MediaUploadResponse stored = null;
+                if (url == null) {
+                    try {
+                        stored = mediaStorageService.storeBase64(base64, target.folder());
+                    } catch (BusinessException ex) {
+                        log.warn("Migração de imagens: {} id {} ignorado ({})", target.table(), id, ex.getMessage());
+                        continue;
+                    }
+                    url = stored.url();
+                }
+                if (jdbcTemplate.update(update, url, id) == 1) {
+                    migrated++;
+                    evict(target.owner(), ((Number) row.get("owner_id")).longValue());
+                } else if (stored != null) {
+                    // A linha mudou ou sumiu entre a leitura e o update: o arquivo ficaria sem referência.
+                    mediaStorageService.delete(stored.path());
+                }
+            }
+
+            if (ids.size() < batchSize) break;
+            Thread.sleep(pauseMs);
+        }
+        return migrated;
+    }
+
+    private void evict(Owner owner, Long ownerId) {
+        if (owner == Owner.POST) {
+            feedCache.evictPost(ownerId);
+            return;
+        }
+        Cache profiles = cacheManager.getCache("userProfile");
+        if (profiles != null) {
+            profiles.evict(ownerId);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -2,24 +2,33 @@ package br.com.clube_quinze.api.service.media;
 
 import br.com.clube_quinze.api.dto.media.MediaUploadResponse;
 import br.com.clube_quinze.api.exception.BusinessException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
 public class MediaStorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(MediaStorageService.class);
+
     private static final List<String> ALLOWED_TYPES = List.of(
             MediaType.IMAGE_JPEG_VALUE,
             MediaType.IMAGE_PNG_VALUE,
@@ -56,9 +65,85 @@ public class MediaStorageService {
             throw new BusinessException("Tipo de arquivo não suportado (apenas JPEG, PNG, WEBP)");
         }
 
+        String extension = resolveExtension(file.getOriginalFilename(), contentType);
+        try (InputStream in = file.getInputStream()) {
+            return write(in, folder, extension, file.getSize(), contentType);
+        } catch (IOException e) {
+            throw new BusinessException("Falha ao salvar arquivo");
+        }
+    }
+
+    /**
+     * Grava uma imagem recebida em base64 (puro ou {@code data:image/...;base64,}) como arquivo, com as
+     * mesmas regras de tipo e tamanho do upload. Imagens não ficam mais no banco nem voltam no JSON.
+     * Dentro de uma transação, o arquivo é apagado se ela sofrer rollback: a URL nunca chega ao banco.
+     */
+    public MediaUploadResponse storeBase64(String base64, String folder) {
+        if (!StringUtils.hasText(base64)) {
+            throw new BusinessException("Imagem base64 vazia");
+        }
+        String payload = base64.trim();
+        int comma = payload.indexOf(',');
+        if (payload.startsWith("data:") && comma > 0) {
+            payload = payload.substring(comma + 1);
+        }
+        // 4 caracteres base64 = 3 bytes: recusa antes de decodificar.
+        if ((long) payload.length() * 3 / 4 > MAX_SIZE_BYTES) {
+            throw new BusinessException("Arquivo excede o limite de 10MB");
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(payload);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Imagem base64 inválida");
+        }
+        String contentType = detectContentType(bytes);
+        if (contentType == null) {
+            throw new BusinessException("Tipo de arquivo não suportado (apenas JPEG, PNG, WEBP)");
+        }
+
+        MediaUploadResponse stored;
+        try {
+            stored = write(new ByteArrayInputStream(bytes), folder, resolveExtension(null, contentType), bytes.length, contentType);
+        } catch (IOException e) {
+            throw new BusinessException("Falha ao salvar arquivo");
+        }
+        deleteOnRollback(stored.path());
+        return stored;
+    }
+
+    /** Remove um arquivo gravado por este serviço que acabou não sendo referenciado. */
+    public void delete(String relativePath) {
+        Path target = rootPath.resolve(relativePath).normalize();
+        if (!target.startsWith(rootPath)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar arquivo órfão {}: {}", target, e.getMessage());
+        }
+    }
+
+    private void deleteOnRollback(String relativePath) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    delete(relativePath);
+                }
+            }
+        });
+    }
+
+    private MediaUploadResponse write(InputStream in, String folder, String extension, long size, String contentType)
+            throws IOException {
         String sanitizedFolder = sanitizeFolder(folder);
         LocalDate now = LocalDate.now();
-        String extension = resolveExtension(file.getOriginalFilename(), contentType);
         String filename = UUID.randomUUID() + extension;
 
         Path relativePath = Paths.get(sanitizedFolder, String.valueOf(now.getYear()), String.format("%02d", now.getMonthValue()), filename);
@@ -67,18 +152,29 @@ public class MediaStorageService {
             throw new BusinessException("Caminho de upload inválido");
         }
 
-        try {
-            Files.createDirectories(target.getParent());
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-        } catch (IOException e) {
-            throw new BusinessException("Falha ao salvar arquivo");
-        }
+        Files.createDirectories(target.getParent());
+        Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
 
         String url = baseUrl.isBlank()
                 ? relativePath.toString().replace("\\", "/")
                 : baseUrl + "/" + relativePath.toString().replace("\\", "/");
 
-        return new MediaUploadResponse(url, relativePath.toString().replace("\\", "/"), file.getSize(), contentType);
+        return new MediaUploadResponse(url, relativePath.toString().replace("\\", "/"), size, contentType);
+    }
+
+    /** Pelo conteúdo, não pelo que o cliente declarou. */
+    private static String detectContentType(byte[] bytes) {
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (bytes.length >= 8 && (bytes[0] & 0xFF) == 0x89 && bytes[1] == 'P' && bytes[2] == 'N' && bytes[3] == 'G') {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (bytes.length >= 12 && bytes[0] == 'R' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == 'F'
+                && bytes[8] == 'W' && bytes[9] == 'E' && bytes[10] == 'B' && bytes[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
     }
 
     private static String sanitizeFolder(String folder) {
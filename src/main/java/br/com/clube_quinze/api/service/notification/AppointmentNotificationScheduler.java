@@ -1,6 +1,5 @@
 package br.com.clube_quinze.api.service.notification;
 
-import br.com.clube_quinze.api.config.RabbitMQConfig;
 import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
 import br.com.clube_quinze.api.model.appointment.Appointment;
 import br.com.clube_quinze.api.model.enumeration.AppointmentStatus;
@@ -10,18 +9,29 @@ import br.com.clube_quinze.api.model.notification.AppointmentReminderLog;
 import br.com.clube_quinze.api.repository.AppointmentReminderLogRepository;
 import br.com.clube_quinze.api.repository.AppointmentRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
+import br.com.clube_quinze.api.service.preference.NotificationPreferenceService;
+import br.com.clube_quinze.api.service.preference.NotificationPreferences;
 import br.com.clube_quinze.api.service.settings.SettingsService;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -33,9 +43,12 @@ public class AppointmentNotificationScheduler {
 
     private final AppointmentRepository appointmentRepository;
     private final AppointmentReminderLogRepository reminderLogRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final NotificationTransport notificationTransport;
     private final UserRepository userRepository;
     private final SettingsService settingsService;
+    private final NotificationPreferenceService notificationPreferenceService;
+    private final ZoneId notificationZone;
+    private final CronExpression digestCron;
 
     // Reminder config: offset in minutes and user-friendly label
     private static final int[][] REMINDER_OFFSETS = {
@@ -52,23 +65,36 @@ public class AppointmentNotificationScheduler {
     // Maior que a janela de 1 min original; combinado com o log de idempotência, nunca duplica.
     private static final int GRACE_MINUTES = 10;
 
+    // Resumo diário substitui o lembrete de 24h de quem optou por ele.
+    private static final int DIGEST_OFFSET_MINUTES = 24 * 60;
+    private static final String DIGEST_LABEL = "amanhã";
+
     public AppointmentNotificationScheduler(
             AppointmentRepository appointmentRepository,
             AppointmentReminderLogRepository reminderLogRepository,
-            RabbitTemplate rabbitTemplate,
+            NotificationTransport notificationTransport,
             UserRepository userRepository,
-            SettingsService settingsService) {
+            SettingsService settingsService,
+            NotificationPreferenceService notificationPreferenceService,
+            @Value("${app.notifications.zone:America/Sao_Paulo}") String notificationZone,
+            @Value("${app.notifications.digest.cron:0 0 19 * * *}") String digestCron) {
         this.appointmentRepository = appointmentRepository;
         this.reminderLogRepository = reminderLogRepository;
-        this.rabbitTemplate = rabbitTemplate;
+        this.notificationTransport = notificationTransport;
         this.userRepository = userRepository;
         this.settingsService = settingsService;
+        this.notificationPreferenceService = notificationPreferenceService;
+        this.notificationZone = ZoneId.of(notificationZone);
+        this.digestCron = CronExpression.parse(digestCron);
     }
 
     // every 1 minute to guarantee 30min window is not missed
     @Scheduled(cron = "0 */1 * * * *")
     public void scanAndSendReminders() {
         LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        // Horário de silêncio é configurado no fuso do usuário (clube opera num fuso só).
+        ZonedDateTime localNow = ZonedDateTime.now(notificationZone);
+        LocalTime localTime = localNow.toLocalTime();
 
         for (int i = 0; i < REMINDER_OFFSETS.length; i++) {
             int offsetMinutes = REMINDER_OFFSETS[i][0];
@@ -85,55 +111,59 @@ public class AppointmentNotificationScheduler {
                     AppointmentStatus.SCHEDULED, apptStart, apptEnd);
             if (appts.isEmpty()) continue;
 
-            int enqueued = 0;
+            // Idempotência: descarta (agendamento, offset, CLIENT) já enfileirados, numa consulta só.
+            Set<Long> alreadySent = reminderLogRepository.findLoggedAppointmentIds(
+                    appts.stream().map(Appointment::getId).toList(), offsetMinutes, "CLIENT");
+            Map<Long, List<Appointment>> pendingByClient = new LinkedHashMap<>();
             for (Appointment a : appts) {
-                // Idempotência: pula se este (agendamento, offset, CLIENT) já foi enfileirado.
-                if (reminderLogRepository.existsByAppointmentIdAndOffsetMinutesAndRecipientType(
-                        a.getId(), offsetMinutes, "CLIENT")) {
-                    continue;
+                if (!alreadySent.contains(a.getId())) {
+                    pendingByClient.computeIfAbsent(a.getClient().getId(), ignored -> new ArrayList<>()).add(a);
                 }
+            }
+            if (pendingByClient.isEmpty()) continue;
 
-                User client = a.getClient();
-                String formattedDate = a.getScheduledAt().format(PT_BR_FORMATTER);
-                String description = a.getNotes() != null ? a.getNotes() : "";
-
-                // 1) Push notification Queue
-                Map<String, Object> pushData = new HashMap<>();
-                pushData.put("userId", client.getId());
-                pushData.put("appointmentId", a.getId());
-                pushData.put("formattedDate", formattedDate);
-                pushData.put("offsetLabel", offsetLabel);
-                pushData.put("offsetMinutes", offsetMinutes);
-                rabbitTemplate.convertAndSend(
-                        RabbitMQConfig.NOTIFICATION_EXCHANGE,
-                        RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
-                        new NotificationMessageDTO("APPOINTMENT_REMINDER_PUSH", pushData)
-                );
-
-                // 2) Email notification Queue
-                Map<String, Object> emailData = new HashMap<>();
-                emailData.put("email", client.getEmail());
-                emailData.put("name", client.getName());
-                emailData.put("scheduledAt", formattedDate);
-                emailData.put("description", description);
-                emailData.put("offsetLabel", offsetLabel);
-                rabbitTemplate.convertAndSend(
-                        RabbitMQConfig.NOTIFICATION_EXCHANGE,
-                        RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
-                        new NotificationMessageDTO("APPOINTMENT_REMINDER_EMAIL", emailData)
-                );
-
-                // Marca como enviado (idempotência). Best-effort: se falhar, não relança.
-                try {
-                    reminderLogRepository.save(new AppointmentReminderLog(a.getId(), offsetMinutes, "CLIENT"));
-                } catch (Exception ex) {
-                    log.warn("Falha ao registrar log de lembrete (appt={}, offset={}): {}",
-                            a.getId(), offsetMinutes, ex.getMessage());
+            // Uma consulta para as preferências dos clientes da janela (o resto vem do cache).
+            Map<Long, NotificationPreferences> prefsByClient =
+                    notificationPreferenceService.getForUsers(pendingByClient.keySet());
+
+            int enqueued = 0;
+            int suppressed = 0;
+            for (Map.Entry<Long, List<Appointment>> entry : pendingByClient.entrySet()) {
+                List<Appointment> pending = entry.getValue();
+                NotificationPreferences prefs = prefsByClient.getOrDefault(entry.getKey(), NotificationPreferences.DEFAULT);
+
+                // No resumo diário, o lembrete de 24h sai na véspera (ver sendDailyDigests) e fica no log.
+                // Se chegou até aqui, o resumo daquele dia ainda vai rodar (espera por ele) ou já rodou antes
+                // do agendamento existir: esse recebe o lembrete de 24h normal.
+                if (prefs.digest() && offsetMinutes == DIGEST_OFFSET_MINUTES) {
+                    pending = pending.stream().filter(a -> digestAlreadyRan(a, localNow)).toList();
+                    if (pending.isEmpty()) continue;
+                }
+
+                // Preferências são aplicadas aqui, antes de montar a mensagem: nada indesejado vai ao broker.
+                boolean sendPush = prefs.wantsReminder(offsetMinutes) && prefs.allowsPushAt(localTime);
+                boolean sendEmail = prefs.wantsReminder(offsetMinutes) && prefs.emailEnabled();
+
+                if (prefs.digest() && pending.size() > 1) {
+                    publishDigest(pending, offsetLabel, offsetMinutes, sendPush, sendEmail);
+                } else {
+                    for (Appointment a : pending) {
+                        publishReminder(a, offsetLabel, offsetMinutes, sendPush, sendEmail);
+                    }
+                }
+
+                // Marca como enviado mesmo se suprimido pelas preferências: o lembrete daquele
+                // offset já foi decidido e não deve sair num tick seguinte.
+                pending.forEach(a -> markSent(a, offsetMinutes));
+                if (sendPush || sendEmail) {
+                    enqueued += pending.size();
+                } else {
+                    suppressed += pending.size();
                 }
-                enqueued++;
             }
-            if (enqueued > 0) {
-                log.info("Enfileirados {} lembretes para offset {} min ({})", enqueued, offsetMinutes, offsetLabel);
+            if (enqueued > 0 || suppressed > 0) {
+                log.info("Enfileirados {} lembretes para offset {} min ({}); {} suprimido(s) por preferência",
+                        enqueued, offsetMinutes, offsetLabel, suppressed);
             }
         }
 
@@ -141,6 +171,138 @@ public class AppointmentNotificationScheduler {
         scanAndSendAdminReminders(now);
     }
 
+    /**
+     * Resumo diário para quem optou por ele ({@code notif.digest}): um push e um email por cliente com
+     * todos os atendimentos do dia seguinte, no lugar dos lembretes de 24h individuais. Os demais
+     * offsets continuam valendo, agrupados quando caem na mesma janela. Agendamentos marcados depois do
+     * resumo recebem o lembrete de 24h individual pela varredura de minuto a minuto.
+     */
+    @Scheduled(cron = "${app.notifications.digest.cron:0 0 19 * * *}", zone = "${app.notifications.zone:America/Sao_Paulo}")
+    public void sendDailyDigests() {
+        LocalDate tomorrow = LocalDate.now(notificationZone).plusDays(1);
+        // Horários são gravados em UTC; o "dia seguinte" é o do fuso do clube.
+        LocalDateTime start = tomorrow.atStartOfDay(notificationZone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        LocalDateTime end = tomorrow.plusDays(1).atStartOfDay(notificationZone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+
+        List<Appointment> appts = appointmentRepository.findByStatusAndBetween(AppointmentStatus.SCHEDULED, start, end);
+        if (appts.isEmpty()) return;
+
+        Map<Long, NotificationPreferences> prefsByClient = notificationPreferenceService.getForUsers(
+                appts.stream().map(a -> a.getClient().getId()).distinct().toList());
+        Set<Long> alreadySent = reminderLogRepository.findLoggedAppointmentIds(
+                appts.stream().map(Appointment::getId).toList(), DIGEST_OFFSET_MINUTES, "CLIENT");
+
+        Map<Long, List<Appointment>> pendingByClient = new LinkedHashMap<>();
+        for (Appointment a : appts) {
+            NotificationPreferences prefs = prefsByClient.getOrDefault(a.getClient().getId(), NotificationPreferences.DEFAULT);
+            if (prefs.digest() && !alreadySent.contains(a.getId())) {
+                pendingByClient.computeIfAbsent(a.getClient().getId(), ignored -> new ArrayList<>()).add(a);
+            }
+        }
+
+        LocalTime localTime = LocalTime.now(notificationZone);
+        for (Map.Entry<Long, List<Appointment>> entry : pendingByClient.entrySet()) {
+            List<Appointment> pending = entry.getValue();
+            pending.sort(Comparator.comparing(Appointment::getScheduledAt));
+            NotificationPreferences prefs = prefsByClient.get(entry.getKey());
+            boolean sendPush = prefs.wantsReminder(DIGEST_OFFSET_MINUTES) && prefs.allowsPushAt(localTime);
+            boolean sendEmail = prefs.wantsReminder(DIGEST_OFFSET_MINUTES) && prefs.emailEnabled();
+
+            if (pending.size() > 1) {
+                publishDigest(pending, DIGEST_LABEL, DIGEST_OFFSET_MINUTES, sendPush, sendEmail);
+            } else {
+                publishReminder(pending.get(0), DIGEST_LABEL, DIGEST_OFFSET_MINUTES, sendPush, sendEmail);
+            }
+            pending.forEach(a -> markSent(a, DIGEST_OFFSET_MINUTES));
+        }
+        if (!pendingByClient.isEmpty()) {
+            log.info("Resumo diário enfileirado para {} cliente(s)", pendingByClient.size());
+        }
+    }
+
+    /** O resumo do dia do atendimento (disparado na véspera, pelo cron do resumo) já passou? */
+    private boolean digestAlreadyRan(Appointment a, ZonedDateTime localNow) {
+        LocalDate day = a.getScheduledAt().atZone(ZoneOffset.UTC).withZoneSameInstant(notificationZone).toLocalDate();
+        ZonedDateTime digestRun = digestCron.next(day.minusDays(1).atStartOfDay(notificationZone).minusNanos(1));
+        return digestRun == null || !digestRun.isAfter(localNow);
+    }
+
+    private void publishReminder(Appointment a, String offsetLabel, int offsetMinutes, boolean sendPush, boolean sendEmail) {
+        User client = a.getClient();
+        String formattedDate = a.getScheduledAt().format(PT_BR_FORMATTER);
+        String description = a.getNotes() != null ? a.getNotes() : "";
+
+        // 1) Push notification Queue
+        if (sendPush) {
+            Map<String, Object> pushData = new HashMap<>();
+            pushData.put("userId", client.getId());
+            pushData.put("appointmentId", a.getId());
+            pushData.put("formattedDate", formattedDate);
+            pushData.put("offsetLabel", offsetLabel);
+            pushData.put("offsetMinutes", offsetMinutes);
+            notificationTransport.publish(new NotificationMessageDTO("APPOINTMENT_REMINDER_PUSH", pushData));
+        }
+
+        // 2) Email notification Queue
+        if (sendEmail) {
+            Map<String, Object> emailData = new HashMap<>();
+            emailData.put("email", client.getEmail());
+            emailData.put("name", client.getName());
+            emailData.put("scheduledAt", formattedDate);
+            emailData.put("description", description);
+            emailData.put("offsetLabel", offsetLabel);
+            notificationTransport.publish(new NotificationMessageDTO("APPOINTMENT_REMINDER_EMAIL", emailData));
+        }
+    }
+
+    /** Vários atendimentos do mesmo cliente viram um único push e um único email. */
+    private void publishDigest(List<Appointment> appts, String periodLabel, int offsetMinutes, boolean sendPush, boolean sendEmail) {
+        User client = appts.get(0).getClient();
+        List<Map<String, Object>> items = new ArrayList<>(appts.size());
+        List<Long> appointmentIds = new ArrayList<>(appts.size());
+        for (Appointment a : appts) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("scheduledAt", a.getScheduledAt().format(PT_BR_FORMATTER));
+            item.put("description", a.getNotes() != null ? a.getNotes() : "");
+            items.add(item);
+            appointmentIds.add(a.getId());
+        }
+
+        if (sendPush) {
+            String first = appts.get(0).getScheduledAt().format(PT_BR_FORMATTER);
+            Map<String, Object> pushData = new HashMap<>();
+            pushData.put("userId", client.getId());
+            pushData.put("type", "REMINDER_DIGEST");
+            pushData.put("title", "Lembrete de agendamentos");
+            pushData.put("body", "Você tem " + appts.size() + " agendamentos " + periodLabel + " — o primeiro " + first);
+            Map<String, Object> extra = new HashMap<>();
+            extra.put("kind", "reminder_digest");
+            extra.put("appointmentIds", appointmentIds);
+            extra.put("offsetMinutes", offsetMinutes);
+            pushData.put("data", extra);
+            notificationTransport.publish(new NotificationMessageDTO("PUSH_MESSAGE", pushData));
+        }
+
+        if (sendEmail) {
+            Map<String, Object> emailData = new HashMap<>();
+            emailData.put("email", client.getEmail());
+            emailData.put("name", client.getName());
+            emailData.put("periodLabel", periodLabel);
+            emailData.put("items", items);
+            notificationTransport.publish(new NotificationMessageDTO("APPOINTMENT_DIGEST_EMAIL", emailData));
+        }
+    }
+
+    /** Idempotência best-effort: se falhar, não relança. */
+    private void markSent(Appointment a, int offsetMinutes) {
+        try {
+            reminderLogRepository.save(new AppointmentReminderLog(a.getId(), offsetMinutes, "CLIENT"));
+        } catch (Exception ex) {
+            log.warn("Falha ao registrar log de lembrete (appt={}, offset={}): {}",
+                    a.getId(), offsetMinutes, ex.getMessage());
+        }
+    }
+
     /**
      * Envia lembretes para todos os admins (CLUB_ADMIN) antes de cada atendimento,
      * nos offsets configurados no painel (tabela app_settings). Mesma janela de
@@ -159,6 +321,14 @@ public class AppointmentNotificationScheduler {
         if (admins.isEmpty()) {
             return;
         }
+        // Admins também respeitam push desligado e horário de silêncio.
+        LocalTime localTime = LocalTime.now(notificationZone);
+        Map<Long, NotificationPreferences> prefsByAdmin = notificationPreferenceService.getForUsers(
+                admins.stream().map(User::getId).toList());
+        admins = admins.stream()
+                .filter(admin -> prefsByAdmin.getOrDefault(admin.getId(), NotificationPreferences.DEFAULT)
+                        .allowsPushAt(localTime))
+                .toList();
 
         for (int offsetMinutes : offsets) {
             LocalDateTime apptStart = now.plusMinutes(offsetMinutes - GRACE_MINUTES);
@@ -192,11 +362,7 @@ public class AppointmentNotificationScheduler {
                     extra.put("kind", "admin_reminder");
                     extra.put("appointmentId", a.getId());
                     pushData.put("data", extra);
-                    rabbitTemplate.convertAndSend(
-                            RabbitMQConfig.NOTIFICATION_EXCHANGE,
-                            RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
-                            new NotificationMessageDTO("PUSH_MESSAGE", pushData)
-                    );
+                    notificationTransport.publish(new NotificationMessageDTO("PUSH_MESSAGE", pushData));
                 }
 
                 try {
@@ -0,0 +1,98 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.config.AsyncOverflowHandler;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propaga a pressão do {@code asyncExecutor} para a origem das mensagens. Acima de {@code pause-at} de
+ * ocupação (fila + transbordo), para o listener do Rabbit — as mensagens ficam na fila durável do broker —
+ * e sinaliza o transporte em memória para segurar os workers. Abaixo de {@code resume-at}, retoma.
+ */
+@Component
+public class AsyncBackpressureMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBackpressureMonitor.class);
+
+    private final ThreadPoolTaskExecutor asyncExecutor;
+    private final AsyncOverflowHandler overflowHandler;
+    private final ObjectProvider<RabbitListenerEndpointRegistry> listenerRegistry;
+    private final double pauseAt;
+    private final double resumeAt;
+    private volatile boolean saturated;
+    private boolean pausedListener;
+
+    public AsyncBackpressureMonitor(@Qualifier("asyncExecutor") ThreadPoolTaskExecutor asyncExecutor,
+                                    AsyncOverflowHandler overflowHandler,
+                                    ObjectProvider<RabbitListenerEndpointRegistry> listenerRegistry,
+                                    @Value("${app.async.backpressure.pause-at:0.8}") double pauseAt,
+                                    @Value("${app.async.backpressure.resume-at:0.5}") double resumeAt) {
+        this.asyncExecutor = asyncExecutor;
+        this.overflowHandler = overflowHandler;
+        this.listenerRegistry = listenerRegistry;
+        this.pauseAt = pauseAt;
+        this.resumeAt = resumeAt;
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    @Scheduled(fixedDelayString = "${app.async.backpressure.check-ms:500}")
+    public synchronized void check() {
+        ThreadPoolExecutor pool = asyncExecutor.getThreadPoolExecutor();
+        overflowHandler.drainInto(pool);
+
+        int queued = pool.getQueue().size();
+        int capacity = queued + pool.getQueue().remainingCapacity();
+        double fill = capacity == 0 ? 0 : (queued + overflowHandler.spilledCount()) / (double) capacity;
+
+        if (!saturated && fill >= pauseAt) {
+            saturated = true;
+            log.warn("asyncExecutor saturado ({}% ocupado): pausando consumo de notificações", Math.round(fill * 100));
+            pauseListener();
+        } else if (saturated && fill <= resumeAt) {
+            saturated = false;
+            log.info("asyncExecutor aliviado ({}% ocupado): retomando consumo de notificações", Math.round(fill * 100));
+            resumeListener();
+        }
+    }
+
+    /** Roda antes do shutdown do executor (que é dependência deste bean): nada no transbordo se perde. */
+    @PreDestroy
+    void shutdown() {
+        overflowHandler.runRemaining();
+    }
+
+    private void pauseListener() {
+        MessageListenerContainer container = listenerContainer();
+        if (container != null && container.isRunning()) {
+            container.stop();
+            pausedListener = true;
+        }
+    }
+
+    /** Só religa o que este monitor desligou (em testes o listener nem chega a subir). */
+    private void resumeListener() {
+        MessageListenerContainer container = listenerContainer();
+        if (container != null && pausedListener) {
+            container.start();
+        }
+        pausedListener = false;
+    }
+
+    private MessageListenerContainer listenerContainer() {
+        RabbitListenerEndpointRegistry registry = listenerRegistry.getIfAvailable();
+        return registry != null ? registry.getListenerContainer(RabbitNotificationTransport.LISTENER_ID) : null;
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.clube_quinze.api.service.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * Renderização dos emails: gera o HTML pelo Thymeleaf (templates já parseados e mantidos em cache pelo
+ * próprio engine) e a versão texto numa única varredura do HTML, sem regex.
+ *
+ * <p>O resultado não é cacheado: as variáveis são do destinatário (nome, data, link), então duas
+ * renderizações praticamente nunca coincidem. Métrica: {@code email.render} (tempo, por template).
+ */
+@Component
+public class EmailRenderer {
+
+    public record RenderedEmail(String html, String text) {}
+
+    private final TemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
+
+    public EmailRenderer(TemplateEngine templateEngine, MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** HTML e versão texto, para provedores que enviam as duas partes. */
+    public RenderedEmail render(String template, Map<String, Object> variables) {
+        String html = renderHtml(template, variables);
+        return new RenderedEmail(html, toPlainText(html));
+    }
+
+    /** Só o HTML: quem não envia a parte texto não paga pela conversão. */
+    public String renderHtml(String template, Map<String, Object> variables) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Context context = new Context();
+        context.setVariables(variables);
+        String html = templateEngine.process(template, context);
+        sample.stop(meterRegistry.timer("email.render", "template", template));
+        return html;
+    }
+
+    /** Remove tags, troca {@code &nbsp;} por espaço e colapsa espaços em branco — tudo numa passada. */
+    static String toPlainText(String html) {
+        if (html == null || html.isEmpty()) return "";
+        StringBuilder out = new StringBuilder(html.length() / 2);
+        boolean inTag = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (inTag) {
+                if (c == '>') {
+                    inTag = false;
+                    pendingSpace = true;
+                }
+                continue;
+            }
+            if (c == '<') {
+                inTag = true;
+                continue;
+            }
+            if (c == '&' && html.startsWith("&nbsp;", i)) {
+                pendingSpace = true;
+                i += 5;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && out.length() > 0) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+            out.append(c);
+        }
+        return out.toString();
+    }
+}
@@ -4,17 +4,40 @@ import java.util.List;
 import java.util.Map;
 
 public interface ExpoPushService {
-    record ExpoMessage(String to, String title, String body, Map<String, Object> data) {}
-    record ExpoResult(boolean ok, String status, String message) {}
+
+    /** Mensagem de resultado de quem não tem dry-run: a mensagem não foi enviada. */
+    String DRY_RUN_UNSUPPORTED = "DRY_RUN_UNSUPPORTED";
+
+    /**
+     * Mensagem de push. {@code platform} é o valor de {@code PushToken.platform} ("android", "ios", "expo"...)
+     * e ajuda o roteamento quando o formato do token não basta; pode ser null.
+     */
+    record ExpoMessage(String to, String title, String body, Map<String, Object> data, String platform) {
+        public ExpoMessage(String to, String title, String body, Map<String, Object> data) {
+            this(to, title, body, data, null);
+        }
+    }
+
+    /** Resultado por mensagem. {@code ticketId} só existe para envios pela Expo (recibo consultado depois). */
+    record ExpoResult(boolean ok, String status, String message, String ticketId) {
+        public ExpoResult(boolean ok, String status, String message) {
+            this(ok, status, message, null);
+        }
+    }
 
     List<ExpoResult> sendBatch(List<ExpoMessage> messages);
 
     /**
      * Variante diagnóstica. Quando {@code dryRun} é true, o provedor valida credencial e token
      * sem entregar a notificação ao dispositivo (suportado pelo FCM). Implementações que não
-     * suportam dry-run caem no envio normal.
+     * suportam dry-run não enviam nada: devolvem {@link #DRY_RUN_UNSUPPORTED} por mensagem.
      */
     default List<ExpoResult> sendBatch(List<ExpoMessage> messages, boolean dryRun) {
-        return sendBatch(messages);
+        if (!dryRun) {
+            return sendBatch(messages);
+        }
+        return messages.stream()
+                .map(m -> new ExpoResult(false, "skipped", DRY_RUN_UNSUPPORTED))
+                .toList();
     }
 }
@@ -0,0 +1,118 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.model.notification.PushDelivery;
+import br.com.clube_quinze.api.repository.PushDeliveryRepository;
+import br.com.clube_quinze.api.repository.PushTokenRepository;
+import br.com.clube_quinze.api.service.notification.impl.ExpoPushServiceImpl;
+import br.com.clube_quinze.api.service.notification.impl.ExpoPushServiceImpl.ExpoReceipt;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Confere os recibos (receipts) da Expo Push API. O ticket devolvido no envio só diz que a Expo aceitou
+ * a mensagem; falhas reais de entrega (ex.: DeviceNotRegistered) só aparecem no recibo. Sem isso,
+ * tokens mortos continuam recebendo todos os broadcasts.
+ */
+@Component
+public class ExpoReceiptScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpoReceiptScheduler.class);
+
+    /** A Expo recomenda esperar ~15 min antes de consultar o recibo. */
+    private static final Duration RECEIPT_DELAY = Duration.ofMinutes(15);
+    /** Recibos ficam disponíveis por 24h; depois disso não adianta mais consultar. */
+    private static final Duration RECEIPT_TTL = Duration.ofHours(24);
+    /** Teto de consultas por execução, para um backlog grande não monopolizar o scheduler. */
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final PushDeliveryRepository deliveryRepository;
+    private final PushTokenRepository pushTokenRepository;
+    private final ExpoPushServiceImpl expoPushService;
+
+    public ExpoReceiptScheduler(PushDeliveryRepository deliveryRepository,
+                                PushTokenRepository pushTokenRepository,
+                                ExpoPushServiceImpl expoPushService) {
+        this.deliveryRepository = deliveryRepository;
+        this.pushTokenRepository = pushTokenRepository;
+        this.expoPushService = expoPushService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.push.expo.receipts-poll-ms:600000}", initialDelay = 60_000)
+    public void pollReceipts() {
+        Instant now = Instant.now();
+        int expired = deliveryRepository.expirePendingReceipts(now.minus(RECEIPT_TTL));
+        if (expired > 0) {
+            log.info("Recibos Expo: {} entrega(s) sem recibo após 24h marcadas como unconfirmed", expired);
+        }
+
+        long cursor = 0L;
+        int delivered = 0;
+        int failed = 0;
+        int invalidated = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<PushDelivery> pending = deliveryRepository.findPendingReceipts(
+                    cursor, now.minus(RECEIPT_DELAY), PageRequest.of(0, ExpoPushServiceImpl.MAX_RECEIPT_IDS));
+            if (pending.isEmpty()) break;
+            cursor = pending.get(pending.size() - 1).getId();
+
+            Map<String, PushDelivery> byTicket = new HashMap<>();
+            for (PushDelivery d : pending) {
+                byTicket.put(d.getTicketId(), d);
+            }
+
+            Map<String, ExpoReceipt> receipts;
+            try {
+                receipts = expoPushService.fetchReceipts(new ArrayList<>(byTicket.keySet()));
+            } catch (Exception ex) {
+                // Tenta de novo no próximo ciclo; os tickets continuam "sent".
+                log.warn("Falha ao consultar recibos Expo ({} tickets): {}", byTicket.size(), ex.getMessage());
+                break;
+            }
+
+            List<String> okTickets = new ArrayList<>();
+            Map<String, List<String>> failedTicketsByError = new HashMap<>();
+            Set<Long> deadTokenIds = new HashSet<>();
+            receipts.forEach((ticketId, receipt) -> {
+                if (receipt.ok()) {
+                    okTickets.add(ticketId);
+                    return;
+                }
+                String error = receipt.errorCode() != null ? receipt.errorCode()
+                        : receipt.message() != null ? receipt.message() : "unknown";
+                failedTicketsByError.computeIfAbsent(error, ignored -> new ArrayList<>()).add(ticketId);
+                PushDelivery d = byTicket.get(ticketId);
+                if ("DeviceNotRegistered".equals(receipt.errorCode()) && d != null && d.getTokenId() != null) {
+                    deadTokenIds.add(d.getTokenId());
+                }
+            });
+
+            if (!okTickets.isEmpty()) {
+                delivered += deliveryRepository.updateStatusByTicketIds(okTickets, "delivered", null);
+            }
+            for (Map.Entry<String, List<String>> e : failedTicketsByError.entrySet()) {
+                failed += deliveryRepository.updateStatusByTicketIds(e.getValue(), "failed", e.getKey());
+            }
+            if (!deadTokenIds.isEmpty()) {
+                invalidated += pushTokenRepository.invalidateByIds(deadTokenIds, Instant.now());
+            }
+
+            if (pending.size() < ExpoPushServiceImpl.MAX_RECEIPT_IDS) break;
+        }
+
+        if (delivered + failed + invalidated > 0) {
+            log.info("Recibos Expo: {} entregue(s), {} falha(s), {} token(s) invalidado(s)",
+                    delivered, failed, invalidated);
+        }
+    }
+}
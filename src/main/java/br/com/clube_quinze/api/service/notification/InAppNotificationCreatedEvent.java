@@ -0,0 +1,7 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.dto.common.NotificationResponse;
+
+/** Publicado quando uma notificação in-app é gravada; entregue ao stream SSE após o commit. */
+public record InAppNotificationCreatedEvent(Long userId, NotificationResponse notification) {
+}
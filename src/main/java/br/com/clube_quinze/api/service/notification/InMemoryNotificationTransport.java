@@ -0,0 +1,281 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transporte em processo para instalações de um nó só: fila limitada em memória consumida por
+ * {@code workers} threads, sem broker nem serialização no caminho normal.
+ *
+ * <p>Fila cheia não bloqueia quem publica nem descarta: a mensagem vai para
+ * {@code <spill-dir>/notifications-spill.jsonl} e é reinjetada quando houver espaço. No shutdown, a
+ * fila é drenada até {@code drain-timeout-ms}; o que sobrar vai para o mesmo arquivo e é reprocessado
+ * no próximo start. Enquanto o {@link AsyncBackpressureMonitor} acusar saturação do
+ * {@code asyncExecutor}, os workers param de consumir e a fila/spill absorvem a pressão.
+ *
+ * <p>Mensagens com segredo (senha inicial, link de reset) nunca vão para o disco: sem espaço na fila,
+ * são entregues na própria thread de quem publicou. O arquivo de spill é criado só com leitura e
+ * escrita para o dono (em sistemas POSIX).
+ *
+ * <p>Linhas ilegíveis no replay (por exemplo, cortadas por uma queda no meio da gravação) vão para
+ * {@code notifications-spill.jsonl.rejected} e não impedem a entrega das demais.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.notifications", name = "transport", havingValue = "memory")
+public class InMemoryNotificationTransport implements NotificationTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryNotificationTransport.class);
+    private static final String SPILL_FILE = "notifications-spill.jsonl";
+    /** Campos que não podem ficar em texto claro no disco. */
+    private static final Set<String> SECRET_FIELDS = Set.of("rawPassword", "resetLink");
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIR = PosixFilePermissions.fromString("rwx------");
+
+    private final NotificationConsumer notificationConsumer;
+    private final AsyncBackpressureMonitor backpressureMonitor;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<NotificationMessageDTO> queue;
+    private final int workerCount;
+    private final long drainTimeoutMs;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Path rejectedFile;
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService replayer;
+    private final Object spillLock = new Object();
+    private volatile boolean running = true;
+
+    public InMemoryNotificationTransport(NotificationConsumer notificationConsumer,
+                                         AsyncBackpressureMonitor backpressureMonitor,
+                                         ObjectMapper objectMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.notifications.transport.memory.capacity:1000}") int capacity,
+                                         @Value("${app.notifications.transport.memory.workers:2}") int workerCount,
+                                         @Value("${app.notifications.transport.memory.drain-timeout-ms:10000}") long drainTimeoutMs,
+                                         @Value("${app.notifications.transport.memory.spill-dir:./data/notifications}") String spillDir) {
+        this.notificationConsumer = notificationConsumer;
+        this.backpressureMonitor = backpressureMonitor;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workerCount = workerCount;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.spillFile = Path.of(spillDir).resolve(SPILL_FILE);
+        this.replayFile = Path.of(spillDir).resolve(SPILL_FILE + ".replay");
+        this.rejectedFile = Path.of(spillDir).resolve(SPILL_FILE + ".rejected");
+        this.replayer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notif-spill-replay");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("notifications.transport.queue.size", queue, BlockingQueue::size)
+                .description("Mensagens aguardando na fila em memória")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "notif-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        // Também recupera o que ficou em disco de uma execução anterior.
+        replayer.scheduleWithFixedDelay(this::replaySpill, 0, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void publish(NotificationMessageDTO message) {
+        if (!running || !queue.offer(message)) {
+            overflow(List.of(message));
+        }
+    }
+
+    private void work() {
+        while (running || !queue.isEmpty()) {
+            try {
+                if (running && backpressureMonitor.isSaturated()) {
+                    Thread.sleep(100);
+                    continue;
+                }
+                NotificationMessageDTO message = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    notificationConsumer.consumeMessage(message);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Falha ao processar notificação em memória: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /** Sem espaço na fila: segredos são entregues já, o resto vai para o disco. */
+    private void overflow(List<NotificationMessageDTO> messages) {
+        List<NotificationMessageDTO> toSpill = new ArrayList<>(messages.size());
+        for (NotificationMessageDTO message : messages) {
+            if (hasSecret(message)) {
+                deliverInline(message);
+            } else {
+                toSpill.add(message);
+            }
+        }
+        if (!toSpill.isEmpty()) {
+            spill(toSpill);
+        }
+    }
+
+    private void deliverInline(NotificationMessageDTO message) {
+        try {
+            notificationConsumer.consumeMessage(message);
+        } catch (RuntimeException ex) {
+            log.error("Falha ao entregar notificação {} fora da fila: {}", message.getType(), ex.getMessage());
+        }
+    }
+
+    private static boolean hasSecret(NotificationMessageDTO message) {
+        Map<String, Object> data = message.getData();
+        return data != null && SECRET_FIELDS.stream().anyMatch(data::containsKey);
+    }
+
+    private void spill(List<NotificationMessageDTO> messages) {
+        synchronized (spillLock) {
+            try {
+                List<String> lines = new ArrayList<>(messages.size());
+                for (NotificationMessageDTO message : messages) {
+                    lines.add(objectMapper.writeValueAsString(message));
+                }
+                append(spillFile, lines);
+                log.warn("Fila de notificações cheia/parando: {} mensagem(ns) gravada(s) em disco", messages.size());
+            } catch (IOException ex) {
+                log.error("Falha ao gravar {} notificação(ões) em disco: {}", messages.size(), ex.getMessage());
+            }
+        }
+    }
+
+    private static void append(Path file, List<String> lines) throws IOException {
+        createOwnerOnly(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /** Cria diretório e arquivo acessíveis só ao dono; onde não há POSIX, usa o padrão do sistema. */
+    private static void createOwnerOnly(Path file) throws IOException {
+        boolean posix = file.getFileSystem().supportedFileAttributeViews().contains("posix");
+        Path dir = file.getParent();
+        if (!Files.isDirectory(dir)) {
+            if (posix) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIR));
+            } else {
+                Files.createDirectories(dir);
+            }
+        }
+        if (!Files.exists(file)) {
+            if (posix) {
+                Files.createFile(file, PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE));
+            } else {
+                Files.createFile(file);
+            }
+        }
+    }
+
+    /** Move o arquivo de spill para o lado e reinjeta o que couber; o excedente volta para o spill. */
+    private void replaySpill() {
+        if (!running) return;
+        List<NotificationMessageDTO> pending = new ArrayList<>();
+        List<String> unreadable = new ArrayList<>();
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile) || queue.remainingCapacity() == 0) return;
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) continue;
+                        // Uma linha ruim não pode travar o replay: o arquivo nunca seria apagado e o
+                        // spill seguinte nunca seria movido.
+                        try {
+                            pending.add(objectMapper.readValue(line, NotificationMessageDTO.class));
+                        } catch (IOException ex) {
+                            unreadable.add(line);
+                        }
+                    }
+                }
+                if (!unreadable.isEmpty()) {
+                    append(rejectedFile, unreadable);
+                    log.error("{} linha(s) ilegível(is) no spill de notificações movida(s) para {}",
+                            unreadable.size(), rejectedFile);
+                }
+                Files.delete(replayFile);
+            } catch (IOException ex) {
+                log.error("Falha ao reler notificações do disco: {}", ex.getMessage());
+                return;
+            }
+        }
+
+        List<NotificationMessageDTO> noRoom = new ArrayList<>();
+        for (NotificationMessageDTO message : pending) {
+            if (!queue.offer(message)) {
+                noRoom.add(message);
+            }
+        }
+        if (!noRoom.isEmpty()) {
+            // overflow, não spill: arquivo antigo pode ter segredo gravado antes desta regra.
+            overflow(noRoom);
+        }
+        if (pending.size() > noRoom.size()) {
+            log.info("{} notificação(ões) recuperada(s) do disco", pending.size() - noRoom.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        replayer.shutdownNow();
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        List<NotificationMessageDTO> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            overflow(leftover);
+        }
+        workers.forEach(Thread::interrupt);
+    }
+}
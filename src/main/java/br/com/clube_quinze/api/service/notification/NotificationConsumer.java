@@ -1,11 +1,13 @@
 package br.com.clube_quinze.api.service.notification;
 
-import br.com.clube_quinze.api.config.RabbitMQConfig;
+import br.com.clube_quinze.api.config.AsyncPriority;
+import br.com.clube_quinze.api.dto.notification.AppointmentDigestItem;
 import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,47 +16,63 @@ public class NotificationConsumer {
     private static final Logger log = LoggerFactory.getLogger(NotificationConsumer.class);
 
     private final NotificationService notificationService;
-    private final PushNotificationService pushNotificationService;
+    private final PushCoalescer pushCoalescer;
 
     public NotificationConsumer(NotificationService notificationService,
-                                PushNotificationService pushNotificationService) {
+                                PushCoalescer pushCoalescer) {
         this.notificationService = notificationService;
-        this.pushNotificationService = pushNotificationService;
+        this.pushCoalescer = pushCoalescer;
     }
 
-    @RabbitListener(queues = RabbitMQConfig.NOTIFICATION_QUEUE)
+    /** Chamado pelo {@link NotificationTransport} ativo (listener do Rabbit ou workers em memória). */
     public void consumeMessage(NotificationMessageDTO message) {
-        log.info("Recebido na Fila (RabbitMQ): {}", message.getType());
-        
+        log.info("Recebido na fila de notificações: {}", message.getType());
+
         try {
-            switch (message.getType()) {
-                case "WELCOME_EMAIL":
-                    handleWelcomeEmail(message.getData());
-                    break;
-                case "PASSWORD_RESET_EMAIL":
-                    handlePasswordResetEmail(message.getData());
-                    break;
-                case "FEEDBACK_RECEIVED":
-                    handleFeedbackReceived(message.getData());
-                    break;
-                case "APPOINTMENT_REMINDER_EMAIL":
-                    handleAppointmentReminderEmail(message.getData());
-                    break;
-                case "APPOINTMENT_RESCHEDULED_EMAIL":
-                    handleAppointmentRescheduledEmail(message.getData());
-                    break;
-                case "PUSH_MESSAGE":
-                case "APPOINTMENT_REMINDER_PUSH":
-                    handlePushMessage(message.getData());
-                    break;
-                default:
-                    log.warn("Tipo de notificação desconhecido: {}", message.getType());
-            }
+            AsyncPriority.with(priorityOf(message.getType()), () -> dispatch(message));
         } catch (Exception e) {
             log.error("Erro ao processar notificação {}: {}", message.getType(), e.getMessage());
         }
     }
 
+    /** Com o asyncExecutor saturado e a política {@code shed}, só o que é LOW pode ser descartado. */
+    private static AsyncPriority priorityOf(String type) {
+        return switch (type) {
+            case "WELCOME_EMAIL", "PASSWORD_RESET_EMAIL" -> AsyncPriority.HIGH;
+            case "FEEDBACK_RECEIVED" -> AsyncPriority.LOW;
+            default -> AsyncPriority.NORMAL;
+        };
+    }
+
+    private void dispatch(NotificationMessageDTO message) {
+        switch (message.getType()) {
+            case "WELCOME_EMAIL":
+                handleWelcomeEmail(message.getData());
+                break;
+            case "PASSWORD_RESET_EMAIL":
+                handlePasswordResetEmail(message.getData());
+                break;
+            case "FEEDBACK_RECEIVED":
+                handleFeedbackReceived(message.getData());
+                break;
+            case "APPOINTMENT_REMINDER_EMAIL":
+                handleAppointmentReminderEmail(message.getData());
+                break;
+            case "APPOINTMENT_DIGEST_EMAIL":
+                handleAppointmentDigestEmail(message.getData());
+                break;
+            case "APPOINTMENT_RESCHEDULED_EMAIL":
+                handleAppointmentRescheduledEmail(message.getData());
+                break;
+            case "PUSH_MESSAGE":
+            case "APPOINTMENT_REMINDER_PUSH":
+                handlePushMessage(message.getData());
+                break;
+            default:
+                log.warn("Tipo de notificação desconhecido: {}", message.getType());
+        }
+    }
+
     private void handleWelcomeEmail(Map<String, Object> data) {
         notificationService.notifyWelcome(
                 getString(data, "email"),
@@ -89,6 +107,24 @@ public class NotificationConsumer {
         );
     }
 
+    @SuppressWarnings("unchecked")
+    private void handleAppointmentDigestEmail(Map<String, Object> data) {
+        List<AppointmentDigestItem> items = new ArrayList<>();
+        Object raw = data.get("items");
+        if (raw instanceof List<?> list) {
+            for (Object entry : list) {
+                Map<String, Object> item = (Map<String, Object>) entry;
+                items.add(new AppointmentDigestItem(getString(item, "scheduledAt"), getString(item, "description")));
+            }
+        }
+        notificationService.notifyAppointmentDigest(
+                getString(data, "email"),
+                getString(data, "name"),
+                getString(data, "periodLabel"),
+                items
+        );
+    }
+
     private void handleAppointmentRescheduledEmail(Map<String, Object> data) {
         notificationService.notifyAppointmentRescheduled(
                 getString(data, "email"),
@@ -128,7 +164,7 @@ public class NotificationConsumer {
             }
         }
 
-        pushNotificationService.sendToUser(userId, type, title, body, extraData);
+        pushCoalescer.submit(userId, type, title, body, extraData);
     }
 
     private String getString(Map<String, Object> data, String key) {
@@ -1,5 +1,8 @@
 package br.com.clube_quinze.api.service.notification;
 
+import br.com.clube_quinze.api.dto.notification.AppointmentDigestItem;
+import java.util.List;
+
 public interface NotificationService {
     void notifyFeedbackReceived(Long userId, Long appointmentId, Integer rating);
 
@@ -10,4 +13,6 @@ public interface NotificationService {
     void notifyAppointmentReminder(String email, String name, String scheduledAt, String description, String offsetLabel);
 
     void notifyAppointmentRescheduled(String email, String name, String oldScheduledAt, String newScheduledAt, String description);
+
+    void notifyAppointmentDigest(String email, String name, String periodLabel, List<AppointmentDigestItem> items);
 }
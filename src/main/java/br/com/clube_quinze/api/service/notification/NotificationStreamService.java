@@ -0,0 +1,184 @@
+package br.com.clube_quinze.api.service.notification;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream SSE de notificações ({@code GET /api/v1/notifications/stream}). Envia ao app as notificações
+ * in-app recém-gravadas (evento {@code notification}) e o novo total de não-lidas ({@code unread-count}),
+ * substituindo o polling de {@code /notifications} e {@code /unread-count}.
+ *
+ * <p>As conexões ficam em modo assíncrono do servlet (nenhuma thread do Tomcat presa por cliente ocioso).
+ * Com {@code app.notifications.stream.redis-enabled}, os eventos passam por um canal pub/sub do Redis
+ * e cada instância entrega às conexões que ela mesma mantém.
+ */
+@Component
+public class NotificationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    private static final String CHANNEL = "notif:stream";
+    /** Abas/dispositivos simultâneos por usuário; acima disso a conexão mais antiga é encerrada. */
+    private static final int MAX_CONNECTIONS_PER_USER = 5;
+
+    private final ConcurrentMap<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final UnreadNotificationCounter unreadCounter;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public NotificationStreamService(UnreadNotificationCounter unreadCounter,
+                                     ObjectMapper objectMapper,
+                                     ObjectProvider<StringRedisTemplate> redisProvider,
+                                     @Value("${app.notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                                     @Value("${app.notifications.stream.redis-enabled:false}") boolean redisEnabled) {
+        this.unreadCounter = unreadCounter;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutMs;
+        this.redis = redisEnabled ? redisProvider.getIfAvailable() : null;
+        this.listenerContainer = this.redis != null ? subscribeToRedis(this.redis) : null;
+        if (redisEnabled && this.redis == null) {
+            log.warn("Stream de notificações: Redis habilitado mas indisponível; entregando só nesta instância");
+        }
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> userEmitters = emitters.compute(userId, (id, list) -> {
+            List<SseEmitter> target = list != null ? list : new CopyOnWriteArrayList<>();
+            target.add(emitter);
+            return target;
+        });
+        if (userEmitters.size() > MAX_CONNECTIONS_PER_USER) {
+            SseEmitter oldest = userEmitters.remove(0);
+            oldest.complete();
+        }
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(ex -> remove(userId, emitter));
+
+        // Estado inicial: o app não precisa de um GET /unread-count ao (re)conectar.
+        send(userId, emitter, "unread-count", Map.of("count", unreadCounter.get(userId)));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(InAppNotificationCreatedEvent event) {
+        dispatch(event.userId(), "notification", event.notification());
+    }
+
+    @EventListener
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        // Sem ponte Redis e sem conexão local ninguém receberia; evita recontar à toa.
+        if (redis == null && !emitters.containsKey(event.userId())) return;
+        dispatch(event.userId(), "unread-count", Map.of("count", unreadCounter.get(event.userId())));
+    }
+
+    /** Comentário SSE periódico: mantém proxies/load balancer com a conexão aberta e descarta clientes mortos. */
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException ex) {
+                    remove(userId, emitter);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (listenerContainer != null) {
+            listenerContainer.stop();
+        }
+        // Sem isso o shutdown gracioso esperaria as conexões abertas expirarem.
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    private void dispatch(Long userId, String event, Object payload) {
+        if (redis != null) {
+            try {
+                Map<String, Object> message = new HashMap<>();
+                message.put("userId", userId);
+                message.put("event", event);
+                message.put("payload", payload);
+                redis.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+                return;
+            } catch (Exception ex) {
+                log.warn("Stream de notificações: falha ao publicar no Redis ({}); entregando localmente", ex.getMessage());
+            }
+        }
+        deliverLocal(userId, event, payload);
+    }
+
+    private void deliverLocal(Long userId, String event, Object payload) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) return;
+        for (SseEmitter emitter : userEmitters) {
+            send(userId, emitter, event, payload);
+        }
+    }
+
+    private void send(Long userId, SseEmitter emitter, String event, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(payload));
+        } catch (IOException | IllegalStateException ex) {
+            // Cliente desconectou; o container ainda pode não ter notificado o emitter.
+            remove(userId, emitter);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+
+    private RedisMessageListenerContainer subscribeToRedis(StringRedisTemplate template) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(template.getRequiredConnectionFactory());
+        container.addMessageListener((message, pattern) -> {
+            try {
+                Map<String, Object> body = objectMapper.readValue(
+                        new String(message.getBody(), StandardCharsets.UTF_8), new TypeReference<>() {});
+                Long userId = ((Number) body.get("userId")).longValue();
+                // Só desserializa para repassar; quem não tem conexão do usuário descarta aqui.
+                if (emitters.containsKey(userId)) {
+                    deliverLocal(userId, (String) body.get("event"), body.get("payload"));
+                }
+            } catch (Exception ex) {
+                log.warn("Stream de notificações: mensagem inválida no canal {}: {}", CHANNEL, ex.getMessage());
+            }
+        }, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
+
+/**
+ * Caminho entre quem gera notificações (serviços, schedulers) e o {@link NotificationConsumer}.
+ * Escolhido por {@code app.notifications.transport}: {@code rabbit} (padrão) ou {@code memory}
+ * para instalações de um nó só, sem broker.
+ */
+public interface NotificationTransport {
+
+    void publish(NotificationMessageDTO message);
+}
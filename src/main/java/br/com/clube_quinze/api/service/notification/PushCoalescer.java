@@ -0,0 +1,125 @@
+package br.com.clube_quinze.api.service.notification;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estágio opcional de agrupamento de pushes. Pushes do mesmo tipo ({@code kind}) para o mesmo usuário
+ * dentro da janela configurada viram uma única notificação resumida — ex.: o admin remarcando vários
+ * atendimentos em sequência gera um push (e uma linha em notificacoes) em vez de um por alteração.
+ *
+ * <p>Desabilitado por padrão ({@code app.push.coalesce.enabled}); nesse caso repassa direto.
+ * A janela é curta e em memória: pushes pendentes são enviados no shutdown, mas se perdem num crash.
+ */
+@Component
+public class PushCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(PushCoalescer.class);
+
+    private final PushNotificationService pushNotificationService;
+    private final boolean enabled;
+    private final long windowMs;
+    private final ConcurrentMap<Key, List<PendingPush>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public PushCoalescer(PushNotificationService pushNotificationService,
+                         @Value("${app.push.coalesce.enabled:false}") boolean enabled,
+                         @Value("${app.push.coalesce.window-ms:5000}") long windowMs) {
+        this.pushNotificationService = pushNotificationService;
+        this.enabled = enabled && windowMs > 0;
+        this.windowMs = windowMs;
+        this.scheduler = this.enabled
+                ? Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "push-coalesce");
+                    t.setDaemon(true);
+                    return t;
+                })
+                : null;
+    }
+
+    public void submit(Long userId, String kind, String title, String body, Map<String, Object> data) {
+        if (!enabled || userId == null) {
+            pushNotificationService.sendToUser(userId, kind, title, body, data);
+            return;
+        }
+
+        Key key = new Key(userId, kind);
+        PendingPush push = new PendingPush(title, body, data);
+        boolean[] opened = {false};
+        pending.compute(key, (k, list) -> {
+            if (list == null) {
+                list = new ArrayList<>();
+                opened[0] = true;
+            }
+            list.add(push);
+            return list;
+        });
+        // Só quem abre a janela agenda o flush; os demais apenas se somam a ela.
+        if (opened[0]) {
+            scheduler.schedule(() -> flush(key), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Envia imediatamente tudo que está pendente (shutdown e testes). */
+    @PreDestroy
+    void flushAll() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Key key : List.copyOf(pending.keySet())) {
+            flush(key);
+        }
+    }
+
+    private void flush(Key key) {
+        // remove() é atômico: depois dele nenhum submit alcança esta lista (abre uma janela nova).
+        List<PendingPush> pushes = pending.remove(key);
+        if (pushes == null || pushes.isEmpty()) return;
+        try {
+            if (pushes.size() == 1) {
+                PendingPush p = pushes.get(0);
+                pushNotificationService.sendToUser(key.userId(), key.kind(), p.title(), p.body(), p.data());
+                return;
+            }
+            PendingPush merged = merge(pushes);
+            log.info("Push agrupado: user={} kind={} ({} notificações em {} ms)",
+                    key.userId(), key.kind(), pushes.size(), windowMs);
+            pushNotificationService.sendToUser(key.userId(), key.kind(), merged.title(), merged.body(), merged.data());
+        } catch (Exception ex) {
+            log.error("Falha ao enviar push agrupado user={} kind={}: {}", key.userId(), key.kind(), ex.getMessage());
+        }
+    }
+
+    /** Resume N pushes em um: título comum (ou genérico), corpo do mais recente + contagem, dados do mais recente. */
+    static PendingPush merge(List<PendingPush> pushes) {
+        PendingPush last = pushes.get(pushes.size() - 1);
+        int others = pushes.size() - 1;
+
+        String title = pushes.stream().allMatch(p -> Objects.equals(p.title(), last.title()))
+                ? last.title()
+                : "Você tem novas atualizações";
+        String body = (last.body() != null ? last.body() : "")
+                + " (+" + others + (others == 1 ? " atualização)" : " atualizações)");
+
+        Map<String, Object> data = last.data() != null ? new HashMap<>(last.data()) : new HashMap<>();
+        data.put("coalescedCount", pushes.size());
+        return new PendingPush(title, body, data);
+    }
+
+    private record Key(Long userId, String kind) {}
+
+    record PendingPush(String title, String body, Map<String, Object> data) {}
+}
@@ -0,0 +1,37 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.config.RabbitMQConfig;
+import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** Transporte via RabbitMQ: publica na exchange de notificações e consome da fila durável. */
+@Component
+@ConditionalOnProperty(prefix = "app.notifications", name = "transport", havingValue = "rabbit", matchIfMissing = true)
+public class RabbitNotificationTransport implements NotificationTransport {
+
+    public static final String LISTENER_ID = "notificationListener";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final NotificationConsumer notificationConsumer;
+
+    public RabbitNotificationTransport(RabbitTemplate rabbitTemplate, NotificationConsumer notificationConsumer) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.notificationConsumer = notificationConsumer;
+    }
+
+    @Override
+    public void publish(NotificationMessageDTO message) {
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.NOTIFICATION_EXCHANGE,
+                RabbitMQConfig.NOTIFICATION_ROUTING_KEY,
+                message);
+    }
+
+    @RabbitListener(id = LISTENER_ID, queues = RabbitMQConfig.NOTIFICATION_QUEUE)
+    public void onMessage(NotificationMessageDTO message) {
+        notificationConsumer.consumeMessage(message);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.service.settings.SettingsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limpeza por retenção de notificacoes, push_deliveries e lembrete_agendamento_log, que só crescem.
+ * O TTL de cada tabela vem de app_settings ({@code retention_*_days}).
+ *
+ * <p>Apaga em lotes pequenos pela coluna de data indexada, cada lote na sua própria transação curta
+ * e com pausa entre eles, para não segurar locks. Com {@code app.retention.archive-dir}, cada lote é
+ * gravado antes em {@code <tabela>-<data>.jsonl.gz}; se o arquivamento falhar, a tabela não é apagada.
+ *
+ * <p>Notificações antigas saem mesmo se não lidas; por isso o contador de não-lidas de cada usuário
+ * afetado é invalidado após o lote (recontado no próximo acesso, com nova versão para o ETag).
+ */
+@Component
+public class RetentionPurgeScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RetentionPurgeScheduler.class);
+
+    /** Piso de segurança: o log de lembretes precisa cobrir agendamentos ainda por vir. */
+    private static final int MIN_RETENTION_DAYS = 7;
+
+    /** {@code unreadUserColumn}: só na tabela que alimenta o contador de não-lidas. */
+    private record Target(String table, String timestampColumn, String settingKey, int defaultDays,
+                          String unreadUserColumn) {}
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("notificacoes", "enviada_em", SettingsService.KEY_RETENTION_NOTIFICATIONS_DAYS, 180, "usuario_id"),
+            new Target("push_deliveries", "created_at", SettingsService.KEY_RETENTION_PUSH_DELIVERIES_DAYS, 90, null),
+            new Target("lembrete_agendamento_log", "sent_at", SettingsService.KEY_RETENTION_REMINDER_LOG_DAYS, 60, null));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SettingsService settingsService;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final UnreadNotificationCounter unreadCounter;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxBatchesPerRun;
+    private final Path archiveDir;
+
+    public RetentionPurgeScheduler(JdbcTemplate jdbcTemplate,
+                                   SettingsService settingsService,
+                                   MeterRegistry meterRegistry,
+                                   ObjectMapper objectMapper,
+                                   UnreadNotificationCounter unreadCounter,
+                                   @Value("${app.retention.batch-size:1000}") int batchSize,
+                                   @Value("${app.retention.pause-ms:200}") long pauseMs,
+                                   @Value("${app.retention.max-batches-per-run:500}") int maxBatchesPerRun,
+                                   @Value("${app.retention.archive-dir:}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settingsService = settingsService;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.unreadCounter = unreadCounter;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.archiveDir = archiveDir == null || archiveDir.isBlank() ? null : Path.of(archiveDir);
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}")
+    public void purge() {
+        for (Target target : TARGETS) {
+            try {
+                int purged = purgeTable(target);
+                if (purged > 0) {
+                    log.info("Retenção: {} linha(s) removida(s) de {}", purged, target.table());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                log.error("Retenção: falha ao limpar {}: {}", target.table(), ex.getMessage());
+            }
+        }
+    }
+
+    private int purgeTable(Target target) throws InterruptedException, IOException {
+        int days = settingsService.getRetentionDays(target.settingKey(), target.defaultDays());
+        if (days <= 0) return 0;
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(Math.max(days, MIN_RETENTION_DAYS), ChronoUnit.DAYS));
+
+        // Tabela/coluna vêm da lista fixa acima, nunca de entrada externa.
+        String selectIds = "select id from " + target.table() + " where " + target.timestampColumn()
+                + " < ? order by " + target.timestampColumn() + " limit ?";
+        Counter purgedRows = Counter.builder("retention.purged.rows")
+                .description("Linhas removidas pela limpeza de retenção")
+                .tag("table", target.table())
+                .register(meterRegistry);
+
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Long> ids = jdbcTemplate.queryForList(selectIds, Long.class, cutoff, batchSize);
+            if (ids.isEmpty()) break;
+
+            String inClause = " where id in (" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+            if (archiveDir != null) {
+                archive(target.table(), jdbcTemplate.queryForList("select * from " + target.table() + inClause, ids.toArray()));
+            }
+            List<Long> affectedUsers = target.unreadUserColumn() == null ? List.of()
+                    : jdbcTemplate.queryForList("select distinct " + target.unreadUserColumn() + " from "
+                            + target.table() + inClause, Long.class, ids.toArray());
+            int deleted = jdbcTemplate.update("delete from " + target.table() + inClause, ids.toArray());
+            purgedRows.increment(deleted);
+            total += deleted;
+            affectedUsers.stream().filter(Objects::nonNull).forEach(unreadCounter::invalidate);
+
+            if (ids.size() < batchSize) break;
+            Thread.sleep(pauseMs);
+        }
+        return total;
+    }
+
+    /** Acrescenta o lote ao arquivo do dia; membros gzip concatenados formam um .gz válido. */
+    private void archive(String table, List<Map<String, Object>> rows) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path file = archiveDir.resolve(table + "-" + LocalDate.now() + ".jsonl.gz");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)),
+                StandardCharsets.UTF_8))) {
+            for (Map<String, Object> row : rows) {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.newLine();
+            }
+        }
+    }
+}
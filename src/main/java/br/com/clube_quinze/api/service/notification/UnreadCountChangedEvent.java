@@ -0,0 +1,5 @@
+package br.com.clube_quinze.api.service.notification;
+
+/** Publicado pelo {@link UnreadNotificationCounter} depois que o contador de um usuário muda. */
+public record UnreadCountChangedEvent(Long userId) {
+}
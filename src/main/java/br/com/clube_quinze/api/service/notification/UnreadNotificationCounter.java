@@ -0,0 +1,254 @@
+package br.com.clube_quinze.api.service.notification;
+
+import br.com.clube_quinze.api.repository.NotificationRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Contador de notificações não-lidas por usuário, mantido incrementalmente para o badge do app
+ * ({@code GET /unread-count}) não fazer COUNT em notificacoes a cada polling.
+ *
+ * <p>Só o primeiro acesso de um usuário consulta o banco; depois disso o valor é ajustado por
+ * {@link #increment}, {@link #decrement} e {@link #reset}, aplicados após o commit da transação.
+ * Por padrão vive em memória; com {@code app.notifications.unread-counter.redis-enabled} fica no Redis
+ * (compartilhado entre instâncias). A reconciliação periódica corrige eventuais desvios.
+ *
+ * <p>Também guarda uma versão por usuário, incrementada a cada mudança aplicada aqui: entra no ETag da
+ * listagem, que assim muda mesmo quando o total e a notificação mais recente continuam iguais.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(UnreadNotificationCounter.class);
+
+    private static final String KEY_PREFIX = "notif:unread:";
+    private static final String VERSION_PREFIX = "notif:version:";
+    /** TTL das chaves no Redis: usuários inativos saem do cache e são recontados no próximo acesso. */
+    private static final Duration REDIS_TTL = Duration.ofHours(1);
+    private static final int RECONCILE_CHUNK = 500;
+
+    /** Ajusta só se a chave existir (senão o próximo GET reconta do banco); nunca fica negativo. */
+    private static final RedisScript<Long> ADJUST_IF_PRESENT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end
+            local v = redis.call('INCRBY', KEYS[1], ARGV[1])
+            if v < 0 then v = redis.call('INCRBY', KEYS[1], -v) end
+            return v
+            """, Long.class);
+
+    private final NotificationRepository notificationRepository;
+    private final StringRedisTemplate redis;
+    private final ApplicationEventPublisher eventPublisher;
+    /** Modo memória: valor do contador. Modo Redis: só marca usuários a reconciliar. */
+    private final ConcurrentMap<Long, Long> local = new ConcurrentHashMap<>();
+    /** Modo memória: versão por usuário. */
+    private final ConcurrentMap<Long, Long> versions = new ConcurrentHashMap<>();
+    /** Versão inicial: o relógio do start, para um ETag emitido antes de um restart não voltar a bater. */
+    private final long versionBase = System.currentTimeMillis();
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     ObjectProvider<StringRedisTemplate> redisProvider,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${app.notifications.unread-counter.redis-enabled:false}") boolean redisEnabled) {
+        this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+        this.redis = redisEnabled ? redisProvider.getIfAvailable() : null;
+        if (redisEnabled && this.redis == null) {
+            log.warn("Contador de não-lidas: Redis habilitado mas indisponível; usando cache em memória");
+        }
+    }
+
+    public long get(Long userId) {
+        if (redis != null) {
+            try {
+                local.putIfAbsent(userId, 0L);
+                String cached = redis.opsForValue().get(key(userId));
+                if (cached != null) return Long.parseLong(cached);
+                long count = notificationRepository.countByUserIdAndReadFalse(userId);
+                redis.opsForValue().setIfAbsent(key(userId), Long.toString(count), REDIS_TTL);
+                return count;
+            } catch (Exception ex) {
+                log.warn("Contador de não-lidas: falha no Redis ({}); contando no banco", ex.getMessage());
+                return notificationRepository.countByUserIdAndReadFalse(userId);
+            }
+        }
+        Long cached = local.get(userId);
+        if (cached != null) return cached;
+        long count = notificationRepository.countByUserIdAndReadFalse(userId);
+        Long previous = local.putIfAbsent(userId, count);
+        return previous != null ? previous : count;
+    }
+
+    /** Versão atual das notificações do usuário; muda a cada {@link #increment}, {@link #decrement}, {@link #reset} e {@link #invalidate}. */
+    public long version(Long userId) {
+        if (redis != null) {
+            try {
+                String cached = redis.opsForValue().get(versionKey(userId));
+                if (cached != null) return Long.parseLong(cached);
+                // Chave nova (ou expirada) parte do relógio: não repete uma versão já entregue.
+                String initial = Long.toString(System.currentTimeMillis());
+                redis.opsForValue().setIfAbsent(versionKey(userId), initial, REDIS_TTL);
+                String current = redis.opsForValue().get(versionKey(userId));
+                return Long.parseLong(current != null ? current : initial);
+            } catch (Exception ex) {
+                log.warn("Contador de não-lidas: falha ao ler versão no Redis ({}); usando versão local", ex.getMessage());
+            }
+        }
+        return versions.computeIfAbsent(userId, id -> versionBase);
+    }
+
+    public void increment(Long userId) {
+        afterCommit(() -> {
+            adjust(userId, 1);
+            changed(userId);
+        });
+    }
+
+    public void decrement(Long userId) {
+        afterCommit(() -> {
+            adjust(userId, -1);
+            changed(userId);
+        });
+    }
+
+    /** Todas lidas: o valor exato é zero, não depende do que estava em cache. */
+    public void reset(Long userId) {
+        afterCommit(() -> {
+            set(userId, 0L);
+            changed(userId);
+        });
+    }
+
+    /**
+     * Descarta o valor em cache quando notificações somem fora deste fluxo (expurgo por retenção):
+     * o próximo acesso reconta do banco.
+     */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            if (redis != null) {
+                try {
+                    redis.delete(key(userId));
+                } catch (Exception ex) {
+                    log.warn("Contador de não-lidas: falha ao invalidar user {} no Redis: {}", userId, ex.getMessage());
+                }
+            } else {
+                local.remove(userId);
+            }
+            changed(userId);
+        });
+    }
+
+    /** Recalcula, em lote, os contadores dos usuários em cache e sobrescreve divergências. */
+    @Scheduled(fixedDelayString = "${app.notifications.unread-counter.reconcile-ms:300000}", initialDelay = 120_000)
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(local.keySet());
+        if (userIds.isEmpty()) return;
+
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK, userIds.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            for (NotificationRepository.UserUnreadCount c : notificationRepository.countUnreadGroupedByUserIds(chunk)) {
+                actual.put(c.getUserId(), c.getUnreadCount());
+            }
+            for (Long userId : chunk) {
+                long count = actual.getOrDefault(userId, 0L);
+                if (redis != null) {
+                    set(userId, count);
+                } else if (!Long.valueOf(count).equals(local.put(userId, count))) {
+                    corrected++;
+                    changed(userId);
+                }
+            }
+        }
+        if (redis != null) {
+            // Próxima rodada só reconcilia quem voltou a consultar o badge.
+            local.keySet().removeAll(Set.copyOf(userIds));
+        }
+        if (corrected > 0) {
+            log.info("Contador de não-lidas: {} de {} usuário(s) corrigido(s) na reconciliação", corrected, userIds.size());
+        }
+    }
+
+    private void changed(Long userId) {
+        bumpVersion(userId);
+        eventPublisher.publishEvent(new UnreadCountChangedEvent(userId));
+    }
+
+    /** Só avança versões existentes: sem versão, a próxima leitura cria uma nova a partir do relógio. */
+    private void bumpVersion(Long userId) {
+        if (redis != null) {
+            try {
+                redis.execute(ADJUST_IF_PRESENT, List.of(versionKey(userId)), "1");
+                return;
+            } catch (Exception ex) {
+                log.warn("Contador de não-lidas: falha ao avançar versão do user {} no Redis: {}", userId, ex.getMessage());
+            }
+        }
+        versions.computeIfPresent(userId, (id, v) -> v + 1);
+    }
+
+    private void adjust(Long userId, long delta) {
+        if (redis != null) {
+            try {
+                redis.execute(ADJUST_IF_PRESENT, List.of(key(userId)), Long.toString(delta));
+            } catch (Exception ex) {
+                // A chave expira ou é reconciliada; não vale derrubar o fluxo por isso.
+                log.warn("Contador de não-lidas: falha ao ajustar user {} no Redis: {}", userId, ex.getMessage());
+            }
+            return;
+        }
+        local.computeIfPresent(userId, (id, v) -> Math.max(0L, v + delta));
+    }
+
+    private void set(Long userId, long value) {
+        if (redis != null) {
+            try {
+                redis.opsForValue().set(key(userId), Long.toString(value), REDIS_TTL);
+            } catch (Exception ex) {
+                log.warn("Contador de não-lidas: falha ao gravar user {} no Redis: {}", userId, ex.getMessage());
+            }
+            return;
+        }
+        local.put(userId, value);
+    }
+
+    /** Aplica só depois do commit: um rollback não deixa o contador adiantado. */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String versionKey(Long userId) {
+        return VERSION_PREFIX + userId;
+    }
+}
@@ -1,52 +1,144 @@
 package br.com.clube_quinze.api.service.notification.impl;
 
+import br.com.clube_quinze.api.dto.notification.AppointmentDigestItem;
+import br.com.clube_quinze.api.service.notification.EmailRenderer;
+import br.com.clube_quinze.api.service.notification.EmailRenderer.RenderedEmail;
 import br.com.clube_quinze.api.service.notification.NotificationService;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard.OutboundCallRejectedException;
+import jakarta.annotation.PreDestroy;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
+/**
+ * Envio de emails pela API transacional da Brevo.
+ *
+ * <p>Os emails renderizados ficam num buffer por template e, a cada {@code app.brevo.batch.flush-ms},
+ * cada grupo sai numa única chamada usando {@code messageVersions} (uma versão por destinatário, com
+ * assunto e conteúdo próprios). Uma onda de lembretes vira poucas requisições em vez de uma por email.
+ * Com {@code flush-ms <= 0} o envio é imediato, um a um.
+ *
+ * <p>O buffer comporta no máximo {@code app.brevo.batch.max-buffered} emails. Cheio, quem envia espera
+ * até {@code buffer-wait-ms} por vaga e, sem vaga, envia na própria thread: a pressão chega ao
+ * {@code asyncExecutor} em vez de virar memória. Lote barrado por 429 ou pelo circuito aberto volta
+ * para a fila com espera crescente (ou o {@code Retry-After} da Brevo), até {@code max-retries}
+ * tentativas. Só 400/422 (algum destinatário inválido) faz o reenvio individual.
+ */
 @Service
 @ConditionalOnProperty(prefix = "app.brevo", name = "enabled", havingValue = "true")
 public class BrevoNotificationService implements NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(BrevoNotificationService.class);
-    private static final Pattern HTML_TAG_PATTERN = Pattern.compile("<[^>]+>");
 
-    private final TemplateEngine templateEngine;
+    private final EmailRenderer emailRenderer;
     private final RestTemplate restTemplate;
+    private final OutboundCallGuard outboundCallGuard;
     private final String apiKey;
     private final String baseUrl;
     private final String fromName;
     private final String fromEmail;
+    private final int maxVersionsPerRequest;
+    private final long flushMs;
+    private final long bufferWaitMs;
+    private final int maxRetries;
+    private final ConcurrentMap<String, Queue<OutgoingEmail>> buffer = new ConcurrentHashMap<>();
+    /** Vagas do buffer; só são devolvidas quando o email sai de vez (enviado ou descartado). */
+    private final Semaphore bufferSlots;
+    private final Deque<PendingBatch> retries = new ConcurrentLinkedDeque<>();
+    private final ScheduledExecutorService flusher;
+    private volatile long backoffUntil;
 
-    public BrevoNotificationService(TemplateEngine templateEngine,
+    public BrevoNotificationService(EmailRenderer emailRenderer,
+                                    @Qualifier("outboundHttpClient") HttpClient httpClient,
+                                    OutboundCallGuard outboundCallGuard,
                                     @Value("${app.mail.from-name:Clube Quinze}") String fromName,
                                     @Value("${app.mail.from:no-reply@clubequinzeapp.cloud}") String fromEmail,
                                     @Value("${app.brevo.api-key}") String apiKey,
-                                    @Value("${app.brevo.base-url:https://api.brevo.com}") String baseUrl) {
+                                    @Value("${app.brevo.base-url:https://api.brevo.com}") String baseUrl,
+                                    @Value("${app.brevo.read-timeout-ms:15000}") long readTimeoutMs,
+                                    @Value("${app.brevo.batch.flush-ms:2000}") long flushMs,
+                                    @Value("${app.brevo.batch.max-versions:100}") int maxVersionsPerRequest,
+                                    @Value("${app.brevo.batch.max-buffered:2000}") int maxBuffered,
+                                    @Value("${app.brevo.batch.buffer-wait-ms:30000}") long bufferWaitMs,
+                                    @Value("${app.brevo.batch.max-retries:5}") int maxRetries) {
+        this(emailRenderer, restTemplate(httpClient, readTimeoutMs), outboundCallGuard, fromName, fromEmail, apiKey,
+                baseUrl, flushMs, maxVersionsPerRequest, maxBuffered, bufferWaitMs, maxRetries);
+    }
+
+    BrevoNotificationService(EmailRenderer emailRenderer,
+                             RestTemplate restTemplate,
+                             OutboundCallGuard outboundCallGuard,
+                             String fromName,
+                             String fromEmail,
+                             String apiKey,
+                             String baseUrl,
+                             long flushMs,
+                             int maxVersionsPerRequest,
+                             int maxBuffered,
+                             long bufferWaitMs,
+                             int maxRetries) {
         if (!StringUtils.hasText(apiKey)) {
             throw new IllegalStateException("app.brevo.api-key must be set when Brevo is enabled");
         }
-        this.templateEngine = templateEngine;
+        this.emailRenderer = emailRenderer;
         this.fromName = fromName;
         this.fromEmail = fromEmail;
         this.apiKey = apiKey;
         this.baseUrl = baseUrl;
-        this.restTemplate = new RestTemplate();
+        this.maxVersionsPerRequest = Math.max(1, maxVersionsPerRequest);
+        this.flushMs = flushMs;
+        this.bufferWaitMs = bufferWaitMs;
+        this.maxRetries = maxRetries;
+        this.bufferSlots = new Semaphore(Math.max(this.maxVersionsPerRequest, maxBuffered));
+        this.restTemplate = restTemplate;
+        this.outboundCallGuard = outboundCallGuard;
+        if (flushMs > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "brevo-batch");
+                t.setDaemon(true);
+                return t;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flushAll, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    private static RestTemplate restTemplate(HttpClient httpClient, long readTimeoutMs) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
     }
 
     @Override
@@ -58,80 +150,263 @@ public class BrevoNotificationService implements NotificationService {
     @Override
     @Async("asyncExecutor")
     public void notifyWelcome(String email, String name, String rawPassword) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("email", email);
-        context.setVariable("rawPassword", rawPassword);
-        String html = templateEngine.process("welcome", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("email", email);
+        variables.put("rawPassword", rawPassword);
+        RenderedEmail rendered = emailRenderer.render("welcome", variables);
         String subject = "Bem-vindo ao Clube Quinze";
-        sendEmail(email, name, subject, html);
+        sendEmail("welcome", email, name, subject, rendered);
     }
 
     @Override
     @Async("asyncExecutor")
     public void notifyPasswordReset(String email, String name, String resetLink) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("resetLink", resetLink);
-        String html = templateEngine.process("forgot-password", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("resetLink", resetLink);
+        RenderedEmail rendered = emailRenderer.render("forgot-password", variables);
         String subject = "Recuperacao de senha";
-        sendEmail(email, name, subject, html);
+        sendEmail("forgot-password", email, name, subject, rendered);
     }
 
     @Override
     @Async("asyncExecutor")
     public void notifyAppointmentReminder(String email, String name, String scheduledAt, String description, String offsetLabel) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("scheduledAt", scheduledAt);
-        context.setVariable("description", description);
-        context.setVariable("offsetLabel", offsetLabel);
-        String html = templateEngine.process("appointment-reminder", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("scheduledAt", scheduledAt);
+        variables.put("description", description);
+        variables.put("offsetLabel", offsetLabel);
+        RenderedEmail rendered = emailRenderer.render("appointment-reminder", variables);
         String subject = "Lembrete: você tem um agendamento " + offsetLabel;
-        sendEmail(email, name, subject, html);
+        sendEmail("appointment-reminder", email, name, subject, rendered);
     }
 
     @Override
     @Async("asyncExecutor")
     public void notifyAppointmentRescheduled(String email, String name, String oldScheduledAt, String newScheduledAt, String description) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("oldScheduledAt", oldScheduledAt);
-        context.setVariable("newScheduledAt", newScheduledAt);
-        context.setVariable("description", description);
-        String html = templateEngine.process("appointment-rescheduled", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("oldScheduledAt", oldScheduledAt);
+        variables.put("newScheduledAt", newScheduledAt);
+        variables.put("description", description);
+        RenderedEmail rendered = emailRenderer.render("appointment-rescheduled", variables);
         String subject = "Seu agendamento foi alterado";
-        sendEmail(email, name, subject, html);
+        sendEmail("appointment-rescheduled", email, name, subject, rendered);
     }
 
-    private void sendEmail(String toEmail, String toName, String subject, String html) {
-        String url = baseUrl + "/v3/smtp/email";
-        Map<String, Object> payload = Map.of(
-                "sender", Map.of("name", fromName, "email", fromEmail),
-                "to", List.of(Map.of("name", StringUtils.hasText(toName) ? toName : toEmail, "email", toEmail)),
-                "subject", subject,
-                "htmlContent", html,
-                "textContent", toPlainText(html)
-        );
+    @Override
+    @Async("asyncExecutor")
+    public void notifyAppointmentDigest(String email, String name, String periodLabel, List<AppointmentDigestItem> items) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("periodLabel", periodLabel);
+        variables.put("items", items);
+        RenderedEmail rendered = emailRenderer.render("appointment-digest", variables);
+        String subject = "Lembrete: você tem " + items.size() + " agendamentos " + periodLabel;
+        sendEmail("appointment-digest", email, name, subject, rendered);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("api-key", apiKey);
+    private void sendEmail(String template, String toEmail, String toName, String subject, RenderedEmail rendered) {
+        OutgoingEmail email = new OutgoingEmail(toEmail, toName, subject, rendered.html(), rendered.text());
+        if (flusher == null || flusher.isShutdown() || !reserveSlot()) {
+            sendSingle(email);
+            return;
+        }
+        Queue<OutgoingEmail> queue = buffer.computeIfAbsent(template, ignored -> new ConcurrentLinkedQueue<>());
+        queue.add(email);
+        // Grupo cheio não espera a janela: já dá uma requisição completa.
+        if (queue.size() >= maxVersionsPerRequest) {
+            requestFlush(() -> flush(template));
+        }
+    }
 
+    /** Vaga no buffer; cheio, adianta o flush e espera. Sem vaga no prazo, o chamador envia sozinho. */
+    private boolean reserveSlot() {
+        if (bufferSlots.tryAcquire()) return true;
+        requestFlush(this::flushAll);
         try {
-            restTemplate.postForEntity(url, new HttpEntity<>(payload, headers), String.class);
-            log.info("[async-brevo] enviado para {}", toEmail);
+            return bufferSlots.tryAcquire(bufferWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void requestFlush(Runnable task) {
+        try {
+            flusher.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // Shutdown em andamento: o flush final cuida do que está no buffer.
+        }
+    }
+
+    /** Esvazia o buffer no shutdown; sem isso os emails da última janela se perderiam. */
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            // Última chance: ignora a espera do 429; o que voltar a falhar fica registrado como perdido.
+            backoffUntil = 0;
+            flushAll();
+            int lost = retries.stream().mapToInt(pending -> pending.emails().size()).sum()
+                    + buffer.values().stream().mapToInt(Queue::size).sum();
+            if (lost > 0) {
+                log.error("[async-brevo] {} email(s) não enviado(s) no shutdown: Brevo indisponível", lost);
+            }
+        }
+    }
+
+    void flushAll() {
+        PendingBatch pending;
+        while (!backingOff() && (pending = retries.poll()) != null) {
+            deliver(pending.template(), pending.emails(), pending.attempts());
+        }
+        for (String template : buffer.keySet()) {
+            flush(template);
+        }
+    }
+
+    private void flush(String template) {
+        Queue<OutgoingEmail> queue = buffer.get(template);
+        if (queue == null) return;
+        while (!queue.isEmpty() && !backingOff()) {
+            List<OutgoingEmail> batch = new ArrayList<>(maxVersionsPerRequest);
+            OutgoingEmail next;
+            while (batch.size() < maxVersionsPerRequest && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (!batch.isEmpty()) {
+                deliver(template, batch, 0);
+            }
+        }
+    }
+
+    private boolean backingOff() {
+        return System.currentTimeMillis() < backoffUntil;
+    }
+
+    private void sendSingle(OutgoingEmail email) {
+        try {
+            post(singlePayload(email));
+            log.info("[async-brevo] enviado para {}", email.toEmail());
+        } catch (OutboundCallRejectedException ex) {
+            log.error("[async-brevo] envio para {} recusado: {}", email.toEmail(), ex.getMessage());
+        } catch (RestClientException ex) {
+            log.error("[async-brevo] falha ao enviar para {}: {}", email.toEmail(), ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Envia um grupo do buffer: um email sai sozinho, mais de um numa requisição com N versões. 429 e
+     * circuito aberto devolvem o lote à fila; 400/422 (algum endereço inválido) reenvia um a um para não
+     * perder os demais. Outras falhas são registradas e o lote é descartado, como no envio individual.
+     */
+    private void deliver(String template, List<OutgoingEmail> batch, int attempts) {
+        try {
+            post(batch.size() == 1 ? singlePayload(batch.get(0)) : batchPayload(batch));
+            log.info("[async-brevo] lote '{}' enviado: {} email(s)", template, batch.size());
+        } catch (HttpClientErrorException ex) {
+            if (ex.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                backOff(attempts, retryAfterMs(ex));
+                retryLater(template, batch, attempts, "limite de requisições (429)");
+                return;
+            }
+            if (batch.size() > 1 && (ex.getStatusCode().isSameCodeAs(HttpStatus.BAD_REQUEST)
+                    || ex.getStatusCode().isSameCodeAs(HttpStatus.UNPROCESSABLE_ENTITY))) {
+                log.warn("[async-brevo] lote '{}' rejeitado ({}); reenviando individualmente", template, ex.getStatusCode());
+                batch.forEach(this::sendSingle);
+            } else {
+                log.error("[async-brevo] lote '{}' ({} emails) rejeitado: {}", template, batch.size(), ex.getMessage());
+            }
+        } catch (OutboundCallRejectedException ex) {
+            backOff(attempts, 0);
+            retryLater(template, batch, attempts, ex.getMessage());
+            return;
         } catch (RestClientException ex) {
-            log.error("[async-brevo] falha ao enviar para {}: {}", toEmail, ex.getMessage(), ex);
+            log.error("[async-brevo] falha ao enviar lote '{}' ({} emails): {}", template, batch.size(), ex.getMessage(), ex);
+        }
+        bufferSlots.release(batch.size());
+    }
+
+    private void retryLater(String template, List<OutgoingEmail> batch, int attempts, String reason) {
+        if (attempts >= maxRetries) {
+            log.error("[async-brevo] lote '{}' ({} emails) descartado após {} tentativa(s): {}",
+                    template, batch.size(), attempts + 1, reason);
+            bufferSlots.release(batch.size());
+            return;
+        }
+        log.warn("[async-brevo] lote '{}' ({} emails) adiado: {}", template, batch.size(), reason);
+        retries.addLast(new PendingBatch(template, batch, attempts + 1));
+    }
+
+    /** Pausa todos os envios do buffer: {@code Retry-After} quando vier, senão espera dobrando a cada tentativa. */
+    private void backOff(int attempts, long retryAfterMs) {
+        long delay = retryAfterMs > 0
+                ? retryAfterMs
+                : Math.min(Math.max(flushMs, 1) << Math.min(attempts, 10), 60_000L);
+        backoffUntil = System.currentTimeMillis() + delay;
+    }
+
+    private static long retryAfterMs(HttpClientErrorException ex) {
+        HttpHeaders headers = ex.getResponseHeaders();
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null) return 0;
+        try {
+            return Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException ignored) {
+            return 0;
         }
     }
 
-    private String toPlainText(String html) {
-        if (!StringUtils.hasText(html)) {
-            return "";
+    private Map<String, Object> singlePayload(OutgoingEmail email) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sender", sender());
+        payload.put("to", List.of(recipient(email)));
+        payload.put("subject", email.subject());
+        payload.put("htmlContent", email.html());
+        payload.put("textContent", email.text());
+        return payload;
+    }
+
+    /** O conteúdo de topo é obrigatório na API e é sobrescrito por versão. */
+    private Map<String, Object> batchPayload(List<OutgoingEmail> batch) {
+        OutgoingEmail first = batch.get(0);
+        List<Map<String, Object>> versions = new ArrayList<>(batch.size());
+        for (OutgoingEmail email : batch) {
+            versions.add(Map.of(
+                    "to", List.of(recipient(email)),
+                    "subject", email.subject(),
+                    "htmlContent", email.html(),
+                    "textContent", email.text()));
         }
-        String plain = HTML_TAG_PATTERN.matcher(html).replaceAll(" ");
-        plain = plain.replaceAll("&nbsp;", " ");
-        return plain.replaceAll("\\s+", " ").trim();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("sender", sender());
+        payload.put("subject", first.subject());
+        payload.put("htmlContent", first.html());
+        payload.put("textContent", first.text());
+        payload.put("messageVersions", versions);
+        return payload;
     }
-}
\ No newline at end of file
+
+    private void post(Map<String, Object> payload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("api-key", apiKey);
+        outboundCallGuard.execute(OutboundCallGuard.BREVO, () ->
+                restTemplate.postForEntity(baseUrl + "/v3/smtp/email", new HttpEntity<>(payload, headers), String.class));
+    }
+
+    private Map<String, Object> sender() {
+        return Map.of("name", fromName, "email", fromEmail);
+    }
+
+    private static Map<String, Object> recipient(OutgoingEmail email) {
+        return Map.of("name", StringUtils.hasText(email.toName()) ? email.toName() : email.toEmail(), "email", email.toEmail());
+    }
+
+    private record OutgoingEmail(String toEmail, String toName, String subject, String html, String text) {}
+
+    private record PendingBatch(String template, List<OutgoingEmail> emails, int attempts) {}
+}
@@ -1,8 +1,13 @@
 package br.com.clube_quinze.api.service.notification.impl;
 
+import br.com.clube_quinze.api.dto.notification.AppointmentDigestItem;
+import br.com.clube_quinze.api.service.notification.EmailRenderer;
 import br.com.clube_quinze.api.service.notification.NotificationService;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,8 +17,6 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 @Service
 @ConditionalOnProperty(prefix = "app.brevo", name = "enabled", havingValue = "false", matchIfMissing = true)
@@ -23,14 +26,14 @@ public class EmailNotificationService implements NotificationService {
 
     private final JavaMailSender mailSender;
     private final String from;
-    private final TemplateEngine templateEngine;
+    private final EmailRenderer emailRenderer;
 
     public EmailNotificationService(JavaMailSender mailSender,
                                     @Value("${app.mail.from:no-reply@clubequinzeapp.cloud}") String from,
-                                    TemplateEngine templateEngine) {
+                                    EmailRenderer emailRenderer) {
         this.mailSender = mailSender;
         this.from = from;
-        this.templateEngine = templateEngine;
+        this.emailRenderer = emailRenderer;
     }
 
     @Override
@@ -43,11 +46,11 @@ public class EmailNotificationService implements NotificationService {
     @Override
     @Async("asyncExecutor")
     public void notifyWelcome(String email, String name, String rawPassword) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("email", email);
-        context.setVariable("rawPassword", rawPassword);
-        String html = templateEngine.process("welcome", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("email", email);
+        variables.put("rawPassword", rawPassword);
+        String html = emailRenderer.renderHtml("welcome", variables);
         String subject = "Bem-vindo ao Clube Quinze";
         try {
             sendHtml(email, subject, html);
@@ -60,10 +63,10 @@ public class EmailNotificationService implements NotificationService {
     @Override
     @Async("asyncExecutor")
     public void notifyPasswordReset(String email, String name, String resetLink) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("resetLink", resetLink);
-        String html = templateEngine.process("forgot-password", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("resetLink", resetLink);
+        String html = emailRenderer.renderHtml("forgot-password", variables);
         String subject = "Recuperacao de senha";
         try {
             sendHtml(email, subject, html);
@@ -76,12 +79,12 @@ public class EmailNotificationService implements NotificationService {
     @Override
     @Async("asyncExecutor")
     public void notifyAppointmentReminder(String email, String name, String scheduledAt, String description, String offsetLabel) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("scheduledAt", scheduledAt);
-        context.setVariable("description", description);
-        context.setVariable("offsetLabel", offsetLabel);
-        String html = templateEngine.process("appointment-reminder", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("scheduledAt", scheduledAt);
+        variables.put("description", description);
+        variables.put("offsetLabel", offsetLabel);
+        String html = emailRenderer.renderHtml("appointment-reminder", variables);
         String subject = "Lembrete: você tem um agendamento " + offsetLabel;
         try {
             sendHtml(email, subject, html);
@@ -94,12 +97,12 @@ public class EmailNotificationService implements NotificationService {
     @Override
     @Async("asyncExecutor")
     public void notifyAppointmentRescheduled(String email, String name, String oldScheduledAt, String newScheduledAt, String description) {
-        Context context = new Context();
-        context.setVariable("name", name);
-        context.setVariable("oldScheduledAt", oldScheduledAt);
-        context.setVariable("newScheduledAt", newScheduledAt);
-        context.setVariable("description", description);
-        String html = templateEngine.process("appointment-rescheduled", context);
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("oldScheduledAt", oldScheduledAt);
+        variables.put("newScheduledAt", newScheduledAt);
+        variables.put("description", description);
+        String html = emailRenderer.renderHtml("appointment-rescheduled", variables);
         String subject = "Seu agendamento foi alterado";
         try {
             sendHtml(email, subject, html);
@@ -109,6 +112,23 @@ public class EmailNotificationService implements NotificationService {
         }
     }
 
+    @Override
+    @Async("asyncExecutor")
+    public void notifyAppointmentDigest(String email, String name, String periodLabel, List<AppointmentDigestItem> items) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("periodLabel", periodLabel);
+        variables.put("items", items);
+        String html = emailRenderer.renderHtml("appointment-digest", variables);
+        String subject = "Lembrete: você tem " + items.size() + " agendamentos " + periodLabel;
+        try {
+            sendHtml(email, subject, html);
+            log.info("[async-email] Resumo de {} agendamento(s) enviado para {}", items.size(), email);
+        } catch (MailException ex) {
+            log.error("Falha ao enviar resumo de agendamentos para {}: {}", email, ex.getMessage());
+        }
+    }
+
     private void sendHtml(String to, String subject, String html) {
         MimeMessage message = mailSender.createMimeMessage();
         try {
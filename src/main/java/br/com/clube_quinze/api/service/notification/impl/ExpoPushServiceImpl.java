@@ -1,19 +1,25 @@
 package br.com.clube_quinze.api.service.notification.impl;
 
 import br.com.clube_quinze.api.service.notification.ExpoPushService;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import br.com.clube_quinze.api.repository.PushTokenRepository;
 import br.com.clube_quinze.api.model.notification.PushToken;
@@ -24,20 +30,46 @@ import org.springframework.web.client.RestTemplate;
 public class ExpoPushServiceImpl implements ExpoPushService {
 
     private static final Logger log = LoggerFactory.getLogger(ExpoPushServiceImpl.class);
-    private final RestTemplate rest = new RestTemplate();
+
+    /** Limite da Expo Push API: no máximo 100 mensagens por requisição. */
+    static final int MAX_BATCH_SIZE = 100;
+
+    /** Limite da Expo para consulta de recibos: no máximo 1000 ids por requisição. */
+    public static final int MAX_RECEIPT_IDS = 1000;
+
+    private final RestTemplate rest;
     private final String endpoint = "https://exp.host/--/api/v2/push/send";
+    private final String receiptsEndpoint = "https://exp.host/--/api/v2/push/getReceipts";
     private final PushTokenRepository pushTokenRepository;
+    private final OutboundCallGuard outboundCallGuard;
 
     @Value("${app.media.base-url:}")
     private String baseUrl;
 
-    public ExpoPushServiceImpl(PushTokenRepository pushTokenRepository) {
+    public ExpoPushServiceImpl(PushTokenRepository pushTokenRepository,
+                               @Qualifier("outboundHttpClient") HttpClient httpClient,
+                               OutboundCallGuard outboundCallGuard,
+                               @Value("${app.push.expo.read-timeout-ms:10000}") long readTimeoutMs) {
         this.pushTokenRepository = pushTokenRepository;
+        this.outboundCallGuard = outboundCallGuard;
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.rest = new RestTemplate(requestFactory);
     }
 
     @Override
     public List<ExpoResult> sendBatch(List<ExpoMessage> messages) {
-        List<ExpoResult> results = new ArrayList<>();
+        List<ExpoResult> results = new ArrayList<>(messages.size());
+        for (int from = 0; from < messages.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, messages.size());
+            results.addAll(sendChunk(messages.subList(from, to)));
+        }
+        return results;
+    }
+
+    /** Envia um bloco de até {@link #MAX_BATCH_SIZE} mensagens; devolve exatamente um resultado por mensagem. */
+    private List<ExpoResult> sendChunk(List<ExpoMessage> messages) {
+        List<ExpoResult> results = new ArrayList<>(messages.size());
         List<Object> payloads = new ArrayList<>();
         for (ExpoMessage m : messages) {
             var p = Map.of(
@@ -54,35 +86,42 @@ public class ExpoPushServiceImpl implements ExpoPushService {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<List<Object>> entity = new HttpEntity<>(payloads, headers);
-            ResponseEntity<ExpoResponse[]> resp = rest.postForEntity(endpoint, entity, ExpoResponse[].class);
-            ExpoResponse[] body = resp.getBody();
-            if (body != null) {
-                for (int i = 0; i < body.length; i++) {
-                    ExpoResponse r = body[i];
-                    boolean ok = "ok".equalsIgnoreCase(r.status);
-                    String msg = r.message;
-                    results.add(new ExpoResult(ok, r.status, msg));
-                    // If message indicates device invalid, attempt to mark token invalid in DB (best-effort)
-                    try {
-                        String to = (String)((Map)payloads.get(i)).get("to");
-                        if (msg != null) {
-                            String low = msg.toLowerCase();
-                            if (low.contains("devicenotregistered") || low.contains("device not registered") || low.contains("invalidcredentials") || low.contains("messagetoo big")) {
-                                Optional<PushToken> maybe = pushTokenRepository.findByToken(to);
-                                maybe.ifPresent(t -> {
-                                    t.setInvalidatedAt(Instant.now());
-                                    pushTokenRepository.save(t);
-                                });
-                            }
+            ResponseEntity<ExpoResponse> resp = outboundCallGuard.execute(OutboundCallGuard.EXPO,
+                    () -> rest.postForEntity(endpoint, entity, ExpoResponse.class));
+            List<ExpoTicket> tickets = resp.getBody() != null && resp.getBody().data != null
+                    ? resp.getBody().data
+                    : List.of();
+            for (int i = 0; i < messages.size(); i++) {
+                if (i >= tickets.size()) {
+                    // A Expo devolve um ticket por mensagem, na mesma ordem; se faltar, não há como saber o status.
+                    results.add(new ExpoResult(false, "error", "missing ticket"));
+                    continue;
+                }
+                ExpoTicket r = tickets.get(i);
+                boolean ok = "ok".equalsIgnoreCase(r.status);
+                String msg = r.errorCode() != null ? r.errorCode() : r.message;
+                results.add(new ExpoResult(ok, r.status, msg, r.id));
+                // If message indicates device invalid, attempt to mark token invalid in DB (best-effort)
+                try {
+                    String to = messages.get(i).to();
+                    if (msg != null) {
+                        String low = msg.toLowerCase();
+                        if (low.contains("devicenotregistered") || low.contains("device not registered") || low.contains("invalidcredentials") || low.contains("messagetoo big")) {
+                            Optional<PushToken> maybe = pushTokenRepository.findByToken(to);
+                            maybe.ifPresent(t -> {
+                                t.setInvalidatedAt(Instant.now());
+                                pushTokenRepository.save(t);
+                            });
                         }
-                    } catch (Exception ex) {
-                        // ignore - marking invalid is best-effort
                     }
+                } catch (Exception ex) {
+                    // ignore - marking invalid is best-effort
                 }
             }
         } catch (Exception ex) {
             log.error("Erro ao enviar push batch: {}", ex.getMessage());
             // mark all as failed
+            results.clear();
             for (int i = 0; i < messages.size(); i++) {
                 results.add(new ExpoResult(false, "error", ex.getMessage()));
             }
@@ -90,11 +129,63 @@ public class ExpoPushServiceImpl implements ExpoPushService {
         return results;
     }
 
+    /**
+     * Consulta os recibos de entrega (até {@link #MAX_RECEIPT_IDS} tickets). Tickets ausentes no mapa
+     * ainda não têm recibo (a Expo os disponibiliza ~15 min após o envio e os mantém por 24h).
+     *
+     * @throws org.springframework.web.client.RestClientException se a chamada falhar
+     * @throws OutboundCallGuard.OutboundCallRejectedException com o circuito da Expo aberto
+     */
+    public Map<String, ExpoReceipt> fetchReceipts(List<String> ticketIds) {
+        if (ticketIds.isEmpty()) return Map.of();
+        if (ticketIds.size() > MAX_RECEIPT_IDS) {
+            throw new IllegalArgumentException("No máximo " + MAX_RECEIPT_IDS + " tickets por consulta");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(Map.of("ids", ticketIds), headers);
+        ResponseEntity<ExpoReceiptsResponse> resp = outboundCallGuard.execute(OutboundCallGuard.EXPO,
+                () -> rest.postForEntity(receiptsEndpoint, entity, ExpoReceiptsResponse.class));
+        if (resp.getBody() == null || resp.getBody().data == null) return Map.of();
+
+        Map<String, ExpoReceipt> receipts = new HashMap<>();
+        resp.getBody().data.forEach((id, r) -> receipts.put(id,
+                new ExpoReceipt("ok".equalsIgnoreCase(r.status), r.message, r.errorCode())));
+        return receipts;
+    }
+
+    /** Recibo de entrega de um ticket. {@code errorCode} vem de {@code details.error} (ex.: "DeviceNotRegistered"). */
+    public record ExpoReceipt(boolean ok, String message, String errorCode) {}
+
+    /** Corpo de resposta da Expo Push API: {@code {"data": [ticket, ...]}}. */
     @JsonIgnoreProperties(ignoreUnknown = true)
     static class ExpoResponse {
+        @JsonProperty("data")
+        public List<ExpoTicket> data;
+    }
+
+    /** Corpo de resposta de getReceipts: {@code {"data": {"<ticketId>": receipt, ...}}}. */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class ExpoReceiptsResponse {
+        @JsonProperty("data")
+        public Map<String, ExpoTicket> data;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class ExpoTicket {
         @JsonProperty("status")
         public String status;
+        @JsonProperty("id")
+        public String id;
         @JsonProperty("message")
         public String message;
+        @JsonProperty("details")
+        public Map<String, Object> details = new HashMap<>();
+
+        /** Código de erro estruturado (ex.: "DeviceNotRegistered"), quando presente. */
+        String errorCode() {
+            Object error = details != null ? details.get("error") : null;
+            return error != null ? error.toString() : null;
+        }
     }
 }
@@ -2,6 +2,8 @@ package br.com.clube_quinze.api.service.notification.impl;
 
 import br.com.clube_quinze.api.repository.PushTokenRepository;
 import br.com.clube_quinze.api.service.notification.ExpoPushService;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard.OutboundCallRejectedException;
 import com.google.firebase.messaging.AndroidConfig;
 import com.google.firebase.messaging.AndroidNotification;
 import com.google.firebase.messaging.BatchResponse;
@@ -19,23 +21,27 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
 @Service
-@Primary
 @ConditionalOnProperty(name = "firebase.enabled", havingValue = "true", matchIfMissing = true)
 public class FcmPushServiceImpl implements ExpoPushService {
 
     private static final Logger log = LoggerFactory.getLogger(FcmPushServiceImpl.class);
 
+    /** Limite do FCM para {@code sendEach}: no máximo 500 mensagens por chamada. */
+    static final int MAX_BATCH_SIZE = 500;
+
     private final FirebaseMessaging firebaseMessaging;
     private final PushTokenRepository pushTokenRepository;
+    private final OutboundCallGuard outboundCallGuard;
 
     public FcmPushServiceImpl(FirebaseMessaging firebaseMessaging,
-                              PushTokenRepository pushTokenRepository) {
+                              PushTokenRepository pushTokenRepository,
+                              OutboundCallGuard outboundCallGuard) {
         this.firebaseMessaging = firebaseMessaging;
         this.pushTokenRepository = pushTokenRepository;
+        this.outboundCallGuard = outboundCallGuard;
     }
 
     @Override
@@ -47,6 +53,15 @@ public class FcmPushServiceImpl implements ExpoPushService {
     public List<ExpoResult> sendBatch(List<ExpoMessage> messages, boolean dryRun) {
         if (messages.isEmpty()) return List.of();
 
+        List<ExpoResult> results = new ArrayList<>(messages.size());
+        for (int from = 0; from < messages.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, messages.size());
+            results.addAll(sendChunk(messages.subList(from, to), dryRun));
+        }
+        return results;
+    }
+
+    private List<ExpoResult> sendChunk(List<ExpoMessage> messages, boolean dryRun) {
         List<Message> fcmMessages = new ArrayList<>();
         for (ExpoMessage m : messages) {
             fcmMessages.add(Message.builder()
@@ -66,7 +81,8 @@ public class FcmPushServiceImpl implements ExpoPushService {
         }
 
         try {
-            BatchResponse batch = firebaseMessaging.sendEach(fcmMessages, dryRun);
+            BatchResponse batch = outboundCallGuard.execute(OutboundCallGuard.FCM,
+                    () -> firebaseMessaging.sendEach(fcmMessages, dryRun));
             List<ExpoResult> results = new ArrayList<>();
 
             List<SendResponse> responses = batch.getResponses();
@@ -100,6 +116,14 @@ public class FcmPushServiceImpl implements ExpoPushService {
                 failures.add(new ExpoResult(false, "error", code + ": " + e.getMessage()));
             }
             return failures;
+        } catch (OutboundCallRejectedException e) {
+            // Circuito aberto / bulkhead cheio: falha rápida sem chamar o FCM.
+            log.warn("FCM sendEach recusado (dryRun={}): {}", dryRun, e.getMessage());
+            List<ExpoResult> failures = new ArrayList<>();
+            for (int i = 0; i < messages.size(); i++) {
+                failures.add(new ExpoResult(false, "error", "UNAVAILABLE: " + e.getReason()));
+            }
+            return failures;
         }
     }
 
@@ -1,6 +1,8 @@
 package br.com.clube_quinze.api.service.notification.impl;
 
+import br.com.clube_quinze.api.dto.notification.AppointmentDigestItem;
 import br.com.clube_quinze.api.service.notification.NotificationService;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -43,4 +45,10 @@ public class LoggingNotificationService implements NotificationService {
     public void notifyAppointmentRescheduled(String email, String name, String oldScheduledAt, String newScheduledAt, String description) {
         log.info("[async] Agendamento remarcado para email={} name={} de={} para={}", email, name, oldScheduledAt, newScheduledAt);
     }
+
+    @Override
+    @Async("asyncExecutor")
+    public void notifyAppointmentDigest(String email, String name, String periodLabel, List<AppointmentDigestItem> items) {
+        log.info("[async] Resumo de {} agendamento(s) para email={} name={} periodo={}", items.size(), email, name, periodLabel);
+    }
 }
@@ -1,5 +1,6 @@
 package br.com.clube_quinze.api.service.notification.impl;
 
+import br.com.clube_quinze.api.dto.common.NotificationResponse;
 import br.com.clube_quinze.api.model.enumeration.NotificationType;
 import br.com.clube_quinze.api.model.notification.Notification;
 import br.com.clube_quinze.api.model.notification.PushDelivery;
@@ -9,7 +10,9 @@ import br.com.clube_quinze.api.repository.PushDeliveryRepository;
 import br.com.clube_quinze.api.repository.PushTokenRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
 import br.com.clube_quinze.api.service.notification.ExpoPushService;
+import br.com.clube_quinze.api.service.notification.InAppNotificationCreatedEvent;
 import br.com.clube_quinze.api.service.notification.PushNotificationService;
+import br.com.clube_quinze.api.service.notification.UnreadNotificationCounter;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -17,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,18 +34,24 @@ public class PushNotificationServiceImpl implements PushNotificationService {
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final ExpoPushService expoPushService;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PushNotificationServiceImpl(
             PushTokenRepository pushTokenRepository,
             PushDeliveryRepository pushDeliveryRepository,
             NotificationRepository notificationRepository,
             UserRepository userRepository,
-            ExpoPushService expoPushService) {
+            ExpoPushService expoPushService,
+            UnreadNotificationCounter unreadCounter,
+            ApplicationEventPublisher eventPublisher) {
         this.pushTokenRepository = pushTokenRepository;
         this.pushDeliveryRepository = pushDeliveryRepository;
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.expoPushService = expoPushService;
+        this.unreadCounter = unreadCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -56,7 +66,7 @@ public class PushNotificationServiceImpl implements PushNotificationService {
 
         List<ExpoPushService.ExpoMessage> messages = new ArrayList<>();
         for (PushToken t : tokens) {
-            messages.add(new ExpoPushService.ExpoMessage(t.getToken(), title, body, data));
+            messages.add(new ExpoPushService.ExpoMessage(t.getToken(), title, body, data, t.getPlatform()));
         }
 
         var results = expoPushService.sendBatch(messages);
@@ -75,6 +85,7 @@ public class PushNotificationServiceImpl implements PushNotificationService {
             d.setData(data != null ? data.toString() : null);
             d.setStatus(r.ok() ? "sent" : "failed");
             d.setErrorMessage(r.message());
+            d.setTicketId(r.ticketId());
             if (r.ok()) {
                 d.setSentAt(Instant.now());
                 token.setLastSuccessAt(Instant.now());
@@ -99,6 +110,9 @@ public class PushNotificationServiceImpl implements PushNotificationService {
             n.setType(mapType(kind));
             n.setRead(false);
             notificationRepository.save(n);
+            unreadCounter.increment(userId);
+            eventPublisher.publishEvent(new InAppNotificationCreatedEvent(userId, new NotificationResponse(
+                    n.getId(), userId, n.getTitle(), n.getMessage(), n.getType(), false, n.getSentAt())));
         } catch (Exception ex) {
             // best-effort: nunca quebrar o envio por falha ao gravar a notificação in-app
             log.warn("Falha ao persistir notificação in-app para user {}: {}", userId, ex.getMessage());
@@ -0,0 +1,146 @@
+package br.com.clube_quinze.api.service.notification.impl;
+
+import br.com.clube_quinze.api.service.notification.ExpoPushService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementação principal de {@link ExpoPushService}: separa cada lote por tipo de token.
+ * Tokens no formato Expo ({@code ExponentPushToken[...]}) ou com plataforma "expo" vão para a
+ * Expo Push API; os demais (tokens nativos) vão para o FCM. As duas partições são enviadas em
+ * paralelo e os resultados voltam na ordem original das mensagens.
+ */
+@Service
+@Primary
+public class RoutingPushServiceImpl implements ExpoPushService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingPushServiceImpl.class);
+
+    private final ExpoPushServiceImpl expoPushService;
+    private final ObjectProvider<FcmPushServiceImpl> fcmPushService;
+    private final Executor pushDispatchExecutor;
+
+    public RoutingPushServiceImpl(ExpoPushServiceImpl expoPushService,
+                                  ObjectProvider<FcmPushServiceImpl> fcmPushService,
+                                  @Qualifier("pushDispatchExecutor") Executor pushDispatchExecutor) {
+        this.expoPushService = expoPushService;
+        this.fcmPushService = fcmPushService;
+        this.pushDispatchExecutor = pushDispatchExecutor;
+    }
+
+    @Override
+    public List<ExpoResult> sendBatch(List<ExpoMessage> messages) {
+        return sendBatch(messages, false);
+    }
+
+    @Override
+    public List<ExpoResult> sendBatch(List<ExpoMessage> messages, boolean dryRun) {
+        if (messages.isEmpty()) return List.of();
+
+        List<Integer> expoIndexes = new ArrayList<>();
+        List<Integer> fcmIndexes = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            if (isExpoTarget(messages.get(i))) {
+                expoIndexes.add(i);
+            } else {
+                fcmIndexes.add(i);
+            }
+        }
+
+        List<ExpoMessage> expoMessages = pick(messages, expoIndexes);
+        List<ExpoMessage> fcmMessages = pick(messages, fcmIndexes);
+
+        // Só paga o salto de thread quando há as duas partições; caso contrário envia direto.
+        CompletableFuture<List<ExpoResult>> expoFuture;
+        if (expoMessages.isEmpty()) {
+            expoFuture = CompletableFuture.completedFuture(List.of());
+        } else if (fcmMessages.isEmpty()) {
+            expoFuture = CompletableFuture.completedFuture(sendExpo(expoMessages, dryRun));
+        } else {
+            expoFuture = CompletableFuture.supplyAsync(() -> sendExpo(expoMessages, dryRun), pushDispatchExecutor);
+        }
+
+        List<ExpoResult> fcmResults = fcmMessages.isEmpty() ? List.of() : sendFcm(fcmMessages, dryRun);
+        List<ExpoResult> expoResults;
+        try {
+            expoResults = expoFuture.join();
+        } catch (Exception ex) {
+            log.error("Falha no envio da partição Expo ({} mensagens): {}", expoMessages.size(), ex.getMessage());
+            expoResults = failAll(expoMessages.size(), ex.getMessage());
+        }
+
+        ExpoResult[] merged = new ExpoResult[messages.size()];
+        place(merged, fcmIndexes, fcmResults);
+        place(merged, expoIndexes, expoResults);
+        return Arrays.asList(merged);
+    }
+
+    /** True para tokens que devem ir à Expo Push API. */
+    static boolean isExpoTarget(ExpoMessage message) {
+        return isExpoToken(message.to()) || "expo".equalsIgnoreCase(message.platform());
+    }
+
+    static boolean isExpoToken(String token) {
+        return token != null
+                && (token.startsWith("ExponentPushToken[") || token.startsWith("ExpoPushToken["))
+                && token.endsWith("]");
+    }
+
+    /**
+     * A Expo Push API não tem dry-run: no modo diagnóstico nada é enviado e só o formato do token é
+     * conferido, para o teste nunca entregar push de verdade.
+     */
+    private List<ExpoResult> sendExpo(List<ExpoMessage> messages, boolean dryRun) {
+        if (dryRun) {
+            return messages.stream()
+                    .map(m -> isExpoToken(m.to())
+                            ? new ExpoResult(true, "skipped", DRY_RUN_UNSUPPORTED + ": formato do token válido")
+                            : new ExpoResult(false, "error", DRY_RUN_UNSUPPORTED + ": token fora do formato Expo"))
+                    .toList();
+        }
+        return expoPushService.sendBatch(messages);
+    }
+
+    private List<ExpoResult> sendFcm(List<ExpoMessage> messages, boolean dryRun) {
+        FcmPushServiceImpl fcm = fcmPushService.getIfAvailable();
+        if (fcm == null) {
+            log.warn("FCM desabilitado (firebase.enabled=false): {} mensagem(ns) nativa(s) não enviada(s)",
+                    messages.size());
+            return failAll(messages.size(), "FCM_DISABLED");
+        }
+        return fcm.sendBatch(messages, dryRun);
+    }
+
+    private static List<ExpoMessage> pick(List<ExpoMessage> messages, List<Integer> indexes) {
+        List<ExpoMessage> picked = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            picked.add(messages.get(index));
+        }
+        return picked;
+    }
+
+    private static void place(ExpoResult[] merged, List<Integer> indexes, List<ExpoResult> results) {
+        for (int j = 0; j < indexes.size(); j++) {
+            merged[indexes.get(j)] = j < results.size()
+                    ? results.get(j)
+                    : new ExpoResult(false, "error", "missing result");
+        }
+    }
+
+    private static List<ExpoResult> failAll(int count, String message) {
+        List<ExpoResult> failures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            failures.add(new ExpoResult(false, "error", message));
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.clube_quinze.api.service.outbound;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Camada comum das chamadas a provedores externos (Brevo, Expo, FCM). Cada provedor tem o seu:
+ * <ul>
+ *   <li>bulkhead: no máximo {@code max-concurrent} chamadas simultâneas; quem não consegue vaga em
+ *       {@code max-wait-ms} é rejeitado em vez de prender a thread;</li>
+ *   <li>circuit breaker: após {@code failure-threshold} falhas seguidas, rejeita tudo por
+ *       {@code open-ms}; depois deixa passar uma chamada de teste antes de fechar de novo;</li>
+ *   <li>métricas: {@code outbound.calls} (tempo por provedor/resultado) e {@code outbound.breaker.state}.</li>
+ * </ul>
+ * Configuração em {@code app.outbound.*}, com override por provedor em {@code app.outbound.<provedor>.*}.
+ * Os timeouts de conexão/leitura ficam no cliente HTTP de cada integração.
+ */
+@Component
+public class OutboundCallGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundCallGuard.class);
+
+    public static final String BREVO = "brevo";
+    public static final String EXPO = "expo";
+    public static final String FCM = "fcm";
+
+    @FunctionalInterface
+    public interface OutboundCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /** Chamada recusada sem tocar no provedor (circuito aberto ou bulkhead cheio). */
+    public static class OutboundCallRejectedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final String reason;
+
+        OutboundCallRejectedException(String provider, String reason) {
+            super(provider + ": " + reason);
+            this.reason = reason;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final class Provider {
+        final String name;
+        final Semaphore bulkhead;
+        final long maxWaitMs;
+        final int failureThreshold;
+        final long openMs;
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final AtomicBoolean trialInFlight = new AtomicBoolean();
+        volatile State state = State.CLOSED;
+        volatile long openedAt;
+
+        Provider(String name) {
+            this.name = name;
+            this.bulkhead = new Semaphore(setting(name, "max-concurrent", 4));
+            this.maxWaitMs = setting(name, "max-wait-ms", 200);
+            this.failureThreshold = setting(name, "failure-threshold", 5);
+            this.openMs = setting(name, "open-ms", 30_000);
+            Gauge.builder("outbound.breaker.state", this, p -> p.state.ordinal())
+                    .description("Estado do circuit breaker (0 fechado, 1 aberto, 2 meio-aberto)")
+                    .tag("provider", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Provider> providers = new ConcurrentHashMap<>();
+
+    public OutboundCallGuard(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T, E extends Exception> T execute(String providerName, OutboundCall<T, E> call) throws E {
+        Provider provider = providers.computeIfAbsent(providerName, Provider::new);
+
+        boolean trial = admit(provider);
+        boolean acquired = false;
+        try {
+            acquired = provider.bulkhead.tryAcquire(provider.maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!acquired) {
+            if (trial) provider.trialInFlight.set(false);
+            throw reject(provider, "bulkhead cheio");
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            T result = call.call();
+            onSuccess(provider);
+            return result;
+        } catch (Exception ex) {
+            if (isProviderFailure(ex)) {
+                outcome = "failure";
+                onFailure(provider);
+            } else {
+                outcome = "client_error";
+                onSuccess(provider);
+            }
+            throw ex;
+        } finally {
+            provider.bulkhead.release();
+            if (trial) provider.trialInFlight.set(false);
+            sample.stop(meterRegistry.timer("outbound.calls", "provider", provider.name, "outcome", outcome));
+        }
+    }
+
+    /** Devolve true se esta chamada é a de teste do meio-aberto. */
+    private boolean admit(Provider provider) {
+        if (provider.state == State.CLOSED) return false;
+        if (provider.state == State.OPEN) {
+            if (System.currentTimeMillis() - provider.openedAt < provider.openMs) {
+                throw reject(provider, "circuito aberto");
+            }
+            provider.state = State.HALF_OPEN;
+        }
+        if (!provider.trialInFlight.compareAndSet(false, true)) {
+            throw reject(provider, "circuito aberto");
+        }
+        return true;
+    }
+
+    private void onSuccess(Provider provider) {
+        provider.consecutiveFailures.set(0);
+        if (provider.state != State.CLOSED) {
+            provider.state = State.CLOSED;
+            log.info("Circuito de {} fechado", provider.name);
+        }
+    }
+
+    private void onFailure(Provider provider) {
+        int failures = provider.consecutiveFailures.incrementAndGet();
+        if (provider.state == State.HALF_OPEN || failures >= provider.failureThreshold) {
+            if (provider.state != State.OPEN) {
+                log.warn("Circuito de {} aberto após {} falha(s) seguida(s)", provider.name, failures);
+            }
+            provider.openedAt = System.currentTimeMillis();
+            provider.state = State.OPEN;
+        }
+    }
+
+    private OutboundCallRejectedException reject(Provider provider, String reason) {
+        meterRegistry.timer("outbound.calls", "provider", provider.name, "outcome", "rejected").record(0, TimeUnit.MILLISECONDS);
+        return new OutboundCallRejectedException(provider.name, reason);
+    }
+
+    /** 4xx (exceto 429) é erro do pedido, não do provedor: não conta para abrir o circuito. */
+    private static boolean isProviderFailure(Exception ex) {
+        if (ex instanceof HttpClientErrorException http) {
+            return http.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return true;
+    }
+
+    private int setting(String provider, String key, int defaultValue) {
+        Integer global = environment.getProperty("app.outbound." + key, Integer.class, defaultValue);
+        return environment.getProperty("app.outbound." + provider + "." + key, Integer.class, global);
+    }
+}
@@ -0,0 +1,189 @@
+package br.com.clube_quinze.api.service.preference;
+
+import br.com.clube_quinze.api.dto.preference.NotificationPreferencesRequest;
+import br.com.clube_quinze.api.dto.preference.NotificationPreferencesResponse;
+import br.com.clube_quinze.api.exception.ResourceNotFoundException;
+import br.com.clube_quinze.api.model.user.User;
+import br.com.clube_quinze.api.model.user.UserPreference;
+import br.com.clube_quinze.api.repository.UserPreferenceRepository;
+import br.com.clube_quinze.api.repository.UserRepository;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Preferências de notificação (canais, horário de silêncio, lembretes desejados), gravadas como linhas
+ * {@code notif.*} em preferencias_usuarios. O scheduler de lembretes consulta o cache em memória antes de
+ * publicar, então mensagens indesejadas nem chegam ao broker.
+ */
+@Service
+public class NotificationPreferenceService {
+
+    public static final String KEY_PREFIX = "notif.";
+    public static final String KEY_PUSH = "notif.push";
+    public static final String KEY_EMAIL = "notif.email";
+    public static final String KEY_QUIET_HOURS = "notif.quiet_hours";
+    public static final String KEY_REMINDER_OFFSETS = "notif.reminder_offsets";
+    public static final String KEY_DIGEST = "notif.digest";
+
+    private static final List<String> KEYS = List.of(KEY_PUSH, KEY_EMAIL, KEY_QUIET_HOURS, KEY_REMINDER_OFFSETS, KEY_DIGEST);
+    /** Outras instâncias não recebem o evict; o TTL limita quanto tempo uma alteração demora a valer nelas. */
+    private static final long TTL_MS = 10 * 60 * 1000L;
+    private static final int MAX_ENTRIES = 10_000;
+
+    private record CachedPreferences(NotificationPreferences preferences, long loadedAt) {}
+
+    private final UserPreferenceRepository userPreferenceRepository;
+    private final UserRepository userRepository;
+    private final ConcurrentMap<Long, CachedPreferences> cache = new ConcurrentHashMap<>();
+
+    public NotificationPreferenceService(UserPreferenceRepository userPreferenceRepository,
+                                         UserRepository userRepository) {
+        this.userPreferenceRepository = userPreferenceRepository;
+        this.userRepository = userRepository;
+    }
+
+    public NotificationPreferences get(Long userId) {
+        return getForUsers(List.of(userId)).get(userId);
+    }
+
+    /** Preferências de vários usuários; as ausentes no cache vêm numa única consulta. */
+    public Map<Long, NotificationPreferences> getForUsers(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        Map<Long, NotificationPreferences> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            CachedPreferences cached = cache.get(userId);
+            if (cached != null && now - cached.loadedAt() < TTL_MS) {
+                result.put(userId, cached.preferences());
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) return result;
+
+        Map<Long, Map<String, String>> rawByUser = new HashMap<>();
+        for (UserPreferenceRepository.PreferenceEntry e : userPreferenceRepository.findEntries(missing, KEYS)) {
+            rawByUser.computeIfAbsent(e.getUserId(), ignored -> new HashMap<>()).put(e.getPreferenceKey(), e.getPreferenceValue());
+        }
+        if (cache.size() + missing.size() > MAX_ENTRIES) {
+            cache.clear();
+        }
+        for (Long userId : missing) {
+            NotificationPreferences prefs = parse(rawByUser.getOrDefault(userId, Map.of()));
+            cache.put(userId, new CachedPreferences(prefs, now));
+            result.put(userId, prefs);
+        }
+        return result;
+    }
+
+    public NotificationPreferencesResponse getResponse(Long userId) {
+        return toResponse(get(userId));
+    }
+
+    @Transactional
+    public NotificationPreferencesResponse update(Long userId, NotificationPreferencesRequest request) {
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado"));
+
+        // null = padrão: remove a linha em vez de gravar o valor default.
+        write(owner, KEY_PUSH, request.pushEnabled() == null || request.pushEnabled() ? null : "false");
+        write(owner, KEY_EMAIL, request.emailEnabled() == null || request.emailEnabled() ? null : "false");
+        write(owner, KEY_QUIET_HOURS, request.quietHoursStart() != null && request.quietHoursEnd() != null
+                ? request.quietHoursStart() + "-" + request.quietHoursEnd()
+                : null);
+        Set<Integer> offsets = new TreeSet<>();
+        if (request.reminderOffsets() != null) {
+            request.reminderOffsets().stream().filter(o -> o != null && o > 0).forEach(offsets::add);
+        }
+        write(owner, KEY_REMINDER_OFFSETS, offsets.isEmpty() ? null : join(offsets));
+        write(owner, KEY_DIGEST, Boolean.TRUE.equals(request.digestEnabled()) ? "true" : null);
+
+        evict(userId);
+        return getResponse(userId);
+    }
+
+    public void evict(Long userId) {
+        cache.remove(userId);
+    }
+
+    private void write(User owner, String key, String value) {
+        var existing = userPreferenceRepository.findByUserIdAndPreferenceKey(owner.getId(), key);
+        if (value == null) {
+            existing.ifPresent(userPreferenceRepository::delete);
+            return;
+        }
+        UserPreference preference = existing.orElseGet(() -> {
+            UserPreference created = new UserPreference();
+            created.setUser(owner);
+            created.setPreferenceKey(key);
+            return created;
+        });
+        preference.setPreferenceValue(value);
+        userPreferenceRepository.save(preference);
+    }
+
+    private NotificationPreferences parse(Map<String, String> raw) {
+        if (raw.isEmpty()) return NotificationPreferences.DEFAULT;
+
+        LocalTime quietStart = null;
+        LocalTime quietEnd = null;
+        String quiet = raw.get(KEY_QUIET_HOURS);
+        if (quiet != null && quiet.contains("-")) {
+            try {
+                String[] parts = quiet.split("-", 2);
+                quietStart = LocalTime.parse(parts[0].trim());
+                quietEnd = LocalTime.parse(parts[1].trim());
+            } catch (RuntimeException ignored) {
+                // valor inválido gravado pela API genérica: ignora o silêncio
+                quietStart = null;
+                quietEnd = null;
+            }
+        }
+
+        Set<Integer> offsets = new TreeSet<>();
+        String csv = raw.get(KEY_REMINDER_OFFSETS);
+        if (csv != null) {
+            for (String part : csv.split(",")) {
+                try {
+                    int v = Integer.parseInt(part.trim());
+                    if (v > 0) offsets.add(v);
+                } catch (NumberFormatException ignored) {
+                    // ignora valores inválidos
+                }
+            }
+        }
+
+        return new NotificationPreferences(
+                !"false".equalsIgnoreCase(raw.get(KEY_PUSH)),
+                !"false".equalsIgnoreCase(raw.get(KEY_EMAIL)),
+                quietStart,
+                quietEnd,
+                Set.copyOf(offsets),
+                "true".equalsIgnoreCase(raw.get(KEY_DIGEST)));
+    }
+
+    private NotificationPreferencesResponse toResponse(NotificationPreferences prefs) {
+        return new NotificationPreferencesResponse(
+                prefs.pushEnabled(),
+                prefs.emailEnabled(),
+                prefs.quietStart() != null ? prefs.quietStart().toString() : null,
+                prefs.quietEnd() != null ? prefs.quietEnd().toString() : null,
+                prefs.reminderOffsets().stream().sorted(Comparator.reverseOrder()).toList(),
+                prefs.digest());
+    }
+
+    private static String join(Set<Integer> offsets) {
+        return offsets.stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElse("");
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.clube_quinze.api.service.preference;
+
+import java.time.LocalTime;
+import java.util.Set;
+
+/**
+ * Preferências de notificação de um usuário, já interpretadas. {@code reminderOffsets} vazio significa
+ * "todos os lembretes"; o horário de silêncio vale só para push (email não interrompe ninguém).
+ * Com {@code digest}, os lembretes de vários agendamentos na mesma janela saem agrupados.
+ */
+public record NotificationPreferences(
+        boolean pushEnabled,
+        boolean emailEnabled,
+        LocalTime quietStart,
+        LocalTime quietEnd,
+        Set<Integer> reminderOffsets,
+        boolean digest) {
+
+    public static final NotificationPreferences DEFAULT = new NotificationPreferences(true, true, null, null, Set.of(), false);
+
+    public boolean wantsReminder(int offsetMinutes) {
+        return reminderOffsets.isEmpty() || reminderOffsets.contains(offsetMinutes);
+    }
+
+    /** Janela de silêncio pode atravessar a meia-noite (ex.: 22:00–07:00). */
+    public boolean isQuietAt(LocalTime time) {
+        if (quietStart == null || quietEnd == null || quietStart.equals(quietEnd)) {
+            return false;
+        }
+        if (quietStart.isBefore(quietEnd)) {
+            return !time.isBefore(quietStart) && time.isBefore(quietEnd);
+        }
+        return !time.isBefore(quietStart) || time.isBefore(quietEnd);
+    }
+
+    public boolean allowsPushAt(LocalTime time) {
+        return pushEnabled && !isQuietAt(time);
+    }
+}
@@ -9,6 +9,7 @@ import br.com.clube_quinze.api.model.user.User;
 import br.com.clube_quinze.api.model.user.UserPreference;
 import br.com.clube_quinze.api.repository.UserPreferenceRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
+import br.com.clube_quinze.api.service.preference.NotificationPreferenceService;
 import br.com.clube_quinze.api.service.preference.PreferenceService;
 import java.util.List;
 import java.util.Objects;
@@ -21,10 +22,14 @@ public class PreferenceServiceImpl implements PreferenceService {
 
     private final UserRepository userRepository;
     private final UserPreferenceRepository userPreferenceRepository;
+    private final NotificationPreferenceService notificationPreferenceService;
 
-    public PreferenceServiceImpl(UserRepository userRepository, UserPreferenceRepository userPreferenceRepository) {
+    public PreferenceServiceImpl(UserRepository userRepository,
+                                 UserPreferenceRepository userPreferenceRepository,
+                                 NotificationPreferenceService notificationPreferenceService) {
         this.userRepository = userRepository;
         this.userPreferenceRepository = userPreferenceRepository;
+        this.notificationPreferenceService = notificationPreferenceService;
     }
 
     @Override
@@ -54,6 +59,7 @@ public class PreferenceServiceImpl implements PreferenceService {
         preference.setPreferenceValue(request.value());
 
         UserPreference saved = userPreferenceRepository.save(preference);
+        evictNotificationPreferences(ownerId, request.key());
         return toResponse(saved);
     }
 
@@ -73,10 +79,13 @@ public class PreferenceServiceImpl implements PreferenceService {
             }
         }
 
+        String previousKey = preference.getPreferenceKey();
         preference.setPreferenceKey(request.key());
         preference.setPreferenceValue(request.value());
 
         UserPreference saved = userPreferenceRepository.save(preference);
+        evictNotificationPreferences(saved.getUser().getId(), previousKey);
+        evictNotificationPreferences(saved.getUser().getId(), request.key());
         return toResponse(saved);
     }
 
@@ -86,6 +95,14 @@ public class PreferenceServiceImpl implements PreferenceService {
         UserPreference preference = findPreference(preferenceId);
         enforceOwnership(preference, actorId, privileged);
         userPreferenceRepository.delete(preference);
+        evictNotificationPreferences(preference.getUser().getId(), preference.getPreferenceKey());
+    }
+
+    /** Chaves notif.* também podem ser editadas por aqui; o cache de preferências de notificação não pode ficar velho. */
+    private void evictNotificationPreferences(Long userId, String key) {
+        if (key != null && key.startsWith(NotificationPreferenceService.KEY_PREFIX)) {
+            notificationPreferenceService.evict(userId);
+        }
     }
 
     private Long resolveTargetUser(Long actorId, boolean privileged, Long userId) {
@@ -15,6 +15,9 @@ public class SettingsService {
 
     public static final String KEY_ADMIN_REMINDER_ENABLED = "admin_reminder_enabled";
     public static final String KEY_ADMIN_REMINDER_OFFSETS = "admin_reminder_offsets";
+    public static final String KEY_RETENTION_NOTIFICATIONS_DAYS = "retention_notifications_days";
+    public static final String KEY_RETENTION_PUSH_DELIVERIES_DAYS = "retention_push_deliveries_days";
+    public static final String KEY_RETENTION_REMINDER_LOG_DAYS = "retention_reminder_log_days";
 
     private static final boolean DEFAULT_ADMIN_REMINDER_ENABLED = true;
     private static final List<Integer> DEFAULT_ADMIN_REMINDER_OFFSETS = List.of(60, 30);
@@ -54,6 +57,25 @@ public class SettingsService {
         upsert(KEY_ADMIN_REMINDER_OFFSETS, serializeOffsets(clean));
     }
 
+    // ── Retenção ────────────────────────────────────────────────────────────
+
+    /**
+     * Dias de retenção de uma tabela. Sem valor (ou inválido) usa {@code defaultDays};
+     * {@code 0} ou negativo desliga a limpeza daquela tabela.
+     */
+    @Transactional(readOnly = true)
+    public int getRetentionDays(String key, int defaultDays) {
+        return repository.findById(key)
+                .map(s -> {
+                    try {
+                        return Integer.parseInt(s.getValue().trim());
+                    } catch (RuntimeException ex) {
+                        return defaultDays;
+                    }
+                })
+                .orElse(defaultDays);
+    }
+
     // ── helpers ─────────────────────────────────────────────────────────────
 
     private void upsert(String key, String value) {
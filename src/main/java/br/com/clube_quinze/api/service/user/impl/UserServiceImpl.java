@@ -20,10 +20,15 @@ import br.com.clube_quinze.api.model.user.UserPreference;
 import br.com.clube_quinze.api.model.enumeration.MembershipTier;
 import br.com.clube_quinze.api.model.enumeration.RoleType;
 import br.com.clube_quinze.api.repository.AppointmentRepository;
+import br.com.clube_quinze.api.repository.CommunityPostRepository;
 import br.com.clube_quinze.api.repository.PlanRepository;
-import br.com.clube_quinze.api.repository.RefreshTokenRepository;
+import br.com.clube_quinze.api.repository.PushTokenRepository;
 import br.com.clube_quinze.api.repository.UserPreferenceRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
+import br.com.clube_quinze.api.service.community.AuthorSummaryCache;
+import br.com.clube_quinze.api.service.community.FeedCache;
+import br.com.clube_quinze.api.service.community.search.CommunitySearchIndex;
+import br.com.clube_quinze.api.service.media.MediaStorageService;
 import br.com.clube_quinze.api.service.user.UserService;
 import java.time.Clock;
 import java.time.LocalDate;
@@ -47,7 +52,12 @@ public class UserServiceImpl implements UserService {
     private final PlanRepository planRepository;
     private final AppointmentRepository appointmentRepository;
     private final UserPreferenceRepository userPreferenceRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final CommunityPostRepository communityPostRepository;
+    private final PushTokenRepository pushTokenRepository;
+    private final MediaStorageService mediaStorageService;
+    private final FeedCache feedCache;
+    private final CommunitySearchIndex searchIndex;
+    private final AuthorSummaryCache authorSummaryCache;
     private final Clock clock;
 
     public UserServiceImpl(
@@ -55,13 +65,23 @@ public class UserServiceImpl implements UserService {
             PlanRepository planRepository,
             AppointmentRepository appointmentRepository,
             UserPreferenceRepository userPreferenceRepository,
-            RefreshTokenRepository refreshTokenRepository,
+            CommunityPostRepository communityPostRepository,
+            PushTokenRepository pushTokenRepository,
+            MediaStorageService mediaStorageService,
+            FeedCache feedCache,
+            CommunitySearchIndex searchIndex,
+            AuthorSummaryCache authorSummaryCache,
             Clock clock) {
         this.userRepository = userRepository;
         this.planRepository = planRepository;
         this.appointmentRepository = appointmentRepository;
         this.userPreferenceRepository = userPreferenceRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.communityPostRepository = communityPostRepository;
+        this.pushTokenRepository = pushTokenRepository;
+        this.mediaStorageService = mediaStorageService;
+        this.feedCache = feedCache;
+        this.searchIndex = searchIndex;
+        this.authorSummaryCache = authorSummaryCache;
         this.clock = clock;
     }
 
@@ -114,8 +134,14 @@ public class UserServiceImpl implements UserService {
         }
         user.setPlan(plan);
 
-        user.setProfilePictureUrl(normalizeOptional(request.profilePictureUrl()));
-        user.setProfilePictureBase64(normalizeOptional(request.profilePictureBase64()));
+        // Base64 recebido vira arquivo: o banco e as respostas guardam só a URL.
+        String pictureUrl = normalizeOptional(request.profilePictureUrl());
+        String pictureBase64 = normalizeOptional(request.profilePictureBase64());
+        if (pictureUrl == null && pictureBase64 != null) {
+            pictureUrl = mediaStorageService.storeBase64(pictureBase64, "profile").url();
+        }
+        user.setProfilePictureUrl(pictureUrl);
+        user.setProfilePictureBase64(null);
 
         if (request.gallery() != null) {
             user.getGalleryPhotos().clear();
@@ -124,6 +150,7 @@ public class UserServiceImpl implements UserService {
         applyGallery(user, request.gallery());
 
         User updated = userRepository.save(user);
+        authorSummaryCache.evict(userId);
         return buildUserProfileResponse(updated);
     }
 
@@ -176,9 +203,19 @@ public class UserServiceImpl implements UserService {
         if (!privileged && !targetUserId.equals(actorId)) {
             throw new BusinessException("Sem permissão para excluir este usuário");
         }
-        User target = findUser(targetUserId);
-        refreshTokenRepository.deleteByUserId(targetUserId);
-        userRepository.delete(target);
+        if (!userRepository.existsById(targetUserId)) {
+            throw new ResourceNotFoundException("Usuário não encontrado");
+        }
+        // Instruções por conjunto, sem carregar o usuário: o delete da entidade puxaria preferências e galeria
+        // (orphanRemoval) e apagaria linha por linha. O resto sai pelo ON DELETE CASCADE das FKs.
+        communityPostRepository.discountLikesOfUser(targetUserId);
+        communityPostRepository.discountCommentsOfUser(targetUserId);
+        pushTokenRepository.deleteDeliveriesOfUser(targetUserId);
+        pushTokenRepository.deleteAllOfUser(targetUserId);
+        userRepository.deleteByIdCascading(targetUserId);
+        feedCache.clear();
+        searchIndex.userDeleted(targetUserId);
+        authorSummaryCache.evict(targetUserId);
     }
 
     private User findUser(Long userId) {
@@ -221,7 +258,7 @@ public class UserServiceImpl implements UserService {
                 nextAppointment,
             preferences,
             user.getProfilePictureUrl(),
-            user.getProfilePictureBase64(),
+            user.getProfilePictureUrl() == null ? user.getProfilePictureBase64() : null,
             gallery);
     }
 
@@ -292,7 +329,8 @@ public class UserServiceImpl implements UserService {
                 photo.getId(),
                 photo.getPosition(),
                 photo.getImageUrl(),
-                photo.getImageBase64());
+                // Só linhas ainda não migradas para arquivo (InlineImageMigrationJob).
+                photo.getImageUrl() == null ? photo.getImageBase64() : null);
     }
 
     private void applyGallery(User user, List<UserGalleryPhotoRequest> galleryRequests) {
@@ -335,7 +373,7 @@ public class UserServiceImpl implements UserService {
             photo.setUser(user);
             photo.setPosition(position);
             photo.setImageUrl(url);
-            photo.setImageBase64(base64);
+            photo.setImageBase64(url == null ? base64 : null);
             photos.add(photo);
         }
 
@@ -343,6 +381,13 @@ public class UserServiceImpl implements UserService {
             throw new BusinessException("Limite máximo de 4 fotos na galeria");
         }
 
+        for (UserGalleryPhoto photo : photos) {
+            if (photo.getImageBase64() != null) {
+                photo.setImageUrl(mediaStorageService.storeBase64(photo.getImageBase64(), "gallery").url());
+                photo.setImageBase64(null);
+            }
+        }
+
         photos.sort(Comparator.comparing(UserGalleryPhoto::getPosition));
         user.getGalleryPhotos().addAll(photos);
     }
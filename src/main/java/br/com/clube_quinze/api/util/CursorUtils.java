@@ -0,0 +1,67 @@
+package br.com.clube_quinze.api.util;
+
+import br.com.clube_quinze.api.dto.common.CursorPage;
+import br.com.clube_quinze.api.exception.BusinessException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cursor opaco para paginação por keyset em {@code (timestamp, id)} ou, na busca, {@code (score, id)}.
+ * O cliente só repassa o valor recebido; o formato interno pode mudar sem quebrar o contrato.
+ */
+public final class CursorUtils {
+
+    /** Header com o cursor da próxima página; ausente na última. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorUtils() {
+    }
+
+    public record Cursor(LocalDateTime timestamp, Long id) {
+    }
+
+    public record ScoreCursor(double score, Long id) {
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+
+    public static String encodeScore(double score, Long id) {
+        String raw = Double.toString(score) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ScoreCursor decodeScore(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new ScoreCursor(Double.parseDouble(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+
+    /** 200 com os itens no corpo e, havendo próxima página, o cursor em {@link #NEXT_CURSOR_HEADER}. */
+    public static <T> ResponseEntity<List<T>> withNextCursor(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
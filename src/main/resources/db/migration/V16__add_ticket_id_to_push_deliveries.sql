@@ -0,0 +1,7 @@
+-- Ticket da Expo Push API por entrega, para conferir o recibo (receipt) depois.
+-- O recibo é o que informa falhas reais como DeviceNotRegistered.
+ALTER TABLE push_deliveries
+    ADD COLUMN ticket_id VARCHAR(64) NULL;
+
+-- O job de recibos varre entregas "sent" com ticket por id crescente.
+CREATE INDEX idx_push_deliveries_status_id ON push_deliveries(status, id);
@@ -0,0 +1,5 @@
+-- A limpeza por retenção varre cada tabela pela coluna de data, em lotes;
+-- sem índice cada lote seria um full scan.
+CREATE INDEX idx_notificacoes_enviada_em ON notificacoes(enviada_em);
+CREATE INDEX idx_push_deliveries_created_at ON push_deliveries(created_at);
+CREATE INDEX idx_lembrete_sent_at ON lembrete_agendamento_log(sent_at);
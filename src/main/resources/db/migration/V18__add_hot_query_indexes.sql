@@ -0,0 +1,17 @@
+-- Índices das consultas mais frequentes (lembretes a cada minuto, agenda do cliente, badge de notificações,
+-- renovações de plano). Espelhados em @Table(indexes) nas entidades para os testes de plano no H2.
+
+-- findByScheduledAtBetween, existsByScheduledAt
+CREATE INDEX idx_agendamentos_data_horario ON agendamentos(data_horario);
+-- findByStatusAndBetween, findUpcomingByStatus
+CREATE INDEX idx_agendamentos_status_data_horario ON agendamentos(status, data_horario);
+-- findByClientId, findUpcomingByClient (cobre também a FK usuario_id)
+CREATE INDEX idx_agendamentos_usuario_data_horario ON agendamentos(usuario_id, data_horario);
+
+-- countByUserIdAndReadFalse / contador de não-lidas
+CREATE INDEX idx_notificacoes_usuario_lida ON notificacoes(usuario_id, lida);
+-- listagem paginada por (enviada_em, id); o InnoDB já anexa o id ao índice
+CREATE INDEX idx_notificacoes_usuario_enviada_em ON notificacoes(usuario_id, enviada_em);
+
+-- findByPlanEndDateBetweenAndActiveTrue: igualdade em ativo, intervalo na data
+CREATE INDEX idx_usuarios_ativo_data_encerramento ON usuarios(ativo, data_encerramento_plano);
@@ -0,0 +1,9 @@
+-- Contadores desnormalizados: o feed deixa de contar community_likes/community_comments a cada leitura.
+-- Mantidos por UPDATE atômico nas curtidas/comentários; CommunityCounterReconciler corrige desvios.
+ALTER TABLE community_posts
+    ADD COLUMN like_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN comment_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE community_posts p
+SET like_count = (SELECT COUNT(*) FROM community_likes l WHERE l.post_id = p.id),
+    comment_count = (SELECT COUNT(*) FROM community_comments c WHERE c.post_id = p.id);
@@ -0,0 +1,3 @@
+-- Prévia dos últimos comentários por post (ROW_NUMBER por post_id) e thread paginado por (created_at, id).
+-- O InnoDB já anexa o id ao índice. Espelhado em @Table(indexes) em CommunityComment.
+CREATE INDEX idx_community_comments_post_created ON community_comments(post_id, created_at);
@@ -0,0 +1,4 @@
+-- Feed por cursor em (created_at, id), sem COUNT nem OFFSET; o segundo índice atende o feed de um autor
+-- (e substitui, para a FK author_id, o índice criado implicitamente). Espelhados em @Table(indexes).
+CREATE INDEX idx_community_posts_created_id ON community_posts(created_at, id);
+CREATE INDEX idx_community_posts_author_created_id ON community_posts(author_id, created_at, id);
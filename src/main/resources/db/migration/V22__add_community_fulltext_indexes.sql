@@ -0,0 +1,4 @@
+-- Busca da comunidade (GET /api/v1/community/search): MATCH ... AGAINST em posts e comentários.
+-- Sem espelho em @Table: H2 não tem FULLTEXT e usa o índice em memória.
+ALTER TABLE community_posts ADD FULLTEXT INDEX ft_community_posts_title_content (title, content);
+ALTER TABLE community_comments ADD FULLTEXT INDEX ft_community_comments_content (content);
@@ -0,0 +1,153 @@
+package br.com.clube_quinze.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class AsyncOverflowHandlerTest {
+
+    private static final int QUEUE_CAPACITY = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch workerBusy = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        workerBusy.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callerRuns_runsRejectedTaskOnTheSubmittingThread() throws Exception {
+        AsyncOverflowHandler handler = saturate(AsyncOverflowHandler.Policy.CALLER_RUNS, 1);
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertEquals(Thread.currentThread(), ranOn.get());
+        assertEquals(0, handler.spilledCount());
+        assertEquals(1.0, rejected("caller_runs"));
+    }
+
+    @Test
+    void shed_dropsOnlyLowPriorityTasks() throws Exception {
+        saturate(AsyncOverflowHandler.Policy.SHED, 1);
+
+        AtomicBoolean lowRan = new AtomicBoolean();
+        AsyncPriority.with(AsyncPriority.LOW, () -> executor.execute(() -> lowRan.set(true)));
+        AtomicReference<Thread> normalRanOn = new AtomicReference<>();
+        executor.execute(() -> normalRanOn.set(Thread.currentThread()));
+        AtomicReference<Thread> highRanOn = new AtomicReference<>();
+        AsyncPriority.with(AsyncPriority.HIGH, () -> executor.execute(() -> highRanOn.set(Thread.currentThread())));
+
+        assertFalse(lowRan.get());
+        assertEquals(Thread.currentThread(), normalRanOn.get());
+        assertEquals(Thread.currentThread(), highRanOn.get());
+        assertEquals(1.0, rejected("shed"));
+        assertEquals(2.0, rejected("caller_runs"));
+        // A prioridade vale só dentro do with(): de volta ao padrão, nada mais é descartado.
+        assertEquals(AsyncPriority.NORMAL, AsyncPriority.current());
+    }
+
+    @Test
+    void spill_parksOverflowAndDrainsItBackIntoThePool() throws Exception {
+        AsyncOverflowHandler handler = saturate(AsyncOverflowHandler.Policy.SPILL, 1);
+
+        AtomicReference<Thread> spilledRanOn = new AtomicReference<>();
+        CountDownLatch spilledDone = new CountDownLatch(1);
+        executor.execute(() -> {
+            spilledRanOn.set(Thread.currentThread());
+            spilledDone.countDown();
+        });
+        assertEquals(1, handler.spilledCount());
+        assertEquals(1.0, meterRegistry.get("async.executor.spilled").gauge().value());
+
+        // Transbordo cheio: a próxima cai em caller-runs.
+        AtomicReference<Thread> overflowRanOn = new AtomicReference<>();
+        executor.execute(() -> overflowRanOn.set(Thread.currentThread()));
+        assertEquals(Thread.currentThread(), overflowRanOn.get());
+
+        // Enquanto o pool não tem vaga, drainInto não tira nada do transbordo.
+        handler.drainInto(executor.getThreadPoolExecutor());
+        assertEquals(1, handler.spilledCount());
+
+        workerBusy.countDown();
+        awaitEmptyQueue();
+        handler.drainInto(executor.getThreadPoolExecutor());
+
+        assertTrue(spilledDone.await(5, TimeUnit.SECONDS));
+        assertEquals(0, handler.spilledCount());
+        assertTrue(spilledRanOn.get().getName().startsWith("async-test-"));
+        assertEquals(1.0, rejected("spill"));
+        assertEquals(1.0, rejected("caller_runs"));
+    }
+
+    @Test
+    void runRemaining_runsWhatIsLeftInTheSpillOnTheCallingThread() throws Exception {
+        AsyncOverflowHandler handler = saturate(AsyncOverflowHandler.Policy.SPILL, 2);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        executor.execute(() -> ranOn.set(Thread.currentThread()));
+        assertEquals(1, handler.spilledCount());
+
+        handler.runRemaining();
+
+        assertEquals(Thread.currentThread(), ranOn.get());
+        assertEquals(0, handler.spilledCount());
+    }
+
+    /** Pool de uma thread presa em {@link #workerBusy} e fila de {@value #QUEUE_CAPACITY} já ocupada. */
+    private AsyncOverflowHandler saturate(AsyncOverflowHandler.Policy policy, int spillCapacity) throws Exception {
+        AsyncOverflowHandler handler = new AsyncOverflowHandler(policy, spillCapacity, meterRegistry);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("async-test-");
+        executor.setRejectedExecutionHandler(handler);
+        executor.initialize();
+
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await(workerBusy);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < QUEUE_CAPACITY; i++) {
+            executor.execute(() -> { });
+        }
+        assertEquals(0, executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        return handler;
+    }
+
+    private void awaitEmptyQueue() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "fila do executor não esvaziou a tempo");
+            Thread.sleep(10);
+        }
+    }
+
+    private double rejected(String action) {
+        return meterRegistry.counter("async.executor.rejected", "action", action).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -148,6 +148,12 @@ public abstract class AbstractIntegrationTest {
                 new HttpEntity<>(authHeaders(token)), Void.class);
     }
 
+    protected <T> ResponseEntity<T> delete(String path, String token, Class<T> responseType) {
+        return restTemplate.exchange(
+                url(path), HttpMethod.DELETE,
+                new HttpEntity<>(authHeaders(token)), responseType);
+    }
+
     private void registerUser(String email, String name) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("name", name);
@@ -0,0 +1,226 @@
+package br.com.clube_quinze.api.integration.community;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.service.community.CommunityCounterReconciler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração do feed da comunidade com cache.
+ *
+ * Cenários cobertos:
+ *  - Curtida e comentário aparecem no feed já em cache (fragmento do post invalidado)
+ *  - Reconciliação corrige contadores adulterados no banco e descarta o fragmento em cache
+ *  - /scroll encadeia páginas pelo X-Next-Cursor, com e sem filtro de autor, sem repetir nem pular
+ *  - sort=trending com página enorme devolve página vazia, não 500
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Comunidade — Feed em cache")
+class CommunityFeedIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BASE = "/api/v1/community/posts";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CommunityCounterReconciler reconciler;
+
+    @Test
+    @Order(1)
+    @DisplayName("Curtir/comentar → feed em cache mostra os novos totais")
+    void deveInvalidarFragmentoAposCurtida() {
+        Member author = register("feed_author");
+        Member reader = register("feed_reader");
+        Long postId = createPost(author, "Post em cache");
+
+        String feedPath = BASE + "?authorId=" + author.id();
+        Map<String, Object> before = onlyPost(get(feedPath, reader.token(), Map.class));
+        assertThat(before.get("id")).isEqualTo(postId.intValue());
+        assertThat(((Number) before.get("likeCount")).longValue()).isZero();
+        assertThat(((Number) before.get("commentCount")).longValue()).isZero();
+
+        ResponseEntity<Map> like = post(BASE + "/" + postId + "/likes", null, reader.token(), Map.class);
+        assertThat(like.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // Mesma página (lista de IDs em cache); só o fragmento do post foi descartado.
+        Map<String, Object> afterLike = onlyPost(get(feedPath, reader.token(), Map.class));
+        assertThat(((Number) afterLike.get("likeCount")).longValue()).isEqualTo(1L);
+        assertThat(afterLike.get("likedByMe")).isEqualTo(true);
+
+        ResponseEntity<Map> comment = post(BASE + "/" + postId + "/comments",
+                Map.of("content", "Comentário no post em cache"), reader.token(), Map.class);
+        assertThat(comment.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        Map<String, Object> afterComment = onlyPost(get(feedPath, author.token(), Map.class));
+        assertThat(((Number) afterComment.get("likeCount")).longValue()).isEqualTo(1L);
+        assertThat(((Number) afterComment.get("commentCount")).longValue()).isEqualTo(1L);
+        // Outro leitor: a curtida não é dele.
+        assertThat(afterComment.get("likedByMe")).isEqualTo(false);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Contadores adulterados → reconcile() volta aos totais reais")
+    void deveReconciliarContadoresAdulterados() {
+        Member author = register("reconcile_author");
+        Member reader = register("reconcile_reader");
+        Long postId = createPost(author, "Post com contador adulterado");
+        post(BASE + "/" + postId + "/likes", null, reader.token(), Map.class);
+        post(BASE + "/" + postId + "/comments", Map.of("content", "Único comentário"), reader.token(), Map.class);
+
+        // Aquece o fragmento com os valores corretos antes de adulterar.
+        assertThat(likeCount(get(BASE + "/" + postId, reader.token(), Map.class))).isEqualTo(1L);
+
+        jdbcTemplate.update("update community_posts set like_count = 99, comment_count = 42 where id = ?", postId);
+
+        reconciler.reconcile();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select like_count, comment_count from community_posts where id = ?", postId);
+        assertThat(((Number) row.get("like_count")).longValue()).isEqualTo(1L);
+        assertThat(((Number) row.get("comment_count")).longValue()).isEqualTo(1L);
+
+        ResponseEntity<Map> fromApi = get(BASE + "/" + postId, reader.token(), Map.class);
+        assertThat(fromApi.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(likeCount(fromApi)).isEqualTo(1L);
+        assertThat(((Number) fromApi.getBody().get("commentCount")).longValue()).isEqualTo(1L);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("GET /posts/scroll → páginas encadeadas pelo X-Next-Cursor, com e sem autor")
+    void devePaginarScrollPorCursor() {
+        Member first = register("scroll_a");
+        Member second = register("scroll_b");
+        List<Long> firstIds = new ArrayList<>();
+        List<Long> allIds = new ArrayList<>();
+        // Intercalados, para o filtro por autor precisar pular posts do outro membro.
+        for (int i = 1; i <= 7; i++) {
+            Member author = i == 3 || i == 5 ? second : first;
+            Long id = createPost(author, "Rolagem " + i);
+            allIds.add(id);
+            if (author == first) {
+                firstIds.add(id);
+            }
+        }
+
+        List<Long> byAuthor = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            ResponseEntity<List> page = scroll(2, first.id(), cursor, first.token());
+            byAuthor.addAll(ids(page));
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+            pages++;
+            if (cursor != null) {
+                assertThat(page.getBody()).hasSize(2);
+            }
+        } while (cursor != null && pages < 10);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(byAuthor).doesNotHaveDuplicates()
+                .containsExactlyElementsOf(firstIds.reversed());
+
+        // Sem filtro o feed tem posts de outros testes: percorre até o fim e confere só os deste.
+        List<Long> feed = new ArrayList<>();
+        pages = 0;
+        cursor = null;
+        do {
+            ResponseEntity<List> page = scroll(3, null, cursor, second.token());
+            feed.addAll(ids(page));
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+            pages++;
+        } while (cursor != null && pages < 100);
+
+        assertThat(cursor).isNull();
+        assertThat(feed).doesNotHaveDuplicates().containsAll(allIds);
+        assertThat(feed.stream().filter(allIds::contains).toList())
+                .isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("GET /posts?sort=trending&page=50000000 → página vazia")
+    void deveAceitarPaginaTrendingAlemDoRanking() {
+        Member reader = register("trending_reader");
+        createPost(reader, "Post em alta");
+
+        ResponseEntity<Map> page = get(BASE + "?sort=trending&page=50000000&size=50", reader.token(), Map.class);
+
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<?>) page.getBody().get("content")).isEmpty();
+    }
+
+    private ResponseEntity<List> scroll(int size, Long authorId, String cursor, String token) {
+        String path = BASE + "/scroll?size=" + size
+                + (authorId != null ? "&authorId=" + authorId : "")
+                + (cursor != null ? "&cursor=" + cursor : "");
+        ResponseEntity<List> page = get(path, token, List.class);
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return page;
+    }
+
+    private static List<Long> ids(ResponseEntity<List> page) {
+        List<Long> ids = new ArrayList<>();
+        for (Object item : page.getBody()) {
+            ids.add(((Number) ((Map) item).get("id")).longValue());
+        }
+        return ids;
+    }
+
+    private static long likeCount(ResponseEntity<Map> post) {
+        return ((Number) post.getBody().get("likeCount")).longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> onlyPost(ResponseEntity<Map> feed) {
+        assertThat(feed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> content = (List<Map<String, Object>>) feed.getBody().get("content");
+        assertThat(content).hasSize(1);
+        return content.get(0);
+    }
+
+    private Long createPost(Member author, String title) {
+        Map<String, Object> request = Map.of(
+                "title", title,
+                "content", "Conteúdo de " + title,
+                "media", List.of()
+        );
+        ResponseEntity<Map> response = post(BASE, request, author.token(), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+
+    private Member register(String prefix) {
+        String email = prefix + "_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> request = Map.of(
+                "name", "Membro " + prefix,
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> response = postPublic("/api/v1/auth/register", request, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Long id = userRepository.findByEmail(email).orElseThrow().getId();
+        return new Member(id, (String) response.getBody().get("accessToken"));
+    }
+
+    private record Member(Long id, String token) {
+    }
+}
@@ -133,20 +133,27 @@ class CommunityIntegrationTest extends AbstractIntegrationTest {
         ResponseEntity<Map> response = post(BASE + "/" + createdPostId + "/likes", null, memberToken, Map.class);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(response.getBody()).containsKey("id");
+        assertThat(response.getBody()).containsEntry("liked", true);
+        assertThat(((Number) response.getBody().get("likeCount")).longValue()).isEqualTo(1L);
+
+        // Toque repetido é idempotente: não duplica a curtida nem o contador.
+        ResponseEntity<Map> again = post(BASE + "/" + createdPostId + "/likes", null, memberToken, Map.class);
+        assertThat(((Number) again.getBody().get("likeCount")).longValue()).isEqualTo(1L);
     }
 
     @Test
     @Order(7)
-    @DisplayName("DELETE /community/posts/{id}/likes → 204 descurtir post")
+    @DisplayName("DELETE /community/posts/{id}/likes → 200 descurtir post e devolver o total")
     void deveDescurtirPost() {
         if (createdPostId == null) deveCriarPost();
         // Garante que curtiu primeiro
         post(BASE + "/" + createdPostId + "/likes", null, memberToken, Map.class);
 
-        ResponseEntity<Void> response = delete(BASE + "/" + createdPostId + "/likes", memberToken);
+        ResponseEntity<Map> response = delete(BASE + "/" + createdPostId + "/likes", memberToken, Map.class);
 
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("liked", false);
+        assertThat(((Number) response.getBody().get("likeCount")).longValue()).isZero();
     }
 
     @Test
@@ -189,4 +196,87 @@ class CommunityIntegrationTest extends AbstractIntegrationTest {
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
+
+    @Test
+    @Order(11)
+    @DisplayName("GET /community/posts/{id}/comments → 200 thread paginado por cursor")
+    void deveListarComentariosPorCursor() {
+        if (createdPostId == null) deveCriarPost();
+        for (int i = 1; i <= 3; i++) {
+            post(BASE + "/" + createdPostId + "/comments", Map.of("content", "Comentário " + i), memberToken, Map.class);
+        }
+
+        ResponseEntity<List> first = get(BASE + "/" + createdPostId + "/comments?size=2", memberToken, List.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).hasSize(2);
+        String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<List> second = get(BASE + "/" + createdPostId + "/comments?size=2&cursor=" + cursor, memberToken, List.class);
+        assertThat(second.getBody()).hasSize(1);
+        assertThat(((Map<?, ?>) second.getBody().get(0)).get("content")).isEqualTo("Comentário 3");
+        assertThat(second.getHeaders().getFirst("X-Next-Cursor")).isNull();
+
+        ResponseEntity<Map> detail = get(BASE + "/" + createdPostId, memberToken, Map.class);
+        assertThat(((Number) detail.getBody().get("commentCount")).longValue()).isEqualTo(3L);
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("GET /community/search → 200 posts por relevância, incluindo casamento em comentário")
+    void deveBuscarPostsPorTexto() {
+        ResponseEntity<Map> byTitle = post(BASE, Map.of("title", "Coloração vermelha", "content", "Resultado da coloração de hoje"),
+                memberToken, Map.class);
+        Long titleMatchId = ((Number) byTitle.getBody().get("id")).longValue();
+        ResponseEntity<Map> byComment = post(BASE, Map.of("title", "Dia no salão", "content", "Sem palavras"), memberToken, Map.class);
+        Long commentMatchId = ((Number) byComment.getBody().get("id")).longValue();
+        post(BASE + "/" + commentMatchId + "/comments", Map.of("content", "Amei a coloracao"), memberToken, Map.class);
+
+        ResponseEntity<List> first = get("/api/v1/community/search?q=Coloração&size=1", memberToken, List.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).hasSize(1);
+        assertThat(((Number) ((Map<?, ?>) first.getBody().get(0)).get("id")).longValue()).isEqualTo(titleMatchId);
+        String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<List> second = get("/api/v1/community/search?q=Coloração&size=1&cursor=" + cursor, memberToken, List.class);
+        assertThat(second.getBody()).hasSize(1);
+        assertThat(((Number) ((Map<?, ?>) second.getBody().get(0)).get("id")).longValue()).isEqualTo(commentMatchId);
+        assertThat(second.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("GET /community/posts?sort=trending → 200 ordenado pelo ranking de interações")
+    void deveListarFeedEmAlta() {
+        ResponseEntity<Map> created = post(BASE, Map.of("title", "Post em alta", "content", "Muito comentado"), memberToken, Map.class);
+        Long hotId = ((Number) created.getBody().get("id")).longValue();
+        post(BASE + "/" + hotId + "/likes", null, memberToken, Map.class);
+        post(BASE + "/" + hotId + "/comments", Map.of("content", "Primeiro"), memberToken, Map.class);
+        post(BASE + "/" + hotId + "/comments", Map.of("content", "Segundo"), memberToken, Map.class);
+
+        ResponseEntity<Map> response = get(BASE + "?sort=trending&size=5", memberToken, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<?> content = (List<?>) response.getBody().get("content");
+        assertThat(((Number) ((Map<?, ?>) content.get(0)).get("id")).longValue()).isEqualTo(hotId);
+
+        ResponseEntity<Map> invalid = get(BASE + "?sort=popular", memberToken, Map.class);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("GET /community/posts/{id} → 200 com resumo do autor e likedByMe de quem pede")
+    void deveTrazerAutorECurtidaDoLeitor() {
+        ResponseEntity<Map> created = post(BASE, Map.of("title", "Com autor", "content", "Resumo embutido"), memberToken, Map.class);
+        Long postId = ((Number) created.getBody().get("id")).longValue();
+        post(BASE + "/" + postId + "/likes", null, memberToken, Map.class);
+
+        ResponseEntity<Map> mine = get(BASE + "/" + postId, memberToken, Map.class);
+        assertThat(mine.getBody().get("likedByMe")).isEqualTo(true);
+        assertThat(((Map<?, ?>) mine.getBody().get("author")).get("name")).isEqualTo("Membro Comunidade");
+
+        ResponseEntity<Map> anonymous = restTemplate.getForEntity(url(BASE + "/" + postId), Map.class);
+        assertThat(anonymous.getBody().get("likedByMe")).isEqualTo(false);
+    }
 }
@@ -0,0 +1,272 @@
+package br.com.clube_quinze.api.integration.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import br.com.clube_quinze.api.model.enumeration.AppointmentStatus;
+import br.com.clube_quinze.api.repository.AppointmentRepository;
+import br.com.clube_quinze.api.repository.NotificationRepository;
+import br.com.clube_quinze.api.repository.UserRepository;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Regressão de plano das consultas quentes contra MariaDB real (Testcontainers), com o schema criado pelas
+ * migrações do Flyway. Cada caso chama o método de repositório, captura o SQL e os parâmetros que o
+ * Hibernate enviou ao driver e roda EXPLAIN nesse mesmo comando, exigindo o índice da V18 na coluna
+ * {@code key}. As tabelas recebem alguns milhares de linhas (e ANALYZE) para o otimizador não preferir
+ * full scan por serem pequenas. Sem Docker, a classe é ignorada.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Planos de execução das consultas quentes (MariaDB)")
+class HotQueryPlanIntegrationTest {
+
+    @Container
+    static final MariaDbContainer MARIADB = new MariaDbContainer();
+
+    @DynamicPropertySource
+    static void mariaDbProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MARIADB::getJdbcUrl);
+        registry.add("spring.datasource.username", MARIADB::getUsername);
+        registry.add("spring.datasource.password", MARIADB::getPassword);
+        registry.add("spring.datasource.driver-class-name", MARIADB::getDriverClassName);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MariaDBDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MariaDBDialect");
+    }
+
+    /** Consulta quente → índice esperado no plano. */
+    enum HotQuery {
+        APPOINTMENTS_BETWEEN("idx_agendamentos_data_horario"),
+        APPOINTMENTS_BY_STATUS_BETWEEN("idx_agendamentos_status_data_horario"),
+        UPCOMING_BY_CLIENT("idx_agendamentos_usuario_data_horario"),
+        UNREAD_COUNT("idx_notificacoes_usuario_lida"),
+        NOTIFICATIONS_FIRST_PAGE("idx_notificacoes_usuario_enviada_em"),
+        NOTIFICATIONS_PAGE_BEFORE("idx_notificacoes_usuario_enviada_em"),
+        PLANS_ENDING_BETWEEN("idx_usuarios_ativo_data_encerramento");
+
+        final String expectedKey;
+
+        HotQuery(String expectedKey) {
+            this.expectedKey = expectedKey;
+        }
+    }
+
+    private static boolean seeded;
+    private static Long sampleUserId;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) return;
+        // seq_1_to_N: tabela virtual do engine SEQUENCE do MariaDB.
+        jdbcTemplate.update("""
+                INSERT INTO usuarios (nome, email, senha_hash, tipo_membro, role, data_cadastro, ativo, data_encerramento_plano)
+                SELECT CONCAT('Plano ', seq), CONCAT('plano', seq, '@explain.test'), 'x', 'QUINZE_STANDARD', 'CLUB_STANDARD',
+                       NOW(), seq % 2 = 0, DATE '2030-01-01' + INTERVAL (seq % 730) DAY
+                FROM seq_1_to_2000
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO agendamentos (usuario_id, data_horario, tipo_atendimento, status, criado_em, atualizado_em)
+                SELECT u.id, TIMESTAMP '2030-01-01 00:00:00' + INTERVAL s.seq * 30 MINUTE, 'QUINZE_STANDARD',
+                       ELT(1 + s.seq % 3, 'SCHEDULED', 'COMPLETED', 'CANCELED'), NOW(), NOW()
+                FROM seq_1_to_20000 s
+                JOIN usuarios u ON u.email = CONCAT('plano', 1 + s.seq % 2000, '@explain.test')
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO notificacoes (usuario_id, titulo, mensagem, tipo, lida, enviada_em)
+                SELECT u.id, 'Aviso', 'Mensagem', 'GENERAL', s.seq % 2 = 0, TIMESTAMP '2030-01-01 00:00:00' + INTERVAL s.seq MINUTE
+                FROM seq_1_to_20000 s
+                JOIN usuarios u ON u.email = CONCAT('plano', 1 + s.seq % 2000, '@explain.test')
+                """);
+        jdbcTemplate.queryForList("ANALYZE TABLE usuarios, agendamentos, notificacoes");
+        sampleUserId = userRepository.findByEmail("plano1@explain.test").orElseThrow().getId();
+        seeded = true;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(HotQuery.class)
+    void hotQueryUsesItsIndex(HotQuery query) {
+        CapturingDataSource capturing = dataSource.unwrap(CapturingDataSource.class);
+        List<CapturedStatement> statements = capturing.capture(() -> run(query));
+        assertThat(statements).as("nenhum SQL capturado para %s", query).isNotEmpty();
+
+        // O primeiro comando é a consulta do método; os seguintes seriam cargas de associações.
+        CapturedStatement statement = statements.get(0);
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                statement.params().toArray());
+
+        assertThat(plan).extracting(row -> row.get("key"))
+                .as("plano de %s:%n%s%n%s", query, statement.sql(), plan)
+                .contains(query.expectedKey);
+    }
+
+    private void run(HotQuery query) {
+        LocalDateTime start = LocalDateTime.of(2030, 2, 1, 0, 0);
+        LocalDateTime end = start.plusHours(12);
+        switch (query) {
+            case APPOINTMENTS_BETWEEN -> appointmentRepository.findByScheduledAtBetween(start, end);
+            case APPOINTMENTS_BY_STATUS_BETWEEN ->
+                    appointmentRepository.findByStatusAndBetween(AppointmentStatus.SCHEDULED, start, end);
+            case UPCOMING_BY_CLIENT -> appointmentRepository.findUpcomingByClient(sampleUserId, start);
+            case UNREAD_COUNT -> notificationRepository.countByUserIdAndReadFalse(sampleUserId);
+            case NOTIFICATIONS_FIRST_PAGE ->
+                    notificationRepository.findByUserIdOrderBySentAtDescIdDesc(sampleUserId, PageRequest.of(0, 21));
+            case NOTIFICATIONS_PAGE_BEFORE -> notificationRepository.findPageBefore(
+                    sampleUserId, LocalDateTime.of(2030, 1, 8, 0, 0), Long.MAX_VALUE, PageRequest.of(0, 21));
+            case PLANS_ENDING_BETWEEN -> userRepository.findByPlanEndDateBetweenAndActiveTrueOrderByPlanEndDateAsc(
+                    LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 5));
+        }
+    }
+
+    /** Imagem de produção (MariaDB) no módulo mysql do Testcontainers, com o driver que a aplicação usa. */
+    static final class MariaDbContainer extends MySQLContainer<MariaDbContainer> {
+
+        MariaDbContainer() {
+            super(DockerImageName.parse("mariadb:11.4").asCompatibleSubstituteFor("mysql"));
+            withDatabaseName("clube_quinze");
+        }
+
+        @Override
+        public String getDriverClassName() {
+            return "org.mariadb.jdbc.Driver";
+        }
+
+        @Override
+        public String getJdbcUrl() {
+            return "jdbc:mariadb://" + getHost() + ":" + getMappedPort(MYSQL_PORT) + "/" + getDatabaseName();
+        }
+    }
+
+    record CapturedStatement(String sql, List<Object> params) {
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ds && !(bean instanceof CapturingDataSource)
+                            ? new CapturingDataSource(ds) : bean;
+                }
+            };
+        }
+    }
+
+    /** Registra, só na thread que chamou {@link #capture}, cada PreparedStatement executado e seus parâmetros. */
+    static final class CapturingDataSource extends DelegatingDataSource {
+
+        private final ThreadLocal<List<CapturedStatement>> capturing = new ThreadLocal<>();
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        List<CapturedStatement> capture(Runnable call) {
+            List<CapturedStatement> statements = new ArrayList<>();
+            capturing.set(statements);
+            try {
+                call.run();
+            } finally {
+                capturing.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                            return recording(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            params.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.startsWith("execute")) {
+                            List<CapturedStatement> target = capturing.get();
+                            if (target != null) {
+                                target.add(new CapturedStatement(sql, new ArrayList<>(params.values())));
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
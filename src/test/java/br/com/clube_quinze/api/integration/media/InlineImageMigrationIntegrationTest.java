@@ -0,0 +1,123 @@
+package br.com.clube_quinze.api.integration.media;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.service.media.InlineImageMigrationJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da migração de imagens base64 para arquivos ({@link InlineImageMigrationJob}).
+ *
+ * Cenários cobertos:
+ *  - Linha com base64 válido passa a ter URL de arquivo e base64 nulo
+ *  - Linha que já tinha URL só perde o base64 redundante
+ *  - Linha com base64 inválido fica como está
+ *  - Foto de perfil em usuarios segue as mesmas regras
+ */
+@DisplayName("Mídia — Migração de imagens base64")
+class InlineImageMigrationIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BASE_URL = "http://localhost/uploads/";
+    private static final String PNG = Base64.getEncoder().encodeToString(
+            new byte[]{(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D});
+    private static final String NOT_AN_IMAGE = Base64.getEncoder().encodeToString(
+            "apenas texto".getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InlineImageMigrationJob migrationJob;
+
+    @Value("${app.media.storage-path}")
+    private String storagePath;
+
+    @Test
+    @DisplayName("start() → migra válidas para arquivo e deixa inválidas intactas")
+    void deveMigrarValidasEIgnorarInvalidas() throws Exception {
+        String email = "migration_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> regReq = Map.of(
+                "name", "Membro Migração",
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> regRes = postPublic("/api/v1/auth/register", regReq, Map.class);
+        assertThat(regRes.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String token = (String) regRes.getBody().get("accessToken");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+
+        Map<String, Object> postReq = Map.of("title", "Post legado", "content", "Com imagens inline", "media", List.of());
+        ResponseEntity<Map> postRes = post("/api/v1/community/posts", postReq, token, Map.class);
+        assertThat(postRes.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Long postId = ((Number) postRes.getBody().get("id")).longValue();
+
+        // Gravadas como antes da mudança: base64 direto na linha. A válida por último, para o polling.
+        Long invalidId = insertMedia(postId, 0, null, NOT_AN_IMAGE);
+        Long redundantId = insertMedia(postId, 1, "https://cdn.example.com/antiga.png", PNG);
+        Long validId = insertMedia(postId, 2, null, "data:image/png;base64," + PNG);
+        jdbcTemplate.update("update usuarios set profile_picture_url = null, profile_picture_base64 = ? where id = ?",
+                PNG, userId);
+
+        migrationJob.start();
+        // usuarios é a última tabela da lista: quando ela migra, as mídias de post já passaram.
+        awaitNull("select profile_picture_base64 from usuarios where id = ?", userId);
+
+        Map<String, Object> valid = mediaRow(validId);
+        assertThat(valid.get("image_base64")).isNull();
+        assertStoredFile((String) valid.get("image_url"), "posts/");
+
+        Map<String, Object> redundant = mediaRow(redundantId);
+        assertThat(redundant.get("image_base64")).isNull();
+        assertThat(redundant.get("image_url")).isEqualTo("https://cdn.example.com/antiga.png");
+
+        Map<String, Object> invalid = mediaRow(invalidId);
+        assertThat(invalid.get("image_base64")).isEqualTo(NOT_AN_IMAGE);
+        assertThat(invalid.get("image_url")).isNull();
+
+        String pictureUrl = jdbcTemplate.queryForObject(
+                "select profile_picture_url from usuarios where id = ?", String.class, userId);
+        assertStoredFile(pictureUrl, "profile/");
+    }
+
+    private Long insertMedia(Long postId, int position, String url, String base64) {
+        jdbcTemplate.update("insert into community_post_media (post_id, position, image_url, image_base64, created_at)"
+                + " values (?, ?, ?, ?, ?)", postId, position, url, base64, Timestamp.valueOf(LocalDateTime.now()));
+        return jdbcTemplate.queryForObject(
+                "select id from community_post_media where post_id = ? and position = ?", Long.class, postId, position);
+    }
+
+    private Map<String, Object> mediaRow(Long id) {
+        return jdbcTemplate.queryForMap(
+                "select image_url, image_base64 from community_post_media where id = ?", id);
+    }
+
+    private void assertStoredFile(String url, String folder) {
+        assertThat(url).startsWith(BASE_URL + folder).endsWith(".png");
+        assertThat(Path.of(storagePath).resolve(url.substring(BASE_URL.length()))).exists();
+    }
+
+    private void awaitNull(String sql, Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (jdbcTemplate.queryForObject(sql, String.class, id) != null) {
+            assertThat(System.currentTimeMillis()).as("migração não terminou a tempo").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.clube_quinze.api.integration.notification;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.service.notification.PushNotificationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da listagem de notificações ({@code GET /notifications}).
+ *
+ * Cenários cobertos:
+ *  - Paginação por cursor (X-Next-Cursor) percorre tudo sem repetir nem pular
+ *  - 304 com If-None-Match igual ao ETag
+ *  - ETag muda após nova notificação e após marcar como lida
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Notificações — Listagem com cursor e ETag")
+class NotificationListIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BASE = "/api/v1/notifications";
+
+    @Autowired
+    private PushNotificationService pushNotificationService;
+
+    @Test
+    @Order(1)
+    @DisplayName("GET /notifications?size=2 → páginas encadeadas pelo X-Next-Cursor")
+    void devePaginarPorCursor() {
+        String email = register();
+        String token = authenticate(email, "Senha@1234");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+        for (int i = 1; i <= 5; i++) {
+            pushNotificationService.sendToUser(userId, "GENERAL", "Aviso " + i, "Corpo " + i, Map.of());
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String path = BASE + "?size=2" + (cursor != null ? "&cursor=" + cursor : "");
+            ResponseEntity<List> page = get(path, token, List.class);
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            for (Object item : page.getBody()) {
+                ids.add(((Number) ((Map) item).get("id")).longValue());
+            }
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+            pages++;
+            if (cursor != null) {
+                assertThat(page.getBody()).hasSize(2);
+            }
+        } while (cursor != null && pages < 10);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+        // Mesma ordem do feed: mais recentes primeiro (ids crescem com o envio).
+        assertThat(ids).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("GET /notifications com If-None-Match → 304 até algo mudar")
+    void deveResponder304EnquantoNadaMuda() {
+        String email = register();
+        String token = authenticate(email, "Senha@1234");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+        pushNotificationService.sendToUser(userId, "GENERAL", "Primeira", "Corpo", Map.of());
+
+        ResponseEntity<List> first = get(BASE, token, List.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotBlank();
+
+        ResponseEntity<List> notModified = getIfNoneMatch(BASE, token, etag);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+
+        // Outra página/tamanho é outro recurso: não pode reaproveitar o ETag.
+        assertThat(getIfNoneMatch(BASE + "?size=1", token, etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        pushNotificationService.sendToUser(userId, "GENERAL", "Segunda", "Corpo", Map.of());
+        ResponseEntity<List> afterCreate = getIfNoneMatch(BASE, token, etag);
+        assertThat(afterCreate.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterCreate.getBody()).hasSize(2);
+        String etagAfterCreate = afterCreate.getHeaders().getETag();
+        assertThat(etagAfterCreate).isNotEqualTo(etag);
+
+        Long newestId = ((Number) ((Map) afterCreate.getBody().get(0)).get("id")).longValue();
+        patch(BASE + "/" + newestId + "/read", null, token, Void.class);
+        ResponseEntity<List> afterRead = getIfNoneMatch(BASE, token, etagAfterCreate);
+        assertThat(afterRead.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterRead.getHeaders().getETag()).isNotEqualTo(etagAfterCreate);
+        assertThat(((Map) afterRead.getBody().get(0)).get("read")).isEqualTo(true);
+    }
+
+    private ResponseEntity<List> getIfNoneMatch(String path, String token, String etag) {
+        HttpHeaders headers = authHeaders(token);
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url(path), HttpMethod.GET, new HttpEntity<>(headers), List.class);
+    }
+
+    private String register() {
+        String email = "notif_list_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> request = Map.of(
+                "name", "Membro Listagem",
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> response = postPublic("/api/v1/auth/register", request, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return email;
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.clube_quinze.api.integration.notification;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.service.notification.PushNotificationService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração do stream SSE de notificações ({@code GET /notifications/stream}).
+ *
+ * Cenários cobertos:
+ *  - Conexão recebe o total de não-lidas logo de início
+ *  - Nova notificação chega como evento "notification" e atualiza "unread-count"
+ *  - 401 sem autenticação
+ *  - Re-despacho ASYNC (fim/timeout do stream) passa pela segurança sem token
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Notificações — Stream SSE")
+class NotificationStreamIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String STREAM = "/api/v1/notifications/stream";
+    /** Marca o fim do stream na fila de linhas lidas. */
+    private static final String EOF = "\u0000EOF";
+
+    @Autowired
+    private PushNotificationService pushNotificationService;
+
+    @Autowired
+    @Qualifier("springSecurityFilterChain")
+    private Filter springSecurityFilterChain;
+
+    @Test
+    @Order(1)
+    @DisplayName("GET /notifications/stream → evento inicial e entrega de nova notificação")
+    void deveEntregarEventosPeloStream() throws Exception {
+        String email = "sse_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> regReq = Map.of(
+                "name", "Membro Stream",
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> regRes = postPublic("/api/v1/auth/register", regReq, Map.class);
+        assertThat(regRes.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String token = (String) regRes.getBody().get("accessToken");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url(STREAM)))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/event-stream"));
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> {
+            try (Stream<String> body = response.body()) {
+                body.forEach(lines::add);
+            } catch (Exception ignored) {
+                // conexão encerrada pelo teste
+            }
+            lines.add(EOF);
+        });
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            Map.Entry<String, String> initial = nextEvent(lines);
+            assertThat(initial.getKey()).isEqualTo("unread-count");
+            assertThat(initial.getValue()).contains("\"count\":0");
+
+            pushNotificationService.sendToUser(userId, "GENERAL", "Aviso pelo stream", "Chegou em tempo real", Map.of());
+
+            // Os dois eventos saem após o commit, sem ordem garantida entre eles.
+            Map<String, String> events = new HashMap<>();
+            for (int i = 0; i < 2; i++) {
+                Map.Entry<String, String> event = nextEvent(lines);
+                events.put(event.getKey(), event.getValue());
+            }
+            assertThat(events.get("notification")).contains("Aviso pelo stream");
+            assertThat(events.get("unread-count")).contains("\"count\":1");
+        } finally {
+            reader.interrupt();
+            client.shutdownNow();
+        }
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("GET /notifications/stream → 401 sem autenticação")
+    void deveRetornar401SemAutenticacao() {
+        ResponseEntity<String> response = restTemplate.getForEntity(url(STREAM), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Despacho ASYNC do stream passa pela segurança sem token; REQUEST não")
+    void devePermitirDespachoAssincrono() throws Exception {
+        // O re-despacho ASYNC não reexecuta o filtro JWT; sem o permitAll ele cairia em 401/403
+        // com a resposta já comprometida ao fim de cada conexão SSE.
+        MockFilterChain asyncChain = new MockFilterChain();
+        MockHttpServletResponse asyncResponse = new MockHttpServletResponse();
+        springSecurityFilterChain.doFilter(streamRequest(DispatcherType.ASYNC), asyncResponse, asyncChain);
+
+        assertThat(asyncChain.getRequest()).isNotNull();
+        assertThat(asyncResponse.getStatus()).isEqualTo(200);
+
+        MockFilterChain requestChain = new MockFilterChain();
+        MockHttpServletResponse requestResponse = new MockHttpServletResponse();
+        springSecurityFilterChain.doFilter(streamRequest(DispatcherType.REQUEST), requestResponse, requestChain);
+
+        assertThat(requestChain.getRequest()).isNull();
+        assertThat(requestResponse.getStatus()).isEqualTo(401);
+    }
+
+    private static MockHttpServletRequest streamRequest(DispatcherType dispatcherType) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", STREAM);
+        request.setDispatcherType(dispatcherType);
+        return request;
+    }
+
+    /** Lê o próximo evento nomeado do stream (ignora comentários de heartbeat): nome → linha {@code data:}. */
+    private static Map.Entry<String, String> nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        String name = null;
+        while (true) {
+            String line = lines.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            assertThat(line).as("nenhum evento chegou pelo stream").isNotNull().isNotEqualTo(EOF);
+            if (line.startsWith("event:")) {
+                name = line.substring("event:".length()).trim();
+            } else if (name != null && line.startsWith("data:")) {
+                return Map.entry(name, line.substring("data:".length()));
+            }
+        }
+    }
+}
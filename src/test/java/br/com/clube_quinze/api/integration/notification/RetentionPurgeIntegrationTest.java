@@ -0,0 +1,149 @@
+package br.com.clube_quinze.api.integration.notification;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.model.enumeration.NotificationType;
+import br.com.clube_quinze.api.model.notification.Notification;
+import br.com.clube_quinze.api.repository.NotificationRepository;
+import br.com.clube_quinze.api.service.notification.RetentionPurgeScheduler;
+import br.com.clube_quinze.api.service.notification.UnreadNotificationCounter;
+import br.com.clube_quinze.api.service.settings.SettingsService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da limpeza por retenção ({@link RetentionPurgeScheduler}) em notificacoes.
+ *
+ * Cenários cobertos:
+ *  - Apaga em lotes só as linhas além do TTL
+ *  - Arquiva cada lote em notificacoes-<data>.jsonl.gz antes de apagar
+ *  - Contador de não-lidas e ETag da listagem refletem as não-lidas expurgadas
+ */
+@DisplayName("Notificações — Limpeza por retenção")
+class RetentionPurgeIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SettingsService settingsService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    @DisplayName("purge() → apaga antigas em lotes, arquiva e invalida o contador de não-lidas")
+    void deveApagarArquivarEInvalidarContador() throws Exception {
+        String email = "retention_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> regReq = Map.of(
+                "name", "Membro Retenção",
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> regRes = postPublic("/api/v1/auth/register", regReq, Map.class);
+        assertThat(regRes.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String token = (String) regRes.getBody().get("accessToken");
+        Long userId = userRepository.findByEmail(email).orElseThrow().getId();
+
+        List<Long> oldIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            oldIds.add(saveUnread(userId, "Antiga " + i));
+        }
+        Long recentId = saveUnread(userId, "Recente");
+        // Bem além de qualquer TTL configurado; a recente fica dentro.
+        Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(2000));
+        for (Long id : oldIds) {
+            jdbcTemplate.update("update notificacoes set enviada_em = ? where id = ?", longAgo, id);
+        }
+
+        assertThat(unreadCount(token)).isEqualTo(4L);
+        String etag = get("/api/v1/notifications", token, List.class).getHeaders().getETag();
+
+        // Lote de 2 para três linhas antigas: exercita o laço de lotes e o arquivo com membros gzip concatenados.
+        RetentionPurgeScheduler scheduler = new RetentionPurgeScheduler(jdbcTemplate, settingsService,
+                new SimpleMeterRegistry(), objectMapper, unreadCounter, 2, 0, 10, archiveDir.toString());
+        scheduler.purge();
+
+        List<Long> remaining = jdbcTemplate.queryForList(
+                "select id from notificacoes where usuario_id = ?", Long.class, userId);
+        assertThat(remaining).containsExactly(recentId);
+
+        Path archive = archiveDir.resolve("notificacoes-" + LocalDate.now() + ".jsonl.gz");
+        assertThat(archive).exists();
+        assertThat(archivedIds(archive)).containsAll(oldIds).doesNotContain(recentId);
+
+        // As três expurgadas eram não-lidas: o badge não pode continuar em 4.
+        assertThat(unreadCount(token)).isEqualTo(1L);
+
+        HttpHeaders headers = authHeaders(token);
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<List> afterPurge = restTemplate.exchange(
+                url("/api/v1/notifications"), HttpMethod.GET, new HttpEntity<>(headers), List.class);
+        assertThat(afterPurge.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterPurge.getBody()).hasSize(1);
+    }
+
+    private Long saveUnread(Long userId, String title) {
+        Notification n = new Notification();
+        n.setUser(userRepository.getReferenceById(userId));
+        n.setTitle(title);
+        n.setMessage("Gravada para o teste de retenção");
+        n.setType(NotificationType.GENERAL);
+        n.setRead(false);
+        return notificationRepository.save(n).getId();
+    }
+
+    private long unreadCount(String token) {
+        ResponseEntity<Map> response = get("/api/v1/notifications/unread-count", token, Map.class);
+        return ((Number) response.getBody().get("count")).longValue();
+    }
+
+    private List<Long> archivedIds(Path archive) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // O nome da coluna vem com a caixa do banco (H2 devolve em maiúsculas).
+                Map<String, Object> row = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                row.putAll(objectMapper.readValue(line, new TypeReference<Map<String, Object>>() {}));
+                ids.add(((Number) row.get("id")).longValue());
+            }
+        }
+        return Collections.unmodifiableList(ids);
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.clube_quinze.api.integration.notification;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.model.enumeration.NotificationType;
+import br.com.clube_quinze.api.model.notification.Notification;
+import br.com.clube_quinze.api.repository.NotificationRepository;
+import br.com.clube_quinze.api.service.notification.PushNotificationService;
+import br.com.clube_quinze.api.service.notification.UnreadNotificationCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração do contador de não-lidas ({@code GET /notifications/unread-count}).
+ *
+ * Cenários cobertos:
+ *  - Criar notificação incrementa o contador
+ *  - Marcar uma como lida decrementa (e repetir não decrementa de novo)
+ *  - PATCHs concorrentes na mesma notificação descontam uma vez só
+ *  - Marcar todas como lidas zera
+ *  - Usuário sem contador em cache é recontado do banco
+ *  - Reconciliação corrige contador defasado
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Notificações — Contador de não-lidas")
+class UnreadCounterIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String BASE = "/api/v1/notifications";
+
+    @Autowired
+    private PushNotificationService pushNotificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
+    @Test
+    @Order(1)
+    @DisplayName("Criar, ler uma e ler todas → contador acompanha sem recontar")
+    void deveAcompanharCriacaoELeitura() {
+        String email = register();
+        String token = authenticate(email, "Senha@1234");
+        Long userId = userId(email);
+
+        assertThat(unreadCount(token)).isZero();
+
+        pushNotificationService.sendToUser(userId, "GENERAL", "Primeira", "Corpo 1", Map.of());
+        pushNotificationService.sendToUser(userId, "GENERAL", "Segunda", "Corpo 2", Map.of());
+        assertThat(unreadCount(token)).isEqualTo(2L);
+
+        ResponseEntity<List> list = get(BASE, token, List.class);
+        assertThat(list.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Long firstId = ((Number) ((Map) list.getBody().get(0)).get("id")).longValue();
+
+        ResponseEntity<Void> read = patch(BASE + "/" + firstId + "/read", null, token, Void.class);
+        assertThat(read.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(unreadCount(token)).isEqualTo(1L);
+
+        // Marcar de novo a mesma notificação não pode descontar duas vezes.
+        patch(BASE + "/" + firstId + "/read", null, token, Void.class);
+        assertThat(unreadCount(token)).isEqualTo(1L);
+
+        ResponseEntity<Void> readAll = post(BASE + "/read-all", null, token, Void.class);
+        assertThat(readAll.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(unreadCount(token)).isZero();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Sem contador em cache → primeiro GET reconta do banco")
+    void deveRecontarDoBancoQuandoNaoHaCache() {
+        String email = register();
+        Long userId = userId(email);
+
+        // Gravadas direto no repositório: o contador não fica sabendo delas.
+        saveUnread(userId, 3);
+
+        String token = authenticate(email, "Senha@1234");
+        assertThat(unreadCount(token)).isEqualTo(3L);
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Contador defasado → reconciliação volta ao total do banco")
+    void deveCorrigirNaReconciliacao() {
+        String email = register();
+        String token = authenticate(email, "Senha@1234");
+        Long userId = userId(email);
+
+        assertThat(unreadCount(token)).isZero();
+        saveUnread(userId, 2);
+        assertThat(unreadCount(token)).isZero(); // ainda o valor em cache
+
+        unreadCounter.reconcile();
+
+        assertThat(unreadCount(token)).isEqualTo(2L);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("PATCH /{id}/read concorrentes → contador desconta uma vez")
+    void deveDescontarUmaVezComLeiturasConcorrentes() throws Exception {
+        String email = register();
+        String token = authenticate(email, "Senha@1234");
+        Long userId = userId(email);
+        pushNotificationService.sendToUser(userId, "GENERAL", "Primeira", "Corpo 1", Map.of());
+        pushNotificationService.sendToUser(userId, "GENERAL", "Segunda", "Corpo 2", Map.of());
+        assertThat(unreadCount(token)).isEqualTo(2L);
+        Long id = ((Number) ((Map) get(BASE, token, List.class).getBody().get(0)).get("id")).longValue();
+
+        int requests = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<Void>>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                responses.add(pool.submit(() -> {
+                    start.await();
+                    return patch(BASE + "/" + id + "/read", null, token, Void.class);
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<Void>> response : responses) {
+                assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(unreadCount(token)).isEqualTo(1L);
+        assertThat(notificationRepository.countByUserIdAndReadFalse(userId)).isEqualTo(1L);
+    }
+
+    private long unreadCount(String token) {
+        ResponseEntity<Map> response = get(BASE + "/unread-count", token, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return ((Number) response.getBody().get("count")).longValue();
+    }
+
+    private void saveUnread(Long userId, int quantity) {
+        for (int i = 0; i < quantity; i++) {
+            Notification n = new Notification();
+            n.setUser(userRepository.getReferenceById(userId));
+            n.setTitle("Direta " + i);
+            n.setMessage("Gravada sem passar pelo serviço");
+            n.setType(NotificationType.GENERAL);
+            n.setRead(false);
+            notificationRepository.save(n);
+        }
+    }
+
+    private String register() {
+        String email = "notif_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> request = Map.of(
+                "name", "Membro Notificações",
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> response = postPublic("/api/v1/auth/register", request, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return email;
+    }
+
+    private Long userId(String email) {
+        return userRepository.findByEmail(email).orElseThrow().getId();
+    }
+}
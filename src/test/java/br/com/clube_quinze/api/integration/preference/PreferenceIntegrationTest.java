@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  *  - Atualizar preferência
  *  - Deletar preferência
  *  - Admin listar preferências de outro usuário
+ *  - Preferências de notificação (padrão e atualização)
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @DisplayName("Preferências — Testes de Integração")
@@ -123,4 +124,29 @@ class PreferenceIntegrationTest extends AbstractIntegrationTest {
         ResponseEntity<List> listRes = get(BASE, memberToken, List.class);
         assertThat(listRes.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
+
+    @Test
+    @Order(6)
+    @DisplayName("PUT /preferences/notifications → 200 grava canais, silêncio e lembretes")
+    void deveAtualizarPreferenciasDeNotificacao() {
+        ResponseEntity<Map> defaults = get(BASE + "/notifications", memberToken, Map.class);
+        assertThat(defaults.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(defaults.getBody().get("pushEnabled")).isEqualTo(true);
+        assertThat(defaults.getBody().get("emailEnabled")).isEqualTo(true);
+
+        Map<String, Object> request = Map.of(
+                "pushEnabled", true,
+                "emailEnabled", false,
+                "quietHoursStart", "22:00",
+                "quietHoursEnd", "07:00",
+                "reminderOffsets", List.of(60, 1440)
+        );
+
+        ResponseEntity<Map> response = put(BASE + "/notifications", request, memberToken, Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("emailEnabled")).isEqualTo(false);
+        assertThat(response.getBody().get("quietHoursStart")).isEqualTo("22:00");
+        assertThat(response.getBody().get("reminderOffsets")).isEqualTo(List.of(1440, 60));
+    }
 }
@@ -0,0 +1,171 @@
+package br.com.clube_quinze.api.integration.user;
+
+import br.com.clube_quinze.api.integration.AbstractIntegrationTest;
+import br.com.clube_quinze.api.model.notification.PushDelivery;
+import br.com.clube_quinze.api.model.notification.PushToken;
+import br.com.clube_quinze.api.repository.PushDeliveryRepository;
+import br.com.clube_quinze.api.repository.PushTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração das exclusões por instrução única (usuário e post).
+ *
+ * Cenários cobertos:
+ *  - DELETE /users/{id} remove o usuário, tokens e entregas de push, e desconta curtidas/comentários
+ *    dele nos posts de outros membros
+ *  - DELETE /community/posts/{id} leva comentários, curtidas e mídia pelo ON DELETE CASCADE
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Usuários — Exclusão em cascata")
+class UserDeletionIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String POSTS = "/api/v1/community/posts";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PushTokenRepository pushTokenRepository;
+
+    @Autowired
+    private PushDeliveryRepository pushDeliveryRepository;
+
+    @Test
+    @Order(1)
+    @DisplayName("DELETE /users/{id} → some com push e contadores dos posts alheios são descontados")
+    void deveExcluirUsuarioEDescontarContadores() {
+        Member author = register("del_author");
+        Member victim = register("del_victim");
+
+        Long othersPost = createPost(author, "Post de outro membro");
+        post(POSTS + "/" + othersPost + "/likes", null, victim.token(), Map.class);
+        comment(othersPost, victim, "Primeiro comentário");
+        comment(othersPost, victim, "Segundo comentário");
+        comment(othersPost, author, "Resposta do autor");
+        Long ownPost = createPost(victim, "Post do membro excluído");
+        comment(ownPost, author, "Comentário que vai junto com o post");
+
+        PushToken token = new PushToken();
+        token.setUserId(victim.id());
+        token.setToken("ExponentPushToken[" + UUID.randomUUID() + "]");
+        token.setPlatform("android");
+        Long tokenId = pushTokenRepository.save(token).getId();
+        PushDelivery delivery = new PushDelivery();
+        delivery.setUserId(victim.id());
+        delivery.setTokenId(tokenId);
+        delivery.setKind("GENERAL");
+        delivery.setStatus("SENT");
+        pushDeliveryRepository.save(delivery);
+
+        Map<String, Object> before = get(POSTS + "/" + othersPost, author.token(), Map.class).getBody();
+        assertThat(((Number) before.get("likeCount")).longValue()).isEqualTo(1L);
+        assertThat(((Number) before.get("commentCount")).longValue()).isEqualTo(3L);
+
+        ResponseEntity<Void> deleted = delete("/api/v1/users/" + victim.id(), victim.token());
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(userRepository.existsById(victim.id())).isFalse();
+        assertThat(count("select count(*) from push_tokens where user_id = ?", victim.id())).isZero();
+        assertThat(count("select count(*) from push_deliveries where user_id = ? or token_id = ?",
+                victim.id(), tokenId)).isZero();
+
+        // Só o que era do excluído sai da conta: o comentário do autor continua.
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select like_count, comment_count from community_posts where id = ?", othersPost);
+        assertThat(((Number) row.get("like_count")).longValue()).isZero();
+        assertThat(((Number) row.get("comment_count")).longValue()).isEqualTo(1L);
+        assertThat(count("select count(*) from community_likes where post_id = ?", othersPost)).isZero();
+        assertThat(count("select count(*) from community_comments where post_id = ?", othersPost)).isEqualTo(1L);
+
+        ResponseEntity<Map> after = get(POSTS + "/" + othersPost, author.token(), Map.class);
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((Number) after.getBody().get("likeCount")).longValue()).isZero();
+        assertThat(((Number) after.getBody().get("commentCount")).longValue()).isEqualTo(1L);
+
+        // O post do excluído vai pela FK do autor, levando o comentário de terceiros.
+        assertThat(get(POSTS + "/" + ownPost, author.token(), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(count("select count(*) from community_comments where post_id = ?", ownPost)).isZero();
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("DELETE /community/posts/{id} → comentários, curtidas e mídia saem em cascata")
+    void deveExcluirPostEmCascata() {
+        Member author = register("delpost_author");
+        Member reader = register("delpost_reader");
+
+        Long postId = createPost(author, "Post a excluir");
+        post(POSTS + "/" + postId + "/likes", null, reader.token(), Map.class);
+        post(POSTS + "/" + postId + "/likes", null, author.token(), Map.class);
+        comment(postId, reader, "Comentário do leitor");
+        comment(postId, author, "Comentário do autor");
+        jdbcTemplate.update("insert into community_post_media (post_id, position, image_url, created_at)"
+                        + " values (?, 0, ?, ?)",
+                postId, "http://localhost/uploads/posts/imagem.png", Timestamp.valueOf(LocalDateTime.now()));
+
+        ResponseEntity<Void> deleted = delete(POSTS + "/" + postId, author.token());
+        assertThat(deleted.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(count("select count(*) from community_posts where id = ?", postId)).isZero();
+        assertThat(count("select count(*) from community_comments where post_id = ?", postId)).isZero();
+        assertThat(count("select count(*) from community_likes where post_id = ?", postId)).isZero();
+        assertThat(count("select count(*) from community_post_media where post_id = ?", postId)).isZero();
+        assertThat(get(POSTS + "/" + postId, reader.token(), Map.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private void comment(Long postId, Member member, String content) {
+        ResponseEntity<Map> response = post(POSTS + "/" + postId + "/comments",
+                Map.of("content", content), member.token(), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    }
+
+    private Long createPost(Member author, String title) {
+        Map<String, Object> request = Map.of(
+                "title", title,
+                "content", "Conteúdo de " + title,
+                "media", List.of()
+        );
+        ResponseEntity<Map> response = post(POSTS, request, author.token(), Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+
+    private Member register(String prefix) {
+        String email = prefix + "_" + UUID.randomUUID().toString().substring(0, 8) + "@test.com";
+        Map<String, Object> request = Map.of(
+                "name", "Membro " + prefix,
+                "email", email,
+                "password", "Senha@1234",
+                "membershipTier", "QUINZE_STANDARD"
+        );
+        ResponseEntity<Map> response = postPublic("/api/v1/auth/register", request, Map.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Long id = userRepository.findByEmail(email).orElseThrow().getId();
+        return new Member(id, (String) response.getBody().get("accessToken"));
+    }
+
+    private record Member(Long id, String token) {
+    }
+}
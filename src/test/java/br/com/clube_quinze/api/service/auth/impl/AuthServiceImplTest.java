@@ -4,7 +4,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -22,7 +21,7 @@ import br.com.clube_quinze.api.repository.UserPreferenceRepository;
 import br.com.clube_quinze.api.repository.UserRepository;
 import br.com.clube_quinze.api.security.JwtProperties;
 import br.com.clube_quinze.api.security.JwtTokenProvider;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import br.com.clube_quinze.api.service.notification.NotificationTransport;
 import br.com.clube_quinze.api.service.appointment.RecurringAppointmentScheduler;
 import java.time.Clock;
 import java.time.Instant;
@@ -57,7 +56,7 @@ class AuthServiceImplTest {
     @Mock
     private JwtProperties jwtProperties;
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private NotificationTransport notificationTransport;
     @Mock
     private UserPreferenceRepository userPreferenceRepository;
     @Mock
@@ -79,7 +78,7 @@ class AuthServiceImplTest {
                 jwtTokenProvider,
                 jwtProperties,
                 clock,
-                rabbitTemplate,
+                notificationTransport,
                 userPreferenceRepository,
                 recurringAppointmentScheduler,
                 30,
@@ -108,7 +107,7 @@ class AuthServiceImplTest {
         assertEquals(user, savedToken.getUser());
         assertEquals(clock.instant().plusSeconds(30 * 60), savedToken.getExpiresAt());
 
-        verify(rabbitTemplate).convertAndSend(anyString(), anyString(), any(br.com.clube_quinze.api.dto.notification.NotificationMessageDTO.class));
+        verify(notificationTransport).publish(any(br.com.clube_quinze.api.dto.notification.NotificationMessageDTO.class));
     }
 
     @Test
@@ -118,7 +117,7 @@ class AuthServiceImplTest {
         subject.requestPasswordReset(new ForgotPasswordRequest("notfound@example.com"));
 
         verify(passwordResetTokenRepository, never()).save(any());
-        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(br.com.clube_quinze.api.dto.notification.NotificationMessageDTO.class));
+        verify(notificationTransport, never()).publish(any(br.com.clube_quinze.api.dto.notification.NotificationMessageDTO.class));
     }
 
     @Test
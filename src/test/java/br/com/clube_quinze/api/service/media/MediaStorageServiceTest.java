@@ -0,0 +1,115 @@
+package br.com.clube_quinze.api.service.media;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.clube_quinze.api.dto.media.MediaUploadResponse;
+import br.com.clube_quinze.api.exception.BusinessException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class MediaStorageServiceTest {
+
+    static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D};
+
+    @TempDir
+    Path root;
+
+    private MediaStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MediaStorageService(root.toString(), "http://localhost/uploads");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void storeBase64_acceptsPlainBase64() throws Exception {
+        MediaUploadResponse stored = service.storeBase64(Base64.getEncoder().encodeToString(PNG), "posts");
+
+        assertEquals("image/png", stored.contentType());
+        assertTrue(stored.path().startsWith("posts/") && stored.path().endsWith(".png"));
+        assertEquals("http://localhost/uploads/" + stored.path(), stored.url());
+        assertTrue(Arrays.equals(PNG, Files.readAllBytes(root.resolve(stored.path()))));
+    }
+
+    @Test
+    void storeBase64_acceptsDataUri() throws Exception {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10};
+        MediaUploadResponse stored = service.storeBase64(
+                "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(jpeg), "profile");
+
+        assertEquals("image/jpeg", stored.contentType());
+        assertEquals(jpeg.length, stored.size());
+        assertTrue(Arrays.equals(jpeg, Files.readAllBytes(root.resolve(stored.path()))));
+    }
+
+    @Test
+    void storeBase64_rejectsContentThatIsNotAnImageWhateverTheDataUriClaims() throws Exception {
+        String text = Base64.getEncoder().encodeToString("<svg onload=alert(1)>".getBytes(StandardCharsets.UTF_8));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.storeBase64("data:image/png;base64," + text, "posts"));
+
+        assertTrue(ex.getMessage().contains("não suportado"));
+        assertNoFilesWritten();
+    }
+
+    @Test
+    void storeBase64_rejectsOversizedPayloadBeforeDecoding() throws Exception {
+        // Caracteres fora do alfabeto: se decodificasse antes, o erro seria "inválida", não o de tamanho.
+        String oversized = "*".repeat(14 * 1024 * 1024);
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.storeBase64(oversized, "posts"));
+
+        assertTrue(ex.getMessage().contains("10MB"));
+        assertNoFilesWritten();
+    }
+
+    @Test
+    void storeBase64_deletesFileWhenCallerTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        MediaUploadResponse stored = service.storeBase64(Base64.getEncoder().encodeToString(PNG), "gallery");
+        assertTrue(Files.exists(root.resolve(stored.path())));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertFalse(Files.exists(root.resolve(stored.path())));
+    }
+
+    @Test
+    void storeBase64_keepsFileWhenCallerTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        MediaUploadResponse stored = service.storeBase64(Base64.getEncoder().encodeToString(PNG), "gallery");
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertTrue(Files.exists(root.resolve(stored.path())));
+    }
+
+    private void assertNoFilesWritten() throws Exception {
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.clube_quinze.api.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
+import br.com.clube_quinze.api.model.appointment.Appointment;
+import br.com.clube_quinze.api.model.enumeration.AppointmentStatus;
+import br.com.clube_quinze.api.model.notification.AppointmentReminderLog;
+import br.com.clube_quinze.api.model.user.User;
+import br.com.clube_quinze.api.repository.AppointmentReminderLogRepository;
+import br.com.clube_quinze.api.repository.AppointmentRepository;
+import br.com.clube_quinze.api.repository.UserRepository;
+import br.com.clube_quinze.api.service.preference.NotificationPreferenceService;
+import br.com.clube_quinze.api.service.preference.NotificationPreferences;
+import br.com.clube_quinze.api.service.settings.SettingsService;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AppointmentNotificationSchedulerTest {
+
+    private static final int DAY_MINUTES = 24 * 60;
+    private static final NotificationPreferences DIGEST =
+            new NotificationPreferences(true, true, null, null, Set.of(), true);
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+    @Mock
+    private AppointmentReminderLogRepository reminderLogRepository;
+    @Mock
+    private NotificationTransport notificationTransport;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SettingsService settingsService;
+    @Mock
+    private NotificationPreferenceService notificationPreferenceService;
+
+    private Appointment appointment;
+
+    @BeforeEach
+    void setUp() {
+        User client = new User();
+        client.setId(1L);
+        client.setName("Cliente Resumo");
+        client.setEmail("resumo@test.com");
+
+        // Dentro da janela do lembrete de 24h do próximo tick.
+        appointment = new Appointment();
+        appointment.setId(10L);
+        appointment.setClient(client);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setScheduledAt(LocalDateTime.now(ZoneOffset.UTC).plusMinutes(DAY_MINUTES - 2));
+
+        lenient().when(appointmentRepository.findByStatusAndBetween(eq(AppointmentStatus.SCHEDULED), any(), any()))
+                .thenAnswer(inv -> {
+                    LocalDateTime start = inv.getArgument(1);
+                    LocalDateTime end = inv.getArgument(2);
+                    LocalDateTime at = appointment.getScheduledAt();
+                    return !at.isBefore(start) && !at.isAfter(end) ? List.of(appointment) : List.of();
+                });
+        // Nada no log: o resumo daquele dia não incluiu este agendamento.
+        lenient().when(reminderLogRepository.findLoggedAppointmentIds(anyCollection(), anyInt(), eq("CLIENT")))
+                .thenReturn(Set.of());
+        lenient().when(notificationPreferenceService.getForUsers(anyCollection())).thenReturn(Map.of(1L, DIGEST));
+    }
+
+    @Test
+    void scanAndSendReminders_sendsDayBeforeReminderWhenBookedAfterThatDaysDigest() {
+        // Resumo à meia-noite: o do dia do agendamento (véspera 00:00) já rodou.
+        scheduler("0 0 0 * * *").scanAndSendReminders();
+
+        ArgumentCaptor<NotificationMessageDTO> message = ArgumentCaptor.forClass(NotificationMessageDTO.class);
+        verify(notificationTransport, atLeastOnce()).publish(message.capture());
+        NotificationMessageDTO push = message.getAllValues().stream()
+                .filter(m -> m.getType().equals("APPOINTMENT_REMINDER_PUSH"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(10L, push.getData().get("appointmentId"));
+        assertEquals(DAY_MINUTES, push.getData().get("offsetMinutes"));
+
+        ArgumentCaptor<AppointmentReminderLog> logged = ArgumentCaptor.forClass(AppointmentReminderLog.class);
+        verify(reminderLogRepository).save(logged.capture());
+        assertEquals(10L, logged.getValue().getAppointmentId());
+        assertEquals(DAY_MINUTES, logged.getValue().getOffsetMinutes());
+    }
+
+    @Test
+    void scanAndSendReminders_leavesDayBeforeReminderToDigestThatHasNotRunYet() {
+        // Resumo no último segundo da véspera: ainda vai rodar e cobrir o agendamento.
+        scheduler("59 59 23 * * *").scanAndSendReminders();
+
+        verify(notificationTransport, never()).publish(any());
+        verify(reminderLogRepository, never()).save(any());
+    }
+
+    private AppointmentNotificationScheduler scheduler(String digestCron) {
+        return new AppointmentNotificationScheduler(appointmentRepository, reminderLogRepository, notificationTransport,
+                userRepository, settingsService, notificationPreferenceService, "America/Sao_Paulo", digestCron);
+    }
+}
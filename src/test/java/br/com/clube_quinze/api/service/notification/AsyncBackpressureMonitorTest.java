@@ -0,0 +1,185 @@
+package br.com.clube_quinze.api.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.clube_quinze.api.config.AsyncOverflowHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBackpressureMonitorTest {
+
+    /** Fila de 10: cada tarefa enfileirada vale 10% de ocupação. */
+    private static final int QUEUE_CAPACITY = 10;
+
+    @Mock
+    private ObjectProvider<RabbitListenerEndpointRegistry> listenerRegistryProvider;
+
+    @Mock
+    private RabbitListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private MessageListenerContainer listenerContainer;
+
+    private final BlockingQueue<Integer> running = new LinkedBlockingQueue<>();
+    private final List<CountDownLatch> gates = new ArrayList<>();
+    private ThreadPoolTaskExecutor executor;
+    private AsyncOverflowHandler overflowHandler;
+    private AsyncBackpressureMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(listenerRegistryProvider.getIfAvailable()).thenReturn(listenerRegistry);
+        lenient().when(listenerRegistry.getListenerContainer(RabbitNotificationTransport.LISTENER_ID))
+                .thenReturn(listenerContainer);
+
+        overflowHandler = new AsyncOverflowHandler(AsyncOverflowHandler.Policy.SPILL, 5, new SimpleMeterRegistry());
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.setRejectedExecutionHandler(overflowHandler);
+        executor.initialize();
+        monitor = new AsyncBackpressureMonitor(executor, overflowHandler, listenerRegistryProvider, 0.8, 0.5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gates.forEach(CountDownLatch::countDown);
+        executor.shutdown();
+    }
+
+    @Test
+    void check_pausesListenerAtPauseAtAndRestartsItOnlyAtResumeAt() throws Exception {
+        when(listenerContainer.isRunning()).thenReturn(true);
+        // Tarefa 0 ocupa a thread; 1..7 ficam na fila (70%).
+        for (int i = 0; i < 8; i++) {
+            submitGated();
+        }
+        awaitRunning(0);
+
+        monitor.check();
+        assertFalse(monitor.isSaturated());
+        verify(listenerContainer, never()).stop();
+
+        submitGated();
+        monitor.check();
+        assertTrue(monitor.isSaturated());
+        verify(listenerContainer).stop();
+
+        // 60%: entre resume-at e pause-at, continua pausado.
+        advanceTo(2);
+        monitor.check();
+        assertTrue(monitor.isSaturated());
+        verify(listenerContainer, never()).start();
+
+        // 50%: retoma.
+        advanceTo(3);
+        monitor.check();
+        assertFalse(monitor.isSaturated());
+        verify(listenerContainer, times(1)).start();
+        verify(listenerContainer, times(1)).stop();
+    }
+
+    @Test
+    void check_countsSpilledTasksAndDrainsThemBackIntoThePool() throws Exception {
+        when(listenerContainer.isRunning()).thenReturn(true);
+        // Thread ocupada, fila cheia e mais 3 no transbordo: 130%.
+        for (int i = 0; i < 1 + QUEUE_CAPACITY + 3; i++) {
+            submitGated();
+        }
+        awaitRunning(0);
+        assertEquals(3, overflowHandler.spilledCount());
+
+        monitor.check();
+        assertTrue(monitor.isSaturated());
+        verify(listenerContainer).stop();
+
+        // Abriu uma vaga na fila: o próximo check devolve um do transbordo ao pool.
+        advanceTo(1);
+        monitor.check();
+        assertEquals(2, overflowHandler.spilledCount());
+        assertEquals(0, executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+    }
+
+    @Test
+    void check_doesNotStartAListenerItDidNotStop() throws Exception {
+        when(listenerContainer.isRunning()).thenReturn(false);
+        for (int i = 0; i < 9; i++) {
+            submitGated();
+        }
+        awaitRunning(0);
+        monitor.check();
+        assertTrue(monitor.isSaturated());
+
+        gates.forEach(CountDownLatch::countDown);
+        awaitEmptyQueue();
+        monitor.check();
+
+        assertFalse(monitor.isSaturated());
+        verify(listenerContainer, never()).stop();
+        verify(listenerContainer, never()).start();
+    }
+
+    /** Submete uma tarefa que avisa quando começa e só termina quando o seu portão abre. */
+    private void submitGated() {
+        int index = gates.size();
+        CountDownLatch gate = new CountDownLatch(1);
+        gates.add(gate);
+        executor.execute(() -> {
+            running.add(index);
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /** Libera as tarefas anteriores a {@code index} e espera a thread pegar a de número {@code index}. */
+    private void advanceTo(int index) throws InterruptedException {
+        for (int i = 0; i < index; i++) {
+            gates.get(i).countDown();
+        }
+        Integer current;
+        do {
+            current = running.poll(5, TimeUnit.SECONDS);
+            assertTrue(current != null, "tarefa " + index + " não começou a tempo");
+        } while (current < index);
+        assertEquals(index, current);
+    }
+
+    private void awaitRunning(int index) throws InterruptedException {
+        assertEquals(index, running.poll(5, TimeUnit.SECONDS));
+    }
+
+    private void awaitEmptyQueue() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "fila do executor não esvaziou a tempo");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package br.com.clube_quinze.api.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.clube_quinze.api.model.notification.PushDelivery;
+import br.com.clube_quinze.api.repository.PushDeliveryRepository;
+import br.com.clube_quinze.api.repository.PushTokenRepository;
+import br.com.clube_quinze.api.service.notification.impl.ExpoPushServiceImpl;
+import br.com.clube_quinze.api.service.notification.impl.ExpoPushServiceImpl.ExpoReceipt;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+class ExpoReceiptSchedulerTest {
+
+    @Mock
+    private PushDeliveryRepository deliveryRepository;
+
+    @Mock
+    private PushTokenRepository pushTokenRepository;
+
+    @Mock
+    private ExpoPushServiceImpl expoPushService;
+
+    @Test
+    void pollReceipts_appliesMixedReceiptBatch() {
+        when(deliveryRepository.findPendingReceipts(eq(0L), any(), any())).thenReturn(List.of(
+                delivery(1L, "t-ok", 11L),
+                delivery(2L, "t-big", 22L),
+                delivery(3L, "t-dead", 33L),
+                delivery(4L, "t-later", 44L)));
+        // t-later ainda sem recibo: fica como está para o próximo ciclo.
+        when(expoPushService.fetchReceipts(anyList())).thenReturn(Map.of(
+                "t-ok", new ExpoReceipt(true, null, null),
+                "t-big", new ExpoReceipt(false, "Payload grande demais", "MessageTooBig"),
+                "t-dead", new ExpoReceipt(false, "Token não registrado", "DeviceNotRegistered")));
+
+        Instant before = Instant.now();
+        scheduler().pollReceipts();
+        Instant after = Instant.now();
+
+        ArgumentCaptor<Instant> expireCutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(deliveryRepository).expirePendingReceipts(expireCutoff.capture());
+        assertBetween(expireCutoff.getValue(), before.minus(Duration.ofHours(24)), after.minus(Duration.ofHours(24)));
+
+        ArgumentCaptor<Instant> sentBefore = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(deliveryRepository).findPendingReceipts(eq(0L), sentBefore.capture(), page.capture());
+        assertBetween(sentBefore.getValue(), before.minus(Duration.ofMinutes(15)), after.minus(Duration.ofMinutes(15)));
+        assertEquals(ExpoPushServiceImpl.MAX_RECEIPT_IDS, page.getValue().getPageSize());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<String>> asked = ArgumentCaptor.forClass(List.class);
+        verify(expoPushService).fetchReceipts(asked.capture());
+        assertEquals(Set.of("t-ok", "t-big", "t-dead", "t-later"), new HashSet<>(asked.getValue()));
+
+        verify(deliveryRepository).updateStatusByTicketIds(List.of("t-ok"), "delivered", null);
+        verify(deliveryRepository).updateStatusByTicketIds(List.of("t-big"), "failed", "MessageTooBig");
+        verify(deliveryRepository).updateStatusByTicketIds(List.of("t-dead"), "failed", "DeviceNotRegistered");
+        verify(deliveryRepository, times(3)).updateStatusByTicketIds(anyList(), anyString(), any());
+        // Só DeviceNotRegistered mata o token; MessageTooBig é problema da mensagem.
+        verify(pushTokenRepository).invalidateByIds(eq(Set.of(33L)), any(Instant.class));
+    }
+
+    @Test
+    void pollReceipts_walksBacklogInChunksOfMaxReceiptIds() {
+        int max = ExpoPushServiceImpl.MAX_RECEIPT_IDS;
+        List<PushDelivery> firstPage = LongStream.rangeClosed(1, max)
+                .mapToObj(id -> delivery(id, "t-" + id, null))
+                .toList();
+        when(deliveryRepository.findPendingReceipts(eq(0L), any(), any())).thenReturn(firstPage);
+        when(deliveryRepository.findPendingReceipts(eq((long) max), any(), any()))
+                .thenReturn(List.of(delivery(max + 1L, "t-last", null)));
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(expoPushService.fetchReceipts(anyList())).thenAnswer(inv -> {
+            chunkSizes.add(inv.<List<String>>getArgument(0).size());
+            return Map.of();
+        });
+
+        scheduler().pollReceipts();
+
+        assertEquals(List.of(max, 1), chunkSizes);
+        // A segunda página veio incompleta: não há terceira consulta.
+        verify(deliveryRepository, times(2)).findPendingReceipts(anyLong(), any(), any());
+        verify(deliveryRepository, never()).updateStatusByTicketIds(anyList(), anyString(), any());
+    }
+
+    @Test
+    void pollReceipts_leavesTicketsUntouchedWhenExpoFails() {
+        when(deliveryRepository.findPendingReceipts(eq(0L), any(), any()))
+                .thenReturn(List.of(delivery(1L, "t-1", 11L)));
+        when(expoPushService.fetchReceipts(anyList())).thenThrow(new ResourceAccessException("Read timed out"));
+
+        scheduler().pollReceipts();
+
+        verify(deliveryRepository, never()).updateStatusByTicketIds(anyList(), anyString(), any());
+        verify(pushTokenRepository, never()).invalidateByIds(anyCollection(), any());
+    }
+
+    private ExpoReceiptScheduler scheduler() {
+        return new ExpoReceiptScheduler(deliveryRepository, pushTokenRepository, expoPushService);
+    }
+
+    private static PushDelivery delivery(Long id, String ticketId, Long tokenId) {
+        PushDelivery d = new PushDelivery();
+        d.setId(id);
+        d.setTicketId(ticketId);
+        d.setTokenId(tokenId);
+        d.setStatus("sent");
+        return d;
+    }
+
+    private static void assertBetween(Instant actual, Instant from, Instant to) {
+        assertTrue(!actual.isBefore(from) && !actual.isAfter(to), actual + " fora de [" + from + ", " + to + "]");
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.clube_quinze.api.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import br.com.clube_quinze.api.dto.notification.NotificationMessageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryNotificationTransportTest {
+
+    @Mock
+    private NotificationConsumer notificationConsumer;
+
+    @Mock
+    private AsyncBackpressureMonitor backpressureMonitor;
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void overflowAndShutdownLeftoversAreSpilledAndReplayedOnNextStart() throws Exception {
+        // Sem workers: nada é consumido, a fila (capacidade 1) enche e o resto vai para o disco.
+        InMemoryNotificationTransport first = transport(0);
+        first.start();
+        for (int i = 0; i < 3; i++) {
+            first.publish(new NotificationMessageDTO("PUSH_MESSAGE", Map.of("userId", i)));
+        }
+        first.shutdown();
+
+        verify(notificationConsumer, never()).consumeMessage(any());
+        assertEquals(3, Files.readAllLines(spillDir.resolve("notifications-spill.jsonl")).size());
+
+        InMemoryNotificationTransport second = transport(1);
+        second.start();
+        verify(notificationConsumer, timeout(5000).times(3)).consumeMessage(any(NotificationMessageDTO.class));
+        second.shutdown();
+    }
+
+    @Test
+    void messagesWithSecretsAreDeliveredInlineInsteadOfSpilled() throws Exception {
+        InMemoryNotificationTransport transport = transport(0);
+        transport.start();
+        transport.publish(new NotificationMessageDTO("PUSH_MESSAGE", Map.of("userId", 1))); // ocupa a fila
+        NotificationMessageDTO welcome = new NotificationMessageDTO("WELCOME_EMAIL",
+                Map.of("email", "novo@test.com", "name", "Novo", "rawPassword", "Senha@1234"));
+        transport.publish(welcome);
+        transport.publish(new NotificationMessageDTO("PUSH_MESSAGE", Map.of("userId", 2)));
+
+        verify(notificationConsumer).consumeMessage(welcome);
+        List<String> spilled = Files.readAllLines(spillDir.resolve("notifications-spill.jsonl"));
+        assertEquals(1, spilled.size());
+        assertFalse(spilled.stream().anyMatch(line -> line.contains("rawPassword")));
+        transport.shutdown();
+    }
+
+    @Test
+    void spillFileIsReadableOnlyByOwner() throws Exception {
+        assumeTrue(spillDir.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        InMemoryNotificationTransport transport = transport(0);
+        transport.start();
+        transport.publish(new NotificationMessageDTO("PUSH_MESSAGE", Map.of("userId", 1)));
+        transport.publish(new NotificationMessageDTO("PUSH_MESSAGE", Map.of("userId", 2)));
+
+        assertEquals(PosixFilePermissions.fromString("rw-------"),
+                Files.getPosixFilePermissions(spillDir.resolve("notifications-spill.jsonl")));
+        transport.shutdown();
+    }
+
+    @Test
+    void truncatedSpillLineIsSetAsideAndTheRestIsReplayed() throws Exception {
+        // Queda no meio de uma gravação: a última linha ficou cortada.
+        String valid = new ObjectMapper().writeValueAsString(
+                new NotificationMessageDTO("PUSH_MESSAGE", Map.of("userId", 7)));
+        String truncated = valid.substring(0, valid.length() / 2);
+        Files.write(spillDir.resolve("notifications-spill.jsonl"), List.of(valid, truncated));
+
+        InMemoryNotificationTransport transport = transport(1);
+        transport.start();
+
+        verify(notificationConsumer, timeout(5000)).consumeMessage(
+                argThat(m -> "PUSH_MESSAGE".equals(m.getType()) && Integer.valueOf(7).equals(m.getData().get("userId"))));
+        assertEquals(List.of(truncated), Files.readAllLines(spillDir.resolve("notifications-spill.jsonl.rejected")));
+        assertFalse(Files.exists(spillDir.resolve("notifications-spill.jsonl.replay")));
+
+        // O replay segue funcionando para o que transbordar depois.
+        Files.write(spillDir.resolve("notifications-spill.jsonl"), List.of(valid.replace("7", "8")));
+        verify(notificationConsumer, timeout(5000)).consumeMessage(
+                argThat(m -> Integer.valueOf(8).equals(m.getData().get("userId"))));
+        assertTrue(Files.exists(spillDir.resolve("notifications-spill.jsonl.rejected")));
+        transport.shutdown();
+    }
+
+    private InMemoryNotificationTransport transport(int workers) {
+        return new InMemoryNotificationTransport(notificationConsumer, backpressureMonitor, new ObjectMapper(), new SimpleMeterRegistry(),
+                1, workers, 1000, spillDir.toString());
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.clube_quinze.api.service.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PushCoalescerTest {
+
+    @Mock
+    private PushNotificationService pushNotificationService;
+
+    @Test
+    void submit_sendsImmediatelyWhenDisabled() {
+        PushCoalescer coalescer = new PushCoalescer(pushNotificationService, false, 5000);
+
+        coalescer.submit(1L, "RESCHEDULED", "Agendamento remarcado", "Novo horário", Map.of());
+
+        verify(pushNotificationService).sendToUser(1L, "RESCHEDULED", "Agendamento remarcado", "Novo horário", Map.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void submit_mergesSameKindForSameUserWithinWindow() {
+        // Janela longa: nada sai até o flush explícito.
+        PushCoalescer coalescer = new PushCoalescer(pushNotificationService, true, 60_000);
+
+        coalescer.submit(1L, "RESCHEDULED", "Agendamento remarcado", "Para 10:00", Map.of("appointmentId", 10L));
+        coalescer.submit(1L, "RESCHEDULED", "Agendamento remarcado", "Para 11:00", Map.of("appointmentId", 11L));
+        coalescer.submit(1L, "RESCHEDULED", "Agendamento remarcado", "Para 12:00", Map.of("appointmentId", 12L));
+        coalescer.submit(2L, "RESCHEDULED", "Agendamento remarcado", "Para 09:00", Map.of("appointmentId", 20L));
+        verify(pushNotificationService, never()).sendToUser(any(), anyString(), anyString(), anyString(), anyMap());
+
+        coalescer.flushAll();
+
+        ArgumentCaptor<Map<String, Object>> data = ArgumentCaptor.forClass(Map.class);
+        verify(pushNotificationService).sendToUser(eq(1L), eq("RESCHEDULED"), eq("Agendamento remarcado"),
+                eq("Para 12:00 (+2 atualizações)"), data.capture());
+        assertEquals(12L, data.getValue().get("appointmentId"));
+        assertEquals(3, data.getValue().get("coalescedCount"));
+        verify(pushNotificationService).sendToUser(2L, "RESCHEDULED", "Agendamento remarcado", "Para 09:00",
+                Map.of("appointmentId", 20L));
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.clube_quinze.api.service.notification.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.clube_quinze.api.service.notification.EmailRenderer;
+import br.com.clube_quinze.api.service.notification.EmailRenderer.RenderedEmail;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard.OutboundCall;
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard.OutboundCallRejectedException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class BrevoNotificationServiceTest {
+
+    /** Janela longa: nos testes o flush é chamado à mão, sem corrida com o agendador. */
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    @Mock
+    private EmailRenderer emailRenderer;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private OutboundCallGuard outboundCallGuard;
+
+    private BrevoNotificationService subject;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(emailRenderer.render(anyString(), anyMap())).thenReturn(new RenderedEmail("<p>Oi</p>", "Oi"));
+        lenient().when(outboundCallGuard.execute(eq(OutboundCallGuard.BREVO), any()))
+                .thenAnswer(inv -> inv.<OutboundCall<?, ?>>getArgument(1).call());
+        lenient().when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("{}"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (subject != null) {
+            subject.shutdown();
+        }
+    }
+
+    @Test
+    void flushAll_sendsSameTemplateEmailsInOneRequest() {
+        subject = service(10, 100, 0);
+        remind("a@test.com");
+        remind("b@test.com");
+        verify(restTemplate, never()).postForEntity(anyString(), any(), eq(String.class));
+
+        subject.flushAll();
+
+        List<Map<String, Object>> payloads = sentPayloads(1);
+        assertEquals(2, ((List<?>) payloads.get(0).get("messageVersions")).size());
+    }
+
+    @Test
+    void flushAll_resendsIndividuallyOnlyWhenBrevoRejectsTheBatchContent() {
+        subject = service(10, 100, 0);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST))
+                .thenReturn(ResponseEntity.ok("{}"));
+        remind("valido@test.com");
+        remind("invalido@");
+
+        subject.flushAll();
+
+        List<Map<String, Object>> payloads = sentPayloads(3);
+        assertEquals(2, ((List<?>) payloads.get(0).get("messageVersions")).size());
+        assertNull(payloads.get(1).get("messageVersions"));
+        assertNull(payloads.get(2).get("messageVersions"));
+    }
+
+    @Test
+    void flushAll_doesNotSplitAnUnauthorizedBatch() {
+        subject = service(10, 100, 0);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.UNAUTHORIZED));
+        remind("a@test.com");
+        remind("b@test.com");
+
+        subject.flushAll();
+
+        sentPayloads(1);
+    }
+
+    @Test
+    void flushAll_keepsRateLimitedBatchWholeAndWaitsForRetryAfter() throws Exception {
+        subject = service(10, 100, 3);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                        headers, null, null))
+                .thenReturn(ResponseEntity.ok("{}"));
+        remind("a@test.com");
+        remind("b@test.com");
+
+        subject.flushAll();
+        // Dentro do Retry-After nada sai, nem o lote nem emails avulsos.
+        subject.flushAll();
+        sentPayloads(1);
+
+        Thread.sleep(1100);
+        subject.flushAll();
+
+        List<Map<String, Object>> payloads = sentPayloads(2);
+        assertEquals(2, ((List<?>) payloads.get(1).get("messageVersions")).size());
+    }
+
+    @Test
+    void shutdown_flushesBatchKeptWhileTheCircuitWasOpen() throws Exception {
+        subject = service(10, 100, 3);
+        when(outboundCallGuard.execute(eq(OutboundCallGuard.BREVO), any()))
+                .thenThrow(mock(OutboundCallRejectedException.class))
+                .thenAnswer(inv -> inv.<OutboundCall<?, ?>>getArgument(1).call());
+        remind("a@test.com");
+        remind("b@test.com");
+
+        subject.flushAll();
+        verify(restTemplate, never()).postForEntity(anyString(), any(), eq(String.class));
+
+        subject.shutdown();
+        subject = null;
+
+        List<Map<String, Object>> payloads = sentPayloads(1);
+        assertEquals(2, ((List<?>) payloads.get(0).get("messageVersions")).size());
+    }
+
+    @Test
+    void sendEmail_fullBufferMakesTheCallerSendItself() throws Exception {
+        // Buffer de 2: duas vagas ocupadas e o flush preso na Brevo, a terceira não tem para onde ir.
+        subject = service(2, 2, 0);
+        CountDownLatch brevoSlow = new CountDownLatch(1);
+        Map<String, String> senderThread = new ConcurrentHashMap<>();
+        String caller = Thread.currentThread().getName();
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class))).thenAnswer(inv -> {
+            Map<?, ?> payload = (Map<?, ?>) inv.<HttpEntity<?>>getArgument(1).getBody();
+            senderThread.put((String) payload.get("subject"), Thread.currentThread().getName());
+            if (!caller.equals(Thread.currentThread().getName())) {
+                brevoSlow.await(5, TimeUnit.SECONDS);
+            }
+            return ResponseEntity.ok("{}");
+        });
+
+        subject.notifyWelcome("a@test.com", "A", "Senha@1234");
+        subject.notifyPasswordReset("b@test.com", "B", "http://localhost/reset");
+        subject.notifyAppointmentReminder("c@test.com", "C", "amanhã 10h", "Corte", "amanhã");
+
+        assertEquals(caller, senderThread.get("Lembrete: você tem um agendamento amanhã"));
+        brevoSlow.countDown();
+        verify(restTemplate, timeout(5000).times(3)).postForEntity(anyString(), any(), eq(String.class));
+    }
+
+    private void remind(String email) {
+        subject.notifyAppointmentReminder(email, "Membro", "amanhã 10h", "Corte", "amanhã");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> sentPayloads(int expectedCalls) {
+        ArgumentCaptor<Object> request = ArgumentCaptor.forClass(Object.class);
+        verify(restTemplate, times(expectedCalls)).postForEntity(anyString(), request.capture(), eq(String.class));
+        return request.getAllValues().stream()
+                .map(entity -> (Map<String, Object>) ((HttpEntity<?>) entity).getBody())
+                .toList();
+    }
+
+    private BrevoNotificationService service(int maxVersions, int maxBuffered, int maxRetries) {
+        return new BrevoNotificationService(emailRenderer, restTemplate, outboundCallGuard, "Clube Quinze",
+                "no-reply@clubequinzeapp.cloud", "test-key", "https://api.brevo.test", NEVER, maxVersions,
+                maxBuffered, 0, maxRetries);
+    }
+}
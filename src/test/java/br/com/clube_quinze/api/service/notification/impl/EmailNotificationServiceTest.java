@@ -8,10 +8,14 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import br.com.clube_quinze.api.dto.notification.AppointmentDigestItem;
+import br.com.clube_quinze.api.service.notification.EmailRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.mail.Message;
 import jakarta.mail.Session;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
+import java.util.List;
 import java.util.Properties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,7 +45,8 @@ class EmailNotificationServiceTest {
         mimeMessage = new MimeMessage(Session.getInstance(new Properties()));
         when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
         doNothing().when(mailSender).send(any(MimeMessage.class));
-        subject = new EmailNotificationService(mailSender, "no-reply@clubequinzeapp.cloud", templateEngine);
+        subject = new EmailNotificationService(mailSender, "no-reply@clubequinzeapp.cloud",
+                new EmailRenderer(templateEngine, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -84,4 +89,23 @@ class EmailNotificationServiceTest {
         assertEquals("André", captured.getVariable("name"));
         assertEquals("https://link/reset?token=abc", captured.getVariable("resetLink"));
     }
+
+    @Test
+    void notifyAppointmentDigest_rendersAllItemsInOneEmail() throws Exception {
+        when(templateEngine.process(eq("appointment-digest"), any(Context.class))).thenReturn("<html>Resumo</html>");
+        List<AppointmentDigestItem> items = List.of(
+                new AppointmentDigestItem("30/03/2026 às 14:00", "Corte"),
+                new AppointmentDigestItem("30/03/2026 às 15:00", "Barba"));
+
+        subject.notifyAppointmentDigest("user@example.com", "André", "amanhã", items);
+
+        verify(mailSender).send(mimeMessage);
+        assertEquals("Lembrete: você tem 2 agendamentos amanhã", mimeMessage.getSubject());
+
+        ArgumentCaptor<Context> contextCaptor = ArgumentCaptor.forClass(Context.class);
+        verify(templateEngine).process(eq("appointment-digest"), contextCaptor.capture());
+        Context captured = contextCaptor.getValue();
+        assertEquals("amanhã", captured.getVariable("periodLabel"));
+        assertEquals(items, captured.getVariable("items"));
+    }
 }
@@ -0,0 +1,99 @@
+package br.com.clube_quinze.api.service.notification.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.clube_quinze.api.service.notification.ExpoPushService.ExpoMessage;
+import br.com.clube_quinze.api.service.notification.ExpoPushService.ExpoResult;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingPushServiceImplTest {
+
+    @Mock
+    private ExpoPushServiceImpl expoPushService;
+
+    @Mock
+    private FcmPushServiceImpl fcmPushService;
+
+    @Mock
+    private ObjectProvider<FcmPushServiceImpl> fcmProvider;
+
+    private RoutingPushServiceImpl subject;
+
+    @BeforeEach
+    void setUp() {
+        subject = new RoutingPushServiceImpl(expoPushService, fcmProvider, Runnable::run);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendBatch_partitionsByTokenTypeAndMergesInOriginalOrder() {
+        when(fcmProvider.getIfAvailable()).thenReturn(fcmPushService);
+        ExpoMessage fcm1 = new ExpoMessage("fcm-token-1", "t", "b", null, "android");
+        ExpoMessage expo1 = new ExpoMessage("ExponentPushToken[abc]", "t", "b", null, "ios");
+        ExpoMessage fcm2 = new ExpoMessage("fcm-token-2", "t", "b", null, "ios");
+        ExpoMessage expo2 = new ExpoMessage("raw-expo-token", "t", "b", null, "expo");
+
+        when(fcmPushService.sendBatch(anyList(), anyBoolean())).thenReturn(List.of(
+                new ExpoResult(true, "ok", null),
+                new ExpoResult(false, "error", "UNREGISTERED")));
+        when(expoPushService.sendBatch(anyList(), anyBoolean())).thenReturn(List.of(
+                new ExpoResult(true, "ok", null),
+                new ExpoResult(false, "error", "DeviceNotRegistered")));
+
+        List<ExpoResult> results = subject.sendBatch(List.of(fcm1, expo1, fcm2, expo2));
+
+        ArgumentCaptor<List<ExpoMessage>> fcmCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<ExpoMessage>> expoCaptor = ArgumentCaptor.forClass(List.class);
+        verify(fcmPushService).sendBatch(fcmCaptor.capture(), anyBoolean());
+        verify(expoPushService).sendBatch(expoCaptor.capture(), anyBoolean());
+        assertEquals(List.of(fcm1, fcm2), fcmCaptor.getValue());
+        assertEquals(List.of(expo1, expo2), expoCaptor.getValue());
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).ok());
+        assertTrue(results.get(1).ok());
+        assertEquals("UNREGISTERED", results.get(2).message());
+        assertEquals("DeviceNotRegistered", results.get(3).message());
+    }
+
+    @Test
+    void sendBatch_failsNativeTokensWhenFcmIsDisabled() {
+        when(fcmProvider.getIfAvailable()).thenReturn(null);
+
+        List<ExpoResult> results = subject.sendBatch(List.of(new ExpoMessage("fcm-token", "t", "b", null)));
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).ok());
+        assertEquals("FCM_DISABLED", results.get(0).message());
+        verify(expoPushService, never()).sendBatch(anyList(), anyBoolean());
+    }
+
+    @Test
+    void sendBatch_dryRunNeverCallsExpoAndOnlyChecksTokenFormat() {
+        List<ExpoResult> results = subject.sendBatch(List.of(
+                new ExpoMessage("ExponentPushToken[abc]", "t", "b", null, "ios"),
+                new ExpoMessage("raw-expo-token", "t", "b", null, "expo")), true);
+
+        verify(expoPushService, never()).sendBatch(anyList());
+        verify(expoPushService, never()).sendBatch(anyList(), anyBoolean());
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).ok());
+        assertEquals("skipped", results.get(0).status());
+        assertFalse(results.get(1).ok());
+    }
+}
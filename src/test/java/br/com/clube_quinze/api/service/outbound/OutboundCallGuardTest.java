@@ -0,0 +1,47 @@
+package br.com.clube_quinze.api.service.outbound;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import br.com.clube_quinze.api.service.outbound.OutboundCallGuard.OutboundCallRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class OutboundCallGuardTest {
+
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.outbound.failure-threshold", "2")
+            .withProperty("app.outbound.open-ms", "60000");
+    private final OutboundCallGuard guard = new OutboundCallGuard(environment, new SimpleMeterRegistry());
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsWithoutCallingProvider() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> guard.execute(OutboundCallGuard.EXPO, () -> {
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+
+        OutboundCallRejectedException rejected = assertThrows(OutboundCallRejectedException.class,
+                () -> guard.execute(OutboundCallGuard.EXPO, () -> "nunca chamado"));
+        assertEquals("circuito aberto", rejected.getReason());
+
+        // Outro provedor não é afetado.
+        assertEquals("ok", guard.execute(OutboundCallGuard.BREVO, () -> "ok"));
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheCircuit() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.execute(OutboundCallGuard.BREVO, () -> {
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            }));
+        }
+
+        assertEquals("ok", guard.execute(OutboundCallGuard.BREVO, () -> "ok"));
+    }
+}